@@ -22,60 +22,73 @@ package de.medavis.lct.cli;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.stream.Collectors;
 
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Mixin;
 import picocli.CommandLine.Option;
 
+import de.medavis.lct.core.analysis.AnalysisMode;
+import de.medavis.lct.core.analysis.AnalysisReport;
+import de.medavis.lct.core.analysis.ComponentAnalyzer;
 import de.medavis.lct.core.asset.AssetLoader;
+import de.medavis.lct.core.execution.TimeBudget;
 import de.medavis.lct.core.license.LicenseLoader;
 import de.medavis.lct.core.license.LicenseMappingLoader;
 import de.medavis.lct.core.list.ComponentLister;
 import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
 
-import static de.medavis.lct.cli.AnalyzeComponents.AnalyzeMode.MISSING_URL;
-
 @Command(name = "analyze-components", description = "Analyze components based on specified criteria")
 class AnalyzeComponents implements Callable<Void> {
 
-    enum AnalyzeMode {
-        MISSING_URL
-    }
-
     @Option(names = {"--in", "-i"}, required = true)
     private File inputFile;
-    @Option(names = {"--out", "-o"}, required = true)
+    @Option(names = {"--out", "-o"}, required = true, description = "File the report is written to. It is printed as well.")
     private File outputFile;
-    @Option(names = {"--mode", "-m"}, required = true)
-    private AnalyzeMode mode;
+    @Option(names = {"--mode", "-m"}, required = true, split = ",",
+            description = "Analyses to run in a single pass, separated by comma or given repeatedly. Valid values: ${COMPLETION-CANDIDATES}.")
+    private List<AnalysisMode> modes;
 
     @Mixin
     private ConfigurationOptions configurationOptions;
+    @Mixin
+    private ExecutionOptions executionOptions;
+    @Mixin
+    private HttpOptions httpOptions;
+    @Mixin
+    private BomCacheOptions bomCacheOptions;
 
     @Override
     public Void call() throws Exception {
-        if(mode == MISSING_URL) {
-            analyzeMissingUrl();
+        try(var executionContext = executionOptions.createExecutionContext();
+                var httpTransport = httpOptions.createHttpTransport();
+                var bomInputStream = new FileInputStream(inputFile)) {
+            // URLs are only checked online if a mode treats unavailable URLs as missing
+            boolean checkUrls = modes.stream().anyMatch(AnalysisMode::isOnlineCheckRequired);
+            var componentLister = new ComponentLister(new AssetLoader(checkUrls, executionContext, httpTransport, bomCacheOptions.createBomCache()),
+                    new ComponentMetaDataLoader(httpTransport), new LicenseLoader(httpTransport), new LicenseMappingLoader(httpTransport),
+                    configurationOptions, executionContext);
+            var index = componentLister.indexComponents(bomInputStream, TimeBudget.unlimited());
+            List<AnalysisReport> reports = new ComponentAnalyzer().analyze(modes, index);
+            try (Writer writer = Files.newBufferedWriter(outputFile.toPath(), StandardCharsets.UTF_8)) {
+                for (AnalysisReport report : reports) {
+                    printReport(report);
+                    report.write(writer);
+                }
+            }
         }
         return null;
     }
 
-    private void analyzeMissingUrl() throws IOException {
-        var componentLister = new ComponentLister(new AssetLoader(true), new ComponentMetaDataLoader(), new LicenseLoader(), new LicenseMappingLoader(),
-                configurationOptions);
-        try(var bomInputStream = new FileInputStream(inputFile)) {
-            var componentsWithoutUrl = componentLister.listComponents(bomInputStream).stream()
-                                                      .filter(component -> component.getUrl() == null)
-                                                      .collect(Collectors.toList());
-            if(componentsWithoutUrl.isEmpty()) {
-                System.out.println("No component without URL detected.");
-            } else {
-                System.out.printf("Detected %d components without URL:%n", componentsWithoutUrl.size());
-                componentsWithoutUrl.forEach(component -> System.out.println(component.getName()));
-            }
-        }
+    static void printReport(AnalysisReport report) throws IOException {
+        // The writer is not closed, so that System.out stays open
+        report.write(new OutputStreamWriter(System.out, Charset.defaultCharset()));
     }
 
 }
@@ -0,0 +1,44 @@
+/*-
+ * #%L
+ * License Compliance Tool - Command Line Interface
+ * %%
+ * Copyright (C) 2022 - 2023 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.cli;
+
+import java.nio.file.Path;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import de.medavis.lct.core.asset.BomCache;
+
+@Command
+class BomCacheOptions {
+
+    @Option(names = {"--bom-cache"}, defaultValue = "false",
+            description = "Keep parsed BOMs in a cache directory, so that later commands on the same BOM skip parsing it.")
+    private boolean enabled;
+    @Option(names = {"--bom-cache-dir"}, description = "Directory of the BOM cache. Default: $XDG_CACHE_HOME/lct/boms or ~/.cache/lct/boms.")
+    private Path directory;
+
+    BomCache createBomCache() {
+        if (!enabled) {
+            return BomCache.none();
+        }
+        return BomCache.inDirectory(directory != null ? directory : CacheOptions.getCacheHome().resolve("boms"));
+    }
+
+}
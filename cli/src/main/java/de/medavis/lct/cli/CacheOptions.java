@@ -0,0 +1,68 @@
+/*-
+ * #%L
+ * License Compliance Tool - Command Line Interface
+ * %%
+ * Copyright (C) 2022 - 2023 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.cli;
+
+import com.google.common.base.Strings;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import de.medavis.lct.core.cache.CacheLimits;
+import de.medavis.lct.core.cache.LicenseCache;
+
+@Command
+class CacheOptions {
+
+    @Option(names = {"--cache-dir"},
+            description = "Directory for cached license files, shared by all runs. Default: $XDG_CACHE_HOME/lct/licenses or ~/.cache/lct/licenses.")
+    private Path cacheDirectory;
+    @Option(names = {"--cache-max-size"}, description = "Maximum size of the cache in MB. Least recently used files are removed above it. Default: 100.")
+    private long maxSizeMb = CacheLimits.DEFAULT_MAX_SIZE_MB;
+    @Option(names = {"--cache-max-age"}, description = "Files that have not been used for this number of days are removed from the cache. Default: 180.")
+    private long maxAgeDays = CacheLimits.DEFAULT_MAX_AGE_DAYS;
+
+    Path getCacheDirectory() {
+        return cacheDirectory != null ? cacheDirectory : getDefaultCacheDirectory();
+    }
+
+    LicenseCache openCache() throws IOException {
+        return LicenseCache.open(getCacheDirectory());
+    }
+
+    CacheLimits getCacheLimits() {
+        return CacheLimits.of(maxSizeMb, maxAgeDays);
+    }
+
+    private static Path getDefaultCacheDirectory() {
+        return getCacheHome().resolve("licenses");
+    }
+
+    /**
+     * @return directory of all caches of this tool
+     */
+    static Path getCacheHome() {
+        String xdgCacheHome = System.getenv("XDG_CACHE_HOME");
+        Path cacheHome = !Strings.isNullOrEmpty(xdgCacheHome) ? Paths.get(xdgCacheHome) : Paths.get(System.getProperty("user.home"), ".cache");
+        return cacheHome.resolve("lct");
+    }
+
+}
@@ -0,0 +1,100 @@
+/*-
+ * #%L
+ * License Compliance Tool - Command Line Interface
+ * %%
+ * Copyright (C) 2022 - 2023 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.cli;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+
+import de.medavis.lct.core.asset.AssetLoader;
+import de.medavis.lct.core.asset.Component;
+import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
+import de.medavis.lct.core.metadata.ComponentMetadata;
+import de.medavis.lct.core.metadata.MetadataRuleChecker;
+import de.medavis.lct.core.metadata.MetadataRuleChecker.RuleCheck;
+import de.medavis.lct.core.metadata.MetadataRuleChecker.Sample;
+
+@Command(name = "check-config", description = "Validate the component metadata rules and report slow or unsafe patterns")
+class CheckConfig implements Callable<Integer> {
+
+    @Option(names = {"--in", "-i"}, description = "BOM whose components are used as additional samples for the benchmark.")
+    private File inputFile;
+    @Option(names = {"--top"}, defaultValue = "10", description = "Number of slowest rules to report. Default: ${DEFAULT-VALUE}.")
+    private int top;
+
+    @Mixin
+    private ConfigurationOptions configurationOptions;
+    @Mixin
+    private HttpOptions httpOptions;
+
+    @Override
+    public Integer call() throws Exception {
+        URL metadataUrl = configurationOptions.getComponentMetadataUrl()
+                .orElseThrow(() -> new IllegalArgumentException("Option --componentMetadata is required to check the configuration."));
+        try (var httpTransport = httpOptions.createHttpTransport()) {
+            List<ComponentMetadata> rules;
+            try {
+                rules = new ArrayList<>(new ComponentMetaDataLoader(httpTransport).load(metadataUrl));
+            } catch (IllegalStateException e) {
+                System.err.println(e.getMessage());
+                return 1;
+            }
+            List<Sample> samples = new ArrayList<>(MetadataRuleChecker.defaultSamples());
+            if (inputFile != null) {
+                try (var bomInputStream = new FileInputStream(inputFile)) {
+                    for (Component component : new AssetLoader(false).loadFromBom(bomInputStream).components()) {
+                        samples.add(new Sample(component.group(), component.name()));
+                    }
+                }
+            }
+
+            List<RuleCheck> checks = new MetadataRuleChecker().check(rules, samples);
+            System.out.printf("Checked %d rules against %d samples.%n", checks.size(), samples.size());
+            System.out.printf("%nSlowest rules:%n");
+            checks.stream()
+                    .sorted(Comparator.comparingLong(RuleCheck::getMaxNanos).reversed())
+                    .limit(top)
+                    .forEach(check -> System.out.printf("  %s: max %d us, average %d us%n", check.getDescription(),
+                            TimeUnit.NANOSECONDS.toMicros(check.getMaxNanos()), TimeUnit.NANOSECONDS.toMicros(check.getAverageNanos())));
+
+            long unsafe = checks.stream().filter(RuleCheck::isUnsafe).count();
+            if (unsafe > 0) {
+                System.out.printf("%nUnsafe rules:%n");
+                checks.stream().filter(RuleCheck::isUnsafe).forEach(check -> {
+                    System.out.printf("  %s%n", check.getDescription());
+                    if (check.isTimedOut()) {
+                        System.out.printf("    timed out%n");
+                    }
+                    check.getRisks().forEach(risk -> System.out.printf("    %s%n", risk));
+                });
+            }
+            return unsafe == 0 ? 0 : 1;
+        }
+    }
+}
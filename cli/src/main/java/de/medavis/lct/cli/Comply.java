@@ -0,0 +1,149 @@
+/*-
+ * #%L
+ * License Compliance Tool - Command Line Interface
+ * %%
+ * Copyright (C) 2022 - 2023 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.cli;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+
+import de.medavis.lct.core.analysis.AnalysisMode;
+import de.medavis.lct.core.analysis.AnalysisReport;
+import de.medavis.lct.core.analysis.ComponentAnalyzer;
+import de.medavis.lct.core.asset.AssetLoader;
+import de.medavis.lct.core.comply.ComplianceResult;
+import de.medavis.lct.core.comply.ComplianceRunner;
+import de.medavis.lct.core.comply.ComplianceTasks;
+import de.medavis.lct.core.downloader.LicenseFileHandler;
+import de.medavis.lct.core.downloader.LicensesDownloader;
+import de.medavis.lct.core.downloader.ZipLicenseFileHandler;
+import de.medavis.lct.core.license.LicenseLoader;
+import de.medavis.lct.core.license.LicenseMappingLoader;
+import de.medavis.lct.core.list.ComponentLister;
+import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
+import de.medavis.lct.core.outputter.FreemarkerOutputter;
+
+@Command(name = "comply", description = "Create manifests, download licenses and analyze components in a single pass over the BOM")
+class Comply implements Callable<Void> {
+
+    @Option(names = {"--in", "-i"}, required = true)
+    private File inputFile;
+    @Option(names = {"--manifest", "-o"}, description = "Manifest file. Can be repeated to render several templates.")
+    private List<File> manifestFiles = new ArrayList<>();
+    @Option(names = {"--template", "-t"}, description = "Template for the manifest file at the same position. An empty value selects the default template.")
+    private List<String> templates = new ArrayList<>();
+    @Option(names = {"--ignoreUnavailableUrl", "-iuu"}, defaultValue = "false")
+    private boolean ignoreUnavailableUrl;
+    @Option(names = {"--licenses-out"}, description = "Directory, or ZIP archive with --archive, the license files are written to. No licenses are downloaded without it.")
+    private Path licensesPath;
+    @Option(names = {"--archive"}, defaultValue = "false", description = "If enabled, license files and an index are written into the ZIP archive given by --licenses-out.")
+    private boolean archive;
+    @Option(names = {"--fail-dynamic-license", "-fdl"}, defaultValue = "false",
+            description = "If enabled, the run fails before any manifest is rendered if a license is encountered that is not part of the license configuration.")
+    private boolean failOnDynamicLicense;
+    @Option(names = {"--no-cache"}, defaultValue = "false", description = "If enabled, licenses are neither taken from nor added to the cache.")
+    private boolean noCache;
+    @Option(names = {"--analyze", "-a"}, description = "Analysis to run. Can be repeated. Valid values: ${COMPLETION-CANDIDATES}.")
+    private List<AnalysisMode> analysisModes = new ArrayList<>();
+    @Option(names = {"--report"}, description = "File the analysis reports are written to. They are printed as well.")
+    private File reportFile;
+    @Mixin
+    private ConfigurationOptions configurationOptions;
+    @Mixin
+    private ExecutionOptions executionOptions;
+    @Mixin
+    private HttpOptions httpOptions;
+    @Mixin
+    private TimeBudgetOptions timeBudgetOptions;
+    @Mixin
+    private CacheOptions cacheOptions;
+    @Mixin
+    private LicenseSourceOptions licenseSourceOptions;
+    @Mixin
+    private BomCacheOptions bomCacheOptions;
+
+    @Override
+    public Void call() throws Exception {
+        CreateManifest.checkTemplates(manifestFiles, templates);
+        var timeBudget = timeBudgetOptions.createTimeBudget();
+        var userLogger = new ConsoleUserLogger();
+        ComplianceResult result;
+        List<Writer> writers = new ArrayList<>();
+        try (var executionContext = executionOptions.createExecutionContext();
+                var httpTransport = timeBudget.limit(httpOptions.createHttpTransport());
+                var licenseMirror = licenseSourceOptions.openLicenseMirror();
+                var bomInputStream = new FileInputStream(inputFile);
+                var archiveFileHandler = licensesPath != null && archive ? new ZipLicenseFileHandler(DownloadLicenses.openArchive(licensesPath)) : null;
+                var cache = licensesPath == null || archive || noCache ? null : cacheOptions.openCache()) {
+            // Analysis modes treating unavailable URLs as missing need the URLs to be checked online as well
+            boolean checkUrls = ignoreUnavailableUrl || analysisModes.stream().anyMatch(AnalysisMode::isOnlineCheckRequired);
+            var componentLister = new ComponentLister(new AssetLoader(checkUrls, executionContext, httpTransport, bomCacheOptions.createBomCache()),
+                    new ComponentMetaDataLoader(httpTransport), new LicenseLoader(httpTransport), new LicenseMappingLoader(httpTransport),
+                    configurationOptions, executionContext);
+            var licensesDownloader = new LicensesDownloader(componentLister, licenseSourceOptions.createFileDownloader(httpTransport, licenseMirror),
+                    executionContext);
+            var runner = new ComplianceRunner(componentLister, new FreemarkerOutputter(), licensesDownloader, new ComponentAnalyzer(), executionContext);
+            LicenseFileHandler licenseFileHandler = null;
+            if (archiveFileHandler != null) {
+                licenseFileHandler = archiveFileHandler;
+            } else if (licensesPath != null) {
+                licenseFileHandler = new FilesystemLicenseFileHandler(licensesPath, cache);
+            }
+            // The manifest files are only opened (and truncated) once the licenses have been downloaded successfully
+            var tasks = new ComplianceTasks(() -> CreateManifest.openOutputs(manifestFiles, templates, writers), licenseFileHandler, failOnDynamicLicense,
+                    new LinkedHashSet<>(analysisModes));
+            result = runner.run(userLogger, bomInputStream, tasks, timeBudget);
+            if (cache != null) {
+                cache.prune(cacheOptions.getCacheLimits());
+            }
+        } finally {
+            for (Writer writer : writers) {
+                writer.close();
+            }
+        }
+        writeReports(result.getReports());
+        timeBudget.report(userLogger);
+        return null;
+    }
+
+    private void writeReports(List<AnalysisReport> reports) throws IOException {
+        for (AnalysisReport report : reports) {
+            AnalyzeComponents.printReport(report);
+        }
+        if (reportFile != null) {
+            try (Writer writer = Files.newBufferedWriter(reportFile.toPath(), StandardCharsets.UTF_8)) {
+                for (AnalysisReport report : reports) {
+                    report.write(writer);
+                }
+            }
+        }
+    }
+
+}
@@ -21,46 +21,125 @@ package de.medavis.lct.cli;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Mixin;
 import picocli.CommandLine.Option;
 
 import de.medavis.lct.core.asset.AssetLoader;
+import de.medavis.lct.core.execution.ExecutionContext;
 import de.medavis.lct.core.license.LicenseLoader;
 import de.medavis.lct.core.license.LicenseMappingLoader;
+import de.medavis.lct.core.list.ComponentData;
 import de.medavis.lct.core.list.ComponentLister;
 import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
 import de.medavis.lct.core.outputter.FreemarkerOutputter;
+import de.medavis.lct.core.outputter.FreemarkerOutputter.Output;
+import de.medavis.lct.core.urlchecker.CachingHttpUrlChecker;
+import de.medavis.lct.core.urlchecker.UrlAvailabilityCache;
 
 @Command(name = "create-manifest", description = "Create component manifest")
 class CreateManifest implements Callable<Void> {
 
     @Option(names = {"--in", "-i"}, required = true)
     private File inputFile;
-    @Option(names = {"--out", "-o"}, required = true)
-    private File outputFile;
-    @Option(names = {"--template", "-t"})
-    private String template;
+    @Option(names = {"--out", "-o"}, required = true, description = "Output file. Can be repeated to render several templates from the same components.")
+    private List<File> outputFiles;
+    @Option(names = {"--template", "-t"}, description = "Template for the output file at the same position. Outputs without template or with an empty template use the default template.")
+    private List<String> templates = new ArrayList<>();
     @Option(names = {"--ignoreUnavailableUrl", "-iuu"}, defaultValue = "false")
     private boolean ignoreUnavailableUrl;
+    @Option(names = {"--watch", "-w"}, description = "Keep running and update the output files whenever the input file, a local configuration file or a local "
+            + "template changes. Stop with Ctrl+C.")
+    private boolean watch;
     @Mixin
     private ConfigurationOptions configurationOptions;
+    @Mixin
+    private ExecutionOptions executionOptions;
+    @Mixin
+    private HttpOptions httpOptions;
+    @Mixin
+    private TimeBudgetOptions timeBudgetOptions;
+    @Mixin
+    private BomCacheOptions bomCacheOptions;
 
     @Override
     public Void call() throws Exception {
-        var componentLister = new ComponentLister(new AssetLoader(ignoreUnavailableUrl), new ComponentMetaDataLoader(), new LicenseLoader(), new LicenseMappingLoader(),
-                configurationOptions);
-        try (var bomInputStream = new FileInputStream(inputFile); var outputWriter = new FileWriter(outputFile)) {
-            var components = componentLister.listComponents(bomInputStream);
-            new FreemarkerOutputter().output(components, outputWriter, getTemplateUrl());
+        var timeBudget = timeBudgetOptions.createTimeBudget();
+        try (var executionContext = executionOptions.createExecutionContext();
+                // While watching, each update has a time budget of its own, which only stops URL checks from being started
+                var httpTransport = watch ? httpOptions.createHttpTransport() : timeBudget.limit(httpOptions.createHttpTransport())) {
+            var bomCache = bomCacheOptions.createBomCache();
+            // While watching, URL checks are kept in memory, so that only URLs of added components are checked on a change
+            var assetLoader = watch && ignoreUnavailableUrl
+                    ? new AssetLoader(new CachingHttpUrlChecker(httpTransport, executionContext, new UrlAvailabilityCache(Duration.ofHours(1))), executionContext,
+                            bomCache)
+                    : new AssetLoader(ignoreUnavailableUrl, executionContext, httpTransport, bomCache);
+            var componentLister = new ComponentLister(assetLoader, new ComponentMetaDataLoader(httpTransport), new LicenseLoader(httpTransport),
+                    new LicenseMappingLoader(httpTransport), configurationOptions, executionContext);
+            if (watch) {
+                new ManifestWatcher(componentLister, inputFile, outputFiles, templates, configurationOptions, executionContext, timeBudgetOptions).run();
+                return null;
+            }
+            List<ComponentData> components;
+            try (var bomInputStream = new FileInputStream(inputFile)) {
+                components = componentLister.listComponents(bomInputStream, timeBudget);
+            }
+            writeOutputs(new FreemarkerOutputter(), components, outputFiles, templates, executionContext);
         }
+        timeBudget.report(new ConsoleUserLogger());
         return null;
     }
 
-    private String getTemplateUrl() {
+    /**
+     * Render <code>components</code> to each output file with the template at the same position.
+     */
+    static void writeOutputs(FreemarkerOutputter outputter, List<ComponentData> components, List<File> outputFiles, List<String> templates,
+            ExecutionContext executionContext) throws IOException {
+        List<Writer> writers = new ArrayList<>();
+        try {
+            outputter.outputAll(components, openOutputs(outputFiles, templates, writers), executionContext);
+        } finally {
+            for (Writer writer : writers) {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Open a UTF-8 writer for each output file and pair it with the template at the same position.
+     *
+     * @param writers Receives the opened writers, which the caller has to close
+     */
+    static List<Output> openOutputs(List<File> outputFiles, List<String> templates, List<Writer> writers) throws IOException {
+        checkTemplates(outputFiles, templates);
+        List<Output> outputs = new ArrayList<>();
+        for (int i = 0; i < outputFiles.size(); i++) {
+            Writer writer = Files.newBufferedWriter(outputFiles.get(i).toPath(), StandardCharsets.UTF_8);
+            writers.add(writer);
+            outputs.add(new Output(getTemplateUrl(i < templates.size() ? templates.get(i) : null), writer));
+        }
+        return outputs;
+    }
+
+    static void checkTemplates(List<File> outputFiles, List<String> templates) {
+        if (templates.size() > outputFiles.size()) {
+            throw new IllegalArgumentException("There are more templates (" + templates.size() + ") than output files (" + outputFiles.size() + ").");
+        }
+    }
+
+    private static String getTemplateUrl(String template) {
+        if (template == null || template.isBlank()) {
+            return null;
+        }
         return StringToUrlConverter.convert(template)
                 .map(URL::toString)
                 .orElse(null);
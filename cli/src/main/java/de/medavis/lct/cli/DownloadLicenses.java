@@ -21,6 +21,9 @@ package de.medavis.lct.cli;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.concurrent.Callable;
 import picocli.CommandLine.Command;
@@ -28,8 +31,9 @@ import picocli.CommandLine.Mixin;
 import picocli.CommandLine.Option;
 
 import de.medavis.lct.core.asset.AssetLoader;
-import de.medavis.lct.core.downloader.LicenseFileDownloader;
+import de.medavis.lct.core.downloader.LicenseFileHandler;
 import de.medavis.lct.core.downloader.LicensesDownloader;
+import de.medavis.lct.core.downloader.ZipLicenseFileHandler;
 import de.medavis.lct.core.license.LicenseLoader;
 import de.medavis.lct.core.license.LicenseMappingLoader;
 import de.medavis.lct.core.list.ComponentLister;
@@ -45,17 +49,55 @@ class DownloadLicenses implements Callable<Void> {
     @Option(names = {"--fail-dynamic-license", "-fdl"}, defaultValue = "false",
             description = "If enabled, download fails if a license is encountered that is not part of the license configuration.")
     private boolean failOnDynamicLicense;
+    @Option(names = {"--archive"}, defaultValue = "false",
+            description = "If enabled, all license files and an index are written into the ZIP archive given by --out instead of a directory.")
+    private boolean archive;
+    @Option(names = {"--no-cache"}, defaultValue = "false", description = "If enabled, licenses are neither taken from nor added to the cache.")
+    private boolean noCache;
     @Mixin
     private ConfigurationOptions configurationOptions;
+    @Mixin
+    private ExecutionOptions executionOptions;
+    @Mixin
+    private HttpOptions httpOptions;
+    @Mixin
+    private TimeBudgetOptions timeBudgetOptions;
+    @Mixin
+    private CacheOptions cacheOptions;
+    @Mixin
+    private LicenseSourceOptions licenseSourceOptions;
+    @Mixin
+    private BomCacheOptions bomCacheOptions;
 
     @Override
     public Void call() throws Exception {
-        var componentLister = new ComponentLister(new AssetLoader(), new ComponentMetaDataLoader(), new LicenseLoader(), new LicenseMappingLoader(),
-                configurationOptions);
-        LicensesDownloader licensesDownloader = new LicensesDownloader(componentLister, new LicenseFileDownloader());
-        try (var bomInputStream = new FileInputStream(inputFile)) {
-            licensesDownloader.download(new ConsoleUserLogger(), bomInputStream, new FilesystemLicenseFileHandler(outputPath), failOnDynamicLicense);
+        var timeBudget = timeBudgetOptions.createTimeBudget();
+        var userLogger = new ConsoleUserLogger();
+        try (var executionContext = executionOptions.createExecutionContext();
+                var httpTransport = timeBudget.limit(httpOptions.createHttpTransport());
+                var licenseMirror = licenseSourceOptions.openLicenseMirror();
+                var bomInputStream = new FileInputStream(inputFile);
+                var archiveFileHandler = archive ? new ZipLicenseFileHandler(openArchive(outputPath)) : null;
+                var cache = archive || noCache ? null : cacheOptions.openCache()) {
+            var componentLister = new ComponentLister(new AssetLoader(false, executionContext, httpTransport, bomCacheOptions.createBomCache()),
+                    new ComponentMetaDataLoader(httpTransport), new LicenseLoader(httpTransport), new LicenseMappingLoader(httpTransport),
+                    configurationOptions, executionContext);
+            var fileDownloader = licenseSourceOptions.createFileDownloader(httpTransport, licenseMirror);
+            LicensesDownloader licensesDownloader = new LicensesDownloader(componentLister, fileDownloader, executionContext);
+            LicenseFileHandler licenseFileHandler = archiveFileHandler != null ? archiveFileHandler : new FilesystemLicenseFileHandler(outputPath, cache);
+            licensesDownloader.download(userLogger, bomInputStream, licenseFileHandler, failOnDynamicLicense, timeBudget);
+            if (cache != null) {
+                cache.prune(cacheOptions.getCacheLimits());
+            }
         }
+        timeBudget.report(userLogger);
         return null;
     }
+
+    static OutputStream openArchive(Path outputPath) throws IOException {
+        if (outputPath.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(outputPath.toAbsolutePath().getParent());
+        }
+        return Files.newOutputStream(outputPath);
+    }
 }
@@ -0,0 +1,40 @@
+/*-
+ * #%L
+ * License Compliance Tool - Command Line Interface
+ * %%
+ * Copyright (C) 2022 - 2023 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.cli;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import de.medavis.lct.core.execution.ExecutionContext;
+
+@Command
+class ExecutionOptions {
+
+    @Option(names = {"--threads", "-T"}, description = "Maximum number of concurrent tasks, e.g. URL checks and downloads. Default: number of processors.")
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Uses virtual threads when running on Java 21 or later.
+     */
+    ExecutionContext createExecutionContext() {
+        return ExecutionContext.virtualThreads(threads);
+    }
+
+}
@@ -21,19 +21,28 @@ package de.medavis.lct.cli;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
-import java.util.stream.Stream;
 
+import de.medavis.lct.core.cache.LicenseCache;
+import de.medavis.lct.core.downloader.FileMaterializer;
 import de.medavis.lct.core.downloader.LicenseFileHandler;
 
+/**
+ * Saves license files in an output directory. Downloaded files are also kept in a cache, which can be shared by several output directories. Cache hits are
+ * hardlinked into the output directory if possible.
+ */
 class FilesystemLicenseFileHandler implements LicenseFileHandler {
 
     private final Path target;
+    private final LicenseCache cache;
 
-    public FilesystemLicenseFileHandler(Path target) {
+    /**
+     * @param cache May be <code>null</code> to disable caching.
+     */
+    public FilesystemLicenseFileHandler(Path target, LicenseCache cache) {
         this.target = target;
+        this.cache = cache;
         final File targetFile = target.toFile();
         if (!targetFile.exists()) {
             if (!targetFile.mkdirs()) {
@@ -47,23 +56,29 @@ class FilesystemLicenseFileHandler implements LicenseFileHandler {
     }
 
     @Override
-    public boolean isCached(String license) throws IOException {
+    public boolean isCached(String license) {
         return getCachedFile(license).isPresent();
     }
 
     @Override
     public void save(String license, String extension, byte[] content) throws IOException {
-        Files.write(target.resolve(license + extension), content);
+        String fileName = license + extension;
+        if (cache != null) {
+            FileMaterializer.linkOrCopy(cache.put(fileName, content), target.resolve(fileName));
+        } else {
+            FileMaterializer.write(target.resolve(fileName), content);
+        }
     }
 
     @Override
-    public void copyFromCache(String license) {
-        // Nothing to do - the cache is identical to the output file
+    public void copyFromCache(String license) throws IOException {
+        Optional<Path> cachedFile = getCachedFile(license);
+        if (cachedFile.isPresent()) {
+            FileMaterializer.linkOrCopy(cachedFile.get(), target.resolve(cachedFile.get().getFileName().toString()));
+        }
     }
 
-    private Optional<Path> getCachedFile(String license) throws IOException {
-        try (Stream<Path> cached = Files.find(target, 1, (name, attributes) -> name.startsWith(license) && attributes.isRegularFile())) {
-            return cached.findFirst();
-        }
+    private Optional<Path> getCachedFile(String license) {
+        return cache != null ? cache.find(license) : Optional.empty();
     }
 }
@@ -0,0 +1,62 @@
+/*-
+ * #%L
+ * License Compliance Tool - Command Line Interface
+ * %%
+ * Copyright (C) 2022 - 2023 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.cli;
+
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.time.Duration;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.http.JavaHttpTransport;
+import de.medavis.lct.core.http.ResilientHttpTransport;
+import de.medavis.lct.core.http.RetryPolicy;
+
+@Command
+class HttpOptions {
+
+    @Option(names = {"--proxy"}, description = "HTTP proxy as host:port. Default: proxy from system properties http(s).proxyHost and http(s).proxyPort.")
+    private String proxy;
+    @Option(names = {"--connect-timeout"}, description = "Timeout in seconds for establishing HTTP connections. Default: 5.")
+    private long connectTimeoutSeconds = JavaHttpTransport.DEFAULT_CONNECT_TIMEOUT.toSeconds();
+    @Option(names = {"--request-timeout"}, description = "Timeout in seconds for a single HTTP request. Default: 30.")
+    private long requestTimeoutSeconds = JavaHttpTransport.DEFAULT_REQUEST_TIMEOUT.toSeconds();
+    @Option(names = {"--retries"}, description = "Number of retries for failed HTTP requests. Default: 2.")
+    private int retries = RetryPolicy.DEFAULT.maxAttempts() - 1;
+
+    HttpTransport createHttpTransport() {
+        return new ResilientHttpTransport(
+                new JavaHttpTransport(Duration.ofSeconds(connectTimeoutSeconds), Duration.ofSeconds(requestTimeoutSeconds), getProxySelector()),
+                RetryPolicy.DEFAULT.withMaxAttempts(retries + 1));
+    }
+
+    private ProxySelector getProxySelector() {
+        if (proxy == null) {
+            return ProxySelector.getDefault();
+        }
+        int separator = proxy.lastIndexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Proxy must be specified as host:port, but was " + proxy);
+        }
+        return ProxySelector.of(new InetSocketAddress(proxy.substring(0, separator), Integer.parseInt(proxy.substring(separator + 1))));
+    }
+
+}
@@ -0,0 +1,56 @@
+/*-
+ * #%L
+ * License Compliance Tool - Command Line Interface
+ * %%
+ * Copyright (C) 2022 - 2023 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.cli;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import de.medavis.lct.core.downloader.FileSystemLicenseMirror;
+import de.medavis.lct.core.downloader.LicenseFileDownloader;
+import de.medavis.lct.core.downloader.LicenseMirror;
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.spdx.SpdxLicensePack;
+
+@Command
+class LicenseSourceOptions {
+
+    @Option(names = {"--mirror", "-m"}, description = "License mirror directory or ZIP archive created by mirror-licenses. Mirrored licenses are not downloaded.")
+    private Path mirrorPath;
+    @Option(names = {"--spdx-pack"}, description = "SPDX license pack to take standard licenses from. Default: pack bundled with this tool, if any.")
+    private Path spdxPackPath;
+
+    /**
+     * @return the configured mirror, or <code>null</code> if there is none
+     */
+    FileSystemLicenseMirror openLicenseMirror() throws IOException {
+        return mirrorPath != null ? FileSystemLicenseMirror.open(mirrorPath) : null;
+    }
+
+    LicenseFileDownloader createFileDownloader(HttpTransport httpTransport, LicenseMirror licenseMirror) throws IOException {
+        return new LicenseFileDownloader(httpTransport, licenseMirror != null ? licenseMirror : LicenseMirror.none(), openSpdxLicensePack());
+    }
+
+    private SpdxLicensePack openSpdxLicensePack() throws IOException {
+        return spdxPackPath != null ? SpdxLicensePack.open(spdxPackPath) : SpdxLicensePack.bundled().orElse(null);
+    }
+
+}
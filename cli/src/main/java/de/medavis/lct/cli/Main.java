@@ -33,7 +33,11 @@ class Main {
         commandLine.addSubcommand(new HelpCommand());
         commandLine.addSubcommand(new CreateManifest());
         commandLine.addSubcommand(new DownloadLicenses());
+        commandLine.addSubcommand(new MirrorLicenses());
         commandLine.addSubcommand(new AnalyzeComponents());
+        commandLine.addSubcommand(new Comply());
+        commandLine.addSubcommand(new CheckConfig());
+        commandLine.addSubcommand(new ManageCache());
         System.exit(commandLine.execute(args));
     }
 
@@ -0,0 +1,71 @@
+/*-
+ * #%L
+ * License Compliance Tool - Command Line Interface
+ * %%
+ * Copyright (C) 2022 - 2023 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.cli;
+
+import java.io.IOException;
+import java.util.List;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+
+import de.medavis.lct.core.cache.CacheStats;
+import de.medavis.lct.core.cache.LicenseCache;
+
+@Command(name = "cache", description = "Show, prune or verify the cache of downloaded licenses")
+class ManageCache {
+
+    private final ConsoleUserLogger userLogger = new ConsoleUserLogger();
+
+    @Command(name = "stats", description = "Show number, size and access times of cached files")
+    int stats(@Mixin CacheOptions cacheOptions) throws IOException {
+        try (LicenseCache cache = cacheOptions.openCache()) {
+            CacheStats stats = cache.stats();
+            userLogger.info("Cache directory: %s%n", cache.directory());
+            userLogger.info("Files: %d%n", stats.files());
+            userLogger.info("Size: %.1f MB%n", stats.bytes() / (1024.0 * 1024.0));
+            stats.oldestAccess().ifPresent(oldest -> userLogger.info("Least recently used: %s%n", oldest));
+            stats.newestAccess().ifPresent(newest -> userLogger.info("Most recently used: %s%n", newest));
+        }
+        return 0;
+    }
+
+    @Command(name = "prune", description = "Remove files that exceed the maximum age or size of the cache")
+    int prune(@Mixin CacheOptions cacheOptions) throws IOException {
+        try (LicenseCache cache = cacheOptions.openCache()) {
+            List<String> removed = cache.prune(cacheOptions.getCacheLimits());
+            removed.forEach(file -> userLogger.info("Removed %s%n", file));
+            userLogger.info("Removed %d files from %s.%n", removed.size(), cache.directory());
+        }
+        return 0;
+    }
+
+    @Command(name = "verify", description = "Compare the checksums of cached files with the cache index")
+    int verify(@Mixin CacheOptions cacheOptions,
+            @Option(names = {"--remove"}, defaultValue = "false", description = "If enabled, corrupted files are removed from the cache.") boolean remove)
+            throws IOException {
+        try (LicenseCache cache = cacheOptions.openCache()) {
+            List<String> corrupted = cache.verify(remove);
+            corrupted.forEach(file -> userLogger.error("Corrupted: %s%s%n", file, remove ? " (removed)" : ""));
+            userLogger.info("Verified %s, %d corrupted files.%n", cache.directory(), corrupted.size());
+            return corrupted.isEmpty() || remove ? 0 : 1;
+        }
+    }
+
+}
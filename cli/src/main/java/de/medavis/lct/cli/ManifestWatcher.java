@@ -0,0 +1,205 @@
+/*-
+ * #%L
+ * License Compliance Tool - Command Line Interface
+ * %%
+ * Copyright (C) 2022 - 2023 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.cli;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import de.medavis.lct.core.Configuration;
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.execution.TimeBudget;
+import de.medavis.lct.core.list.ComponentData;
+import de.medavis.lct.core.list.ComponentLister;
+import de.medavis.lct.core.outputter.FreemarkerOutputter;
+
+/**
+ * Watch mode of {@link CreateManifest}. Configuration, URL checks and templates stay loaded between changes, and only the work affected by a change is
+ * repeated: a changed BOM or configuration file is listed again and all outputs are rendered, a changed template only renders the outputs using it.
+ */
+class ManifestWatcher {
+
+    // Editors often save a file in several steps, e.g. truncate and write, so changes are collected until the file system is quiet for this long
+    private static final long SETTLE_MILLIS = 50;
+
+    private final ComponentLister componentLister;
+    private final Path inputPath;
+    private final List<File> outputFiles;
+    private final List<String> templates;
+    private final ExecutionContext executionContext;
+    private final TimeBudgetOptions timeBudgetOptions;
+    private final Map<Path, URL> configurationFiles = new HashMap<>();
+    private final Map<Path, Set<Integer>> templateFiles = new HashMap<>();
+    private FreemarkerOutputter outputter = new FreemarkerOutputter();
+    private List<ComponentData> components;
+
+    ManifestWatcher(ComponentLister componentLister, File inputFile, List<File> outputFiles, List<String> templates, Configuration configuration,
+            ExecutionContext executionContext, TimeBudgetOptions timeBudgetOptions) {
+        this.componentLister = componentLister;
+        this.inputPath = normalize(inputFile.toPath());
+        this.outputFiles = outputFiles;
+        this.templates = templates;
+        this.executionContext = executionContext;
+        this.timeBudgetOptions = timeBudgetOptions;
+        Stream.of(configuration.getComponentMetadataUrl(), configuration.getLicensesUrl(), configuration.getLicenseMappingsUrl())
+                .flatMap(Optional::stream)
+                .forEach(url -> toLocalPath(url).ifPresent(path -> configurationFiles.put(path, url)));
+        for (int i = 0; i < templates.size(); i++) {
+            final int output = i;
+            Optional.ofNullable(templates.get(i))
+                    .filter(template -> !template.isBlank())
+                    .flatMap(StringToUrlConverter::convert)
+                    .flatMap(ManifestWatcher::toLocalPath)
+                    .ifPresent(path -> templateFiles.computeIfAbsent(path, key -> new TreeSet<>()).add(output));
+        }
+    }
+
+    /**
+     * Render all outputs, then update them on every change until the thread is interrupted.
+     */
+    void run() throws IOException, InterruptedException {
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            Set<Path> directories = new HashSet<>();
+            directories.add(inputPath.getParent());
+            configurationFiles.keySet().forEach(path -> directories.add(path.getParent()));
+            templateFiles.keySet().forEach(path -> directories.add(path.getParent()));
+            for (Path directory : directories) {
+                // Editors which save by replacing the file create it instead of modifying it
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+
+            update(Set.of(inputPath));
+            System.out.printf("Watching %d files for changes. Press Ctrl+C to stop.%n", 1 + configurationFiles.size() + templateFiles.size());
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<Path> changed = new HashSet<>();
+                collect(watchService.take(), changed);
+                WatchKey key;
+                while ((key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, changed);
+                }
+                update(changed);
+            }
+        }
+    }
+
+    private void collect(WatchKey key, Set<Path> changed) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Events have been lost, so everything is regarded as changed
+                changed.add(inputPath);
+                changed.addAll(configurationFiles.keySet());
+            } else {
+                changed.add(normalize(directory.resolve((Path) event.context())));
+            }
+        }
+        key.reset();
+    }
+
+    /**
+     * Repeat the work affected by the <code>changed</code> files. The first call lists the components and renders all outputs.
+     */
+    void update(Set<Path> changed) {
+        boolean relist = components == null || changed.contains(inputPath);
+        for (Path path : changed) {
+            URL configurationUrl = configurationFiles.get(path);
+            if (configurationUrl != null) {
+                componentLister.reloadConfiguration(configurationUrl);
+                relist = true;
+            }
+        }
+        Set<Integer> outputs = new TreeSet<>();
+        changed.stream().map(templateFiles::get).filter(indices -> indices != null).forEach(outputs::addAll);
+        if (!outputs.isEmpty()) {
+            // Templates are cached by the outputter, so changed templates are only read again by a new one
+            outputter = new FreemarkerOutputter();
+        }
+        if (relist) {
+            for (int i = 0; i < outputFiles.size(); i++) {
+                outputs.add(i);
+            }
+        }
+        if (outputs.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (relist) {
+                TimeBudget timeBudget = timeBudgetOptions.createTimeBudget();
+                try (var bomInputStream = new FileInputStream(inputPath.toFile())) {
+                    components = componentLister.listComponents(bomInputStream, timeBudget);
+                }
+                timeBudget.report(new ConsoleUserLogger());
+            }
+            List<File> files = new ArrayList<>();
+            List<String> fileTemplates = new ArrayList<>();
+            for (int output : outputs) {
+                files.add(outputFiles.get(output));
+                fileTemplates.add(output < templates.size() ? templates.get(output) : null);
+            }
+            CreateManifest.writeOutputs(outputter, components, files, fileTemplates, executionContext);
+            System.out.printf("Updated %s in %d ms.%n", files.stream().map(File::getName).collect(Collectors.joining(", ")),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            // Keep watching, the next change may fix the problem
+            System.err.printf("Could not update the output: %s%n", e.getMessage());
+        }
+    }
+
+    private static Optional<Path> toLocalPath(URL url) {
+        if (!"file".equalsIgnoreCase(url.getProtocol())) {
+            return Optional.empty();
+        }
+        try {
+            URI uri = url.toURI();
+            // Relative file URLs like file:metadata.json are opaque
+            return Optional.of(normalize(uri.isOpaque() ? Paths.get(uri.getSchemeSpecificPart()) : Paths.get(uri)));
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+}
@@ -0,0 +1,55 @@
+/*-
+ * #%L
+ * License Compliance Tool - Command Line Interface
+ * %%
+ * Copyright (C) 2022 - 2023 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.cli;
+
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+
+import de.medavis.lct.core.downloader.LicenseMirrorWriter;
+import de.medavis.lct.core.license.LicenseLoader;
+
+@Command(name = "mirror-licenses", description = "Download all configured licenses into a mirror for offline use")
+class MirrorLicenses implements Callable<Integer> {
+
+    @Option(names = {"--out", "-o"}, required = true, description = "Mirror directory or ZIP archive (file name ending with .zip). Existing mirrors are updated.")
+    private Path mirrorPath;
+    @Mixin
+    private ConfigurationOptions configurationOptions;
+    @Mixin
+    private ExecutionOptions executionOptions;
+    @Mixin
+    private HttpOptions httpOptions;
+
+    @Override
+    public Integer call() throws Exception {
+        URL licensesUrl = configurationOptions.getLicensesUrl()
+                .orElseThrow(() -> new IllegalArgumentException("Option --licenses is required to mirror licenses."));
+        try (var executionContext = executionOptions.createExecutionContext();
+                var httpTransport = httpOptions.createHttpTransport()) {
+            var licenses = new LicenseLoader(httpTransport).load(licensesUrl).values();
+            int failures = new LicenseMirrorWriter(httpTransport, executionContext).write(new ConsoleUserLogger(), licenses, mirrorPath);
+            return failures == 0 ? 0 : 1;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*-
+ * #%L
+ * License Compliance Tool - Command Line Interface
+ * %%
+ * Copyright (C) 2022 - 2023 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.cli;
+
+import java.time.Duration;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import de.medavis.lct.core.execution.TimeBudget;
+
+@Command
+class TimeBudgetOptions {
+
+    @Option(names = {"--time-budget"}, description = "Maximum run time in seconds. When it is nearly exhausted, remaining URL checks and downloads are skipped, "
+            + "the output is written anyway and the skipped work is reported. Default: unlimited.")
+    private Long timeBudgetSeconds;
+
+    /**
+     * Must be called at the start of the run, since the budget starts to elapse immediately.
+     */
+    TimeBudget createTimeBudget() {
+        return timeBudgetSeconds != null ? TimeBudget.of(Duration.ofSeconds(timeBudgetSeconds)) : TimeBudget.unlimited();
+    }
+
+}
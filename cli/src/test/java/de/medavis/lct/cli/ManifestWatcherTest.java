@@ -0,0 +1,133 @@
+/*-
+ * #%L
+ * License Compliance Tool - Command Line Interface
+ * %%
+ * Copyright (C) 2022 - 2023 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.cli;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.medavis.lct.core.Configuration;
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.list.ComponentData;
+import de.medavis.lct.core.list.ComponentLister;
+
+@ExtendWith(MockitoExtension.class)
+class ManifestWatcherTest {
+
+    @TempDir
+    private Path tempDir;
+    @Mock
+    private ComponentLister componentLister;
+    @Mock
+    private Configuration configuration;
+
+    private Path bom;
+    private Path metadata;
+    private Path htmlTemplate;
+    private Path noticeTemplate;
+    private File htmlOutput;
+    private File noticeOutput;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        bom = write("bom.json", "{}");
+        metadata = write("metadata.json", "[]");
+        htmlTemplate = write("manifest.ftl", "<#list components as component><p>${component.name}</p></#list>");
+        noticeTemplate = write("notice.ftl", "<#list components as component>${component.name}</#list>");
+        htmlOutput = tempDir.resolve("manifest.html").toFile();
+        noticeOutput = tempDir.resolve("NOTICE.txt").toFile();
+    }
+
+    @Test
+    void shouldRenderOnlyOutputsOfChangedTemplate() throws IOException {
+        when(componentLister.listComponents(any(), any())).thenReturn(List.of(component("first")));
+        ManifestWatcher underTest = createWatcher();
+        underTest.update(Set.of(bom));
+        Files.writeString(htmlOutput.toPath(), "untouched");
+
+        write("notice.ftl", "Notice: <#list components as component>${component.name}</#list>");
+        underTest.update(Set.of(noticeTemplate.toAbsolutePath()));
+
+        assertThat(htmlOutput).hasContent("untouched");
+        assertThat(noticeOutput).hasContent("Notice: first");
+        verify(componentLister, times(1)).listComponents(any(), any());
+    }
+
+    @Test
+    void shouldListAgainAndRenderAllOutputsOnBomChange() throws IOException {
+        when(componentLister.listComponents(any(), any())).thenReturn(List.of(component("first")), List.of(component("second")));
+        ManifestWatcher underTest = createWatcher();
+        underTest.update(Set.of(bom));
+        assertThat(htmlOutput).hasContent("<p>first</p>");
+
+        underTest.update(Set.of(bom.toAbsolutePath()));
+
+        assertThat(htmlOutput).hasContent("<p>second</p>");
+        assertThat(noticeOutput).hasContent("second");
+        verify(componentLister, times(2)).listComponents(any(), any());
+    }
+
+    @Test
+    void shouldReloadChangedConfiguration() throws IOException {
+        URL metadataUrl = metadata.toUri().toURL();
+        when(configuration.getComponentMetadataUrl()).thenReturn(Optional.of(metadataUrl));
+        when(componentLister.listComponents(any(), any())).thenReturn(List.of(component("first")), List.of(component("second")));
+        ManifestWatcher underTest = createWatcher();
+        underTest.update(Set.of(bom));
+
+        underTest.update(Set.of(metadata.toAbsolutePath()));
+
+        verify(componentLister).reloadConfiguration(metadataUrl);
+        assertThat(noticeOutput).hasContent("second");
+    }
+
+    private ManifestWatcher createWatcher() {
+        return new ManifestWatcher(componentLister, bom.toFile(), List.of(htmlOutput, noticeOutput),
+                List.of(htmlTemplate.toUri().toString(), noticeTemplate.toUri().toString()), configuration, ExecutionContext.sequential(),
+                new TimeBudgetOptions());
+    }
+
+    private Path write(String file, String content) throws IOException {
+        return Files.write(tempDir.resolve(file), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ComponentData component(String name) {
+        return new ComponentData(name, "1.0", null, Set.of(), Set.of());
+    }
+
+}
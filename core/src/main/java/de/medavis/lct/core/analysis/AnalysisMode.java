@@ -0,0 +1,57 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.analysis;
+
+/**
+ * Criteria by which {@link ComponentAnalyzer} reports components or configuration. Several modes are evaluated in a single pass over a
+ * {@link de.medavis.lct.core.list.ComponentIndex}.
+ */
+public enum AnalysisMode {
+
+    MISSING_URL("components without URL", true),
+    MISSING_LICENSE("components without license", false),
+    DYNAMIC_LICENSE("components with licenses that are not part of the license configuration", false),
+    DUPLICATE_NAME_DIFFERENT_VERSION("components listed with different versions", false),
+    UNMATCHED_COMPONENTS("components without matching component metadata rule", false),
+    UNUSED_METADATA_RULES("component metadata rules which do not match any component", false);
+
+    private final String description;
+    private final boolean onlineCheckRequired;
+
+    AnalysisMode(String description, boolean onlineCheckRequired) {
+        this.description = description;
+        this.onlineCheckRequired = onlineCheckRequired;
+    }
+
+    /**
+     * @return plural description of the findings of this mode, e.g. "components without URL"
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return whether the availability of component URLs has to be checked for this mode, since unavailable URLs count as missing
+     */
+    public boolean isOnlineCheckRequired() {
+        return onlineCheckRequired;
+    }
+
+}
@@ -0,0 +1,90 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.analysis;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Findings of one {@link AnalysisMode}, e.g. the names of the components without URL.
+ */
+public final class AnalysisReport {
+
+    private final AnalysisMode mode;
+    private final List<String> findings;
+    private final String countsTitle;
+    private final Map<String, Integer> counts;
+
+    public AnalysisReport(AnalysisMode mode, List<String> findings) {
+        this(mode, findings, null, Collections.emptyMap());
+    }
+
+    /**
+     * @param countsTitle Line written before the counts, e.g. "Hits per rule:"
+     * @param counts      Additional numbers which are reported in iteration order, e.g. the hits of each component metadata rule
+     */
+    public AnalysisReport(AnalysisMode mode, List<String> findings, String countsTitle, Map<String, Integer> counts) {
+        this.mode = mode;
+        this.findings = List.copyOf(findings);
+        this.countsTitle = countsTitle;
+        this.counts = Collections.unmodifiableMap(counts);
+    }
+
+    public AnalysisMode getMode() {
+        return mode;
+    }
+
+    public List<String> getFindings() {
+        return findings;
+    }
+
+    public Map<String, Integer> getCounts() {
+        return counts;
+    }
+
+    public boolean isEmpty() {
+        return findings.isEmpty();
+    }
+
+    /**
+     * Write the report as plain text, a summary line followed by one line per finding and one line per count. The writer is not closed.
+     */
+    public void write(Writer writer) throws IOException {
+        if (findings.isEmpty()) {
+            writer.write(String.format("No %s detected.%n", mode.getDescription()));
+        } else {
+            writer.write(String.format("Detected %d %s:%n", findings.size(), mode.getDescription()));
+            for (String finding : findings) {
+                writer.write(finding + System.lineSeparator());
+            }
+        }
+        if (!counts.isEmpty() && countsTitle != null) {
+            writer.write(countsTitle + System.lineSeparator());
+        }
+        for (Map.Entry<String, Integer> count : counts.entrySet()) {
+            writer.write(String.format("  %s: %d%n", count.getKey(), count.getValue()));
+        }
+        writer.flush();
+    }
+
+}
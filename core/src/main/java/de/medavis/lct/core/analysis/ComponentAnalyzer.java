@@ -0,0 +1,114 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.analysis;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import de.medavis.lct.core.license.License;
+import de.medavis.lct.core.list.ComponentData;
+import de.medavis.lct.core.list.ComponentIndex;
+import de.medavis.lct.core.list.ComponentIndex.Entry;
+
+/**
+ * Reports components of a listing and component metadata rules which need attention before a release.
+ */
+public class ComponentAnalyzer {
+
+    /**
+     * Run all <code>modes</code> in one pass over the entries and one pass over the components of <code>index</code>.
+     *
+     * @return one report per mode, in declaration order of the modes
+     */
+    public List<AnalysisReport> analyze(Collection<AnalysisMode> modes, ComponentIndex index) {
+        Map<AnalysisMode, List<String>> findings = new EnumMap<>(AnalysisMode.class);
+        modes.forEach(mode -> findings.put(mode, new ArrayList<>()));
+
+        Map<String, Set<String>> versionsByName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Set<String> unmatched = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (Entry entry : index.getEntries()) {
+            if (!entry.isIgnored() && entry.getVersion() != null) {
+                versionsByName.computeIfAbsent(entry.getExportName(), name -> new LinkedHashSet<>()).add(entry.getVersion());
+            }
+            if (entry.getRule() < 0) {
+                unmatched.add(entry.getExportName());
+            }
+        }
+        for (ComponentData component : index.getComponents()) {
+            if (component.getUrl() == null) {
+                add(findings, AnalysisMode.MISSING_URL, component.getName());
+            }
+            if (component.getLicenses().isEmpty()) {
+                add(findings, AnalysisMode.MISSING_LICENSE, component.getName());
+            }
+            List<String> dynamicLicenses = component.getLicenses().stream()
+                    .filter(License::isDynamic)
+                    .map(License::getName)
+                    .sorted()
+                    .collect(Collectors.toList());
+            if (!dynamicLicenses.isEmpty()) {
+                add(findings, AnalysisMode.DYNAMIC_LICENSE, component.getName() + ": " + String.join(", ", dynamicLicenses));
+            }
+        }
+        versionsByName.forEach((name, versions) -> {
+            if (versions.size() > 1) {
+                add(findings, AnalysisMode.DUPLICATE_NAME_DIFFERENT_VERSION, name + ": " + String.join(", ", versions));
+            }
+        });
+        unmatched.forEach(name -> add(findings, AnalysisMode.UNMATCHED_COMPONENTS, name));
+
+        List<AnalysisReport> reports = new ArrayList<>();
+        findings.forEach((mode, modeFindings) -> reports.add(mode == AnalysisMode.UNUSED_METADATA_RULES
+                ? analyzeRuleHits(index)
+                : new AnalysisReport(mode, modeFindings)));
+        return reports;
+    }
+
+    private static void add(Map<AnalysisMode, List<String>> findings, AnalysisMode mode, String finding) {
+        List<String> modeFindings = findings.get(mode);
+        if (modeFindings != null) {
+            modeFindings.add(finding);
+        }
+    }
+
+    private static AnalysisReport analyzeRuleHits(ComponentIndex index) {
+        int[] hits = index.getRuleHits();
+        List<String> unused = new ArrayList<>();
+        Map<String, Integer> hitsByRule = new LinkedHashMap<>();
+        for (int i = 0; i < hits.length; i++) {
+            String rule = index.getRules().get(i).describe(i);
+            if (hits[i] == 0) {
+                unused.add(rule);
+            }
+            hitsByRule.put(rule, hits[i]);
+        }
+        return new AnalysisReport(AnalysisMode.UNUSED_METADATA_RULES, unused, "Components per rule:", hitsByRule);
+    }
+
+}
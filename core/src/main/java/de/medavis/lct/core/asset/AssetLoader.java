@@ -21,11 +21,17 @@ package de.medavis.lct.core.asset;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
+import com.google.common.hash.Hashing;
 import com.google.common.io.ByteStreams;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -37,6 +43,11 @@ import org.cyclonedx.model.ExternalReference;
 import org.cyclonedx.model.ExternalReference.Type;
 import org.cyclonedx.parsers.BomParserFactory;
 
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.execution.TimeBudget;
+import de.medavis.lct.core.execution.TimeBudget.Work;
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.http.JavaHttpTransport;
 import de.medavis.lct.core.license.License;
 import de.medavis.lct.core.urlchecker.OnlineHttpUrlChecker;
 import de.medavis.lct.core.urlchecker.HttpUrlChecker;
@@ -44,37 +55,83 @@ import de.medavis.lct.core.urlchecker.HttpUrlChecker;
 public class AssetLoader {
 
     private final HttpUrlChecker urlChecker;
+    private final ExecutionContext executionContext;
+    private final BomCache bomCache;
 
     public AssetLoader() {
         this(false);
     }
 
     public AssetLoader(final boolean checkUrlAvailability) {
-        this.urlChecker = checkUrlAvailability ? new OnlineHttpUrlChecker() : url -> true;
+        this(checkUrlAvailability, ExecutionContext.sequential());
+    }
+
+    public AssetLoader(final boolean checkUrlAvailability, ExecutionContext executionContext) {
+        this(checkUrlAvailability, executionContext, JavaHttpTransport.shared());
+    }
+
+    /**
+     * @param httpTransport Used to check URL availability if <code>checkUrlAvailability</code> is set.
+     */
+    public AssetLoader(final boolean checkUrlAvailability, ExecutionContext executionContext, HttpTransport httpTransport) {
+        this(checkUrlAvailability, executionContext, httpTransport, BomCache.none());
+    }
+
+    public AssetLoader(final boolean checkUrlAvailability, ExecutionContext executionContext, HttpTransport httpTransport, BomCache bomCache) {
+        this(checkUrlAvailability ? new OnlineHttpUrlChecker(httpTransport, executionContext) : url -> true, executionContext, bomCache);
+    }
+
+    /**
+     * @param urlChecker Checks the availability of component URLs, e.g. with a cache shared by several loaders.
+     */
+    public AssetLoader(HttpUrlChecker urlChecker, ExecutionContext executionContext) {
+        this(urlChecker, executionContext, BomCache.none());
+    }
+
+    /**
+     * @param bomCache Parsed BOMs are taken from and stored in this cache by the checksum of the BOM.
+     */
+    public AssetLoader(HttpUrlChecker urlChecker, ExecutionContext executionContext, BomCache bomCache) {
+        this.urlChecker = urlChecker;
+        this.executionContext = executionContext;
+        this.bomCache = bomCache;
     }
 
     public Asset loadFromBom(InputStream bomStream) {
-        Bom assetBom = parseBom(bomStream);
+        final byte[] bom;
+        try {
+            bom = ByteStreams.toByteArray(bomStream);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read BOM file " + bomStream, e);
+        }
+        String key = Hashing.sha256().hashBytes(bom).toString();
+        Optional<Asset> cached = bomCache.get(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Asset asset = parseAsset(bom);
+        bomCache.put(key, asset);
+        return asset;
+    }
+
+    private Asset parseAsset(byte[] bom) {
+        Bom assetBom = parseBom(bom);
         final String group = assetBom.getMetadata().getComponent().getGroup();
         final String name = assetBom.getMetadata().getComponent().getName();
         String assetName = Strings.isNullOrEmpty(group) ? name : Joiner.on(".").join(group, name);
         String assetVersion = assetBom.getMetadata().getComponent().getVersion();
         Set<Component> components = assetBom.getComponents() == null
                 ? Collections.emptySet()
-                : assetBom.getComponents().parallelStream()
-                        // FIXME Find out what the scope exactly means and why some components are added that are not in the BOM
-//                        .filter(component -> component.getScope() != null)
-                        .map(this::bomComponentToEntity)
-                        .collect(Collectors.toSet());
+                // FIXME Find out what the scope exactly means and why some components are added that are not in the BOM
+                : new HashSet<>(executionContext.map(assetBom.getComponents(), this::bomComponentToEntity));
         return new Asset(assetName, assetVersion, components);
     }
 
-    private Bom parseBom(InputStream bomStream) {
+    private Bom parseBom(byte[] bom) {
         try {
-            final byte[] bom = ByteStreams.toByteArray(bomStream);
             return BomParserFactory.createParser(bom).parse(bom);
-        } catch (ParseException | IOException e) {
-            throw new IllegalStateException("Cannot parse BOM file " + bomStream, e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Cannot parse BOM file", e);
         }
     }
 
@@ -82,12 +139,59 @@ public class AssetLoader {
         String group = component.getGroup();
         String name = component.getName();
         String version = component.getVersion();
-        String url = getWebsite(component.getExternalReferences());
+        List<String> urlCandidates = getWebsiteCandidates(component.getExternalReferences());
         Set<License> licenses = getLicenseStream(component)
                 .map(this::extractLicense)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
-        return new Component(group, name, version, url, licenses);
+        return new Component(group, name, version, urlCandidates, licenses);
+    }
+
+    /**
+     * Determines the URL of each component from its candidates. If availability checking is enabled, the first available candidate is used, otherwise the
+     * first candidate. Since checking is expensive, this should only be called for components whose URL is actually needed. Candidates of all components
+     * are checked in rounds, so that later candidates are only probed if the preferred ones are not available.
+     *
+     * @return the URL of each component; components without available URL are mapped to {@code null}.
+     */
+    public Map<Component, String> resolveUrls(Collection<Component> components) {
+        return resolveUrls(components, TimeBudget.unlimited());
+    }
+
+    /**
+     * Like {@link #resolveUrls(Collection)}, but stops checking when <code>timeBudget</code> is exhausted. Components whose candidate could not be checked
+     * then get that candidate without check, and the candidate is recorded in the time budget.
+     */
+    public Map<Component, String> resolveUrls(Collection<Component> components, TimeBudget timeBudget) {
+        Map<Component, String> result = new HashMap<>();
+        List<Component> pending = new ArrayList<>(components);
+        for (int round = 0; !pending.isEmpty(); round++) {
+            final int candidateIndex = round;
+            pending.removeIf(component -> {
+                boolean exhausted = component.urlCandidates().size() <= candidateIndex;
+                if (exhausted) {
+                    result.put(component, null);
+                }
+                return exhausted;
+            });
+            Map<String, Boolean> availability = urlChecker.checkAvailability(pending.stream()
+                    .map(component -> component.urlCandidates().get(candidateIndex))
+                    .collect(Collectors.toSet()), timeBudget);
+            pending.removeIf(component -> {
+                String candidate = component.urlCandidates().get(candidateIndex);
+                Boolean available = availability.get(candidate);
+                if (available == null) {
+                    timeBudget.cutShort(Work.URL_CHECK, candidate);
+                    result.put(component, candidate);
+                    return true;
+                }
+                if (available) {
+                    result.put(component, candidate);
+                }
+                return available;
+            });
+        }
+        return result;
     }
 
     private License extractLicense(org.cyclonedx.model.License license) {
@@ -103,20 +207,19 @@ public class AssetLoader {
         return License.dynamic(name, license.getUrl(), null);
     }
 
-    private String getWebsite(List<ExternalReference> externalReferences) {
-        return getUrl(externalReferences, Type.VCS)
-                .orElseGet(() -> getUrl(externalReferences, Type.WEBSITE)
-                        .orElse(null));
+    private List<String> getWebsiteCandidates(List<ExternalReference> externalReferences) {
+        return Stream.concat(getUrls(externalReferences, Type.VCS), getUrls(externalReferences, Type.WEBSITE))
+                .distinct()
+                .collect(Collectors.toList());
     }
 
-    private Optional<String> getUrl(List<ExternalReference> externalReferences, Type type) {
+    private Stream<String> getUrls(List<ExternalReference> externalReferences, Type type) {
         return externalReferences != null ?
                 externalReferences.stream()
                         .filter(ref -> ref.getType() == type)
                         .map(ExternalReference::getUrl)
-                        .filter(urlChecker::isUrlAvailable)
-                        .findFirst()
-                : Optional.empty();
+                        .filter(Objects::nonNull)
+                : Stream.empty();
     }
 
     private Stream<org.cyclonedx.model.License> getLicenseStream(org.cyclonedx.model.Component component) {
@@ -0,0 +1,59 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.asset;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Stores parsed BOMs, so that a BOM which is processed several times, e.g. by creating a manifest and then downloading licenses, is only parsed once.
+ */
+public interface BomCache {
+
+    /**
+     * @param key SHA-256 checksum of the BOM
+     */
+    Optional<Asset> get(String key);
+
+    void put(String key, Asset asset);
+
+    static BomCache none() {
+        return new BomCache() {
+            @Override
+            public Optional<Asset> get(String key) {
+                return Optional.empty();
+            }
+
+            @Override
+            public void put(String key, Asset asset) {
+                // Nothing is cached
+            }
+        };
+    }
+
+    /**
+     * Cache in <code>directory</code>, which is created when the first BOM is stored. Each BOM is stored as a compact binary file, and only the most recently
+     * used ones are kept.
+     */
+    static BomCache inDirectory(Path directory) {
+        return new DirectoryBomCache(directory);
+    }
+
+}
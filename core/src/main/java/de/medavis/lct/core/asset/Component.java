@@ -19,6 +19,8 @@
  */
 package de.medavis.lct.core.asset;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -29,14 +31,22 @@ public final class Component {
     private final String group;
     private final String name;
     private final String version;
-    private final String url;
+    private final List<String> urlCandidates;
     private final Set<License> licenses;
 
     public Component(String group, String name, String version, String url, Set<License> licenses) {
+        this(group, name, version, url != null ? List.of(url) : Collections.emptyList(), licenses);
+    }
+
+    /**
+     * @param urlCandidates URLs of the component in order of preference. Their availability has not been checked yet, see
+     *                      {@link AssetLoader#resolveUrls(java.util.Collection)}.
+     */
+    public Component(String group, String name, String version, List<String> urlCandidates, Set<License> licenses) {
         this.group = group;
         this.name = name;
         this.version = version;
-        this.url = url;
+        this.urlCandidates = List.copyOf(urlCandidates);
         this.licenses = licenses;
     }
 
@@ -52,8 +62,15 @@ public final class Component {
         return version;
     }
 
+    /**
+     * @return the preferred URL without checking its availability or {@code null} if the component has no URL.
+     */
     public String url() {
-        return url;
+        return urlCandidates.isEmpty() ? null : urlCandidates.get(0);
+    }
+
+    public List<String> urlCandidates() {
+        return urlCandidates;
     }
 
     public Set<License> licenses() {
@@ -70,13 +87,13 @@ public final class Component {
         return Objects.equals(this.group, that.group) &&
                Objects.equals(this.name, that.name) &&
                Objects.equals(this.version, that.version) &&
-               Objects.equals(this.url, that.url) &&
+               Objects.equals(this.urlCandidates, that.urlCandidates) &&
                Objects.equals(this.licenses, that.licenses);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(group, name, version, url, licenses);
+        return Objects.hash(group, name, version, urlCandidates, licenses);
     }
 
     @Override
@@ -85,7 +102,7 @@ public final class Component {
                "group=" + group + ", " +
                "name=" + name + ", " +
                "version=" + version + ", " +
-               "url=" + url + ", " +
+               "urlCandidates=" + urlCandidates + ", " +
                "licenses=" + licenses + ']';
     }
 
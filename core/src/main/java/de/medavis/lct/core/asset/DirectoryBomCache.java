@@ -0,0 +1,231 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.asset;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.medavis.lct.core.license.License;
+
+/**
+ * {@link BomCache} which stores each asset in a file named by the BOM checksum. Strings like groups, licenses and URLs repeat a lot in BOMs, so each distinct
+ * string and license is written once and referenced by its index.
+ */
+final class DirectoryBomCache implements BomCache {
+
+    static final String EXTENSION = ".asset";
+    static final int MAX_ENTRIES = 32;
+
+    private static final Logger log = LoggerFactory.getLogger(DirectoryBomCache.class);
+    private static final int MAGIC = 0x4C435441;
+    private static final int FORMAT_VERSION = 1;
+    private static final int NULL = -1;
+
+    private final Path directory;
+
+    DirectoryBomCache(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public Optional<Asset> get(String key) {
+        Path file = directory.resolve(key + EXTENSION);
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            Optional<Asset> asset = read(input);
+            // The modification time tracks the last use, see trim()
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return asset;
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable cached BOM {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void put(String key, Asset asset) {
+        try {
+            Files.createDirectories(directory);
+            // Written to a temporary file first, so that concurrent readers never see a partial file
+            Path temporary = Files.createTempFile(directory, key, ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                write(asset, output);
+            }
+            Files.move(temporary, directory.resolve(key + EXTENSION), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            trim();
+        } catch (IOException e) {
+            log.warn("Could not cache parsed BOM in {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void trim() throws IOException {
+        List<Path> files;
+        try (Stream<Path> entries = Files.list(directory)) {
+            files = entries.filter(file -> file.getFileName().toString().endsWith(EXTENSION)).collect(Collectors.toList());
+        }
+        if (files.size() <= MAX_ENTRIES) {
+            return;
+        }
+        Map<Path, FileTime> lastUse = new LinkedHashMap<>();
+        for (Path file : files) {
+            lastUse.put(file, Files.getLastModifiedTime(file));
+        }
+        List<Path> leastRecentlyUsed = files.stream()
+                .sorted(Comparator.comparing(lastUse::get))
+                .limit(files.size() - (long) MAX_ENTRIES)
+                .collect(Collectors.toList());
+        for (Path file : leastRecentlyUsed) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    static void write(Asset asset, DataOutputStream output) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        Map<License, Integer> licenses = new LinkedHashMap<>();
+        List<Component> components = new ArrayList<>(asset.components());
+        index(strings, asset.name());
+        index(strings, asset.version());
+        for (Component component : components) {
+            index(strings, component.group());
+            index(strings, component.name());
+            index(strings, component.version());
+            component.urlCandidates().forEach(url -> index(strings, url));
+            for (License license : component.licenses()) {
+                licenses.putIfAbsent(license, licenses.size());
+                index(strings, license.getName());
+                index(strings, license.getUrl());
+                index(strings, license.getDownloadUrl());
+            }
+        }
+
+        output.writeInt(MAGIC);
+        output.writeInt(FORMAT_VERSION);
+        output.writeInt(strings.size());
+        for (String string : strings.keySet()) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+        output.writeInt(licenses.size());
+        for (License license : licenses.keySet()) {
+            writeReference(strings, license.getName(), output);
+            writeReference(strings, license.getUrl(), output);
+            writeReference(strings, license.getDownloadUrl(), output);
+            output.writeBoolean(license.isConfigured());
+        }
+        writeReference(strings, asset.name(), output);
+        writeReference(strings, asset.version(), output);
+        output.writeInt(components.size());
+        for (Component component : components) {
+            writeReference(strings, component.group(), output);
+            writeReference(strings, component.name(), output);
+            writeReference(strings, component.version(), output);
+            output.writeInt(component.urlCandidates().size());
+            for (String url : component.urlCandidates()) {
+                writeReference(strings, url, output);
+            }
+            output.writeInt(component.licenses().size());
+            for (License license : component.licenses()) {
+                output.writeInt(licenses.get(license));
+            }
+        }
+    }
+
+    /**
+     * @return the asset, or empty if the file has been written in another format
+     */
+    static Optional<Asset> read(DataInputStream input) throws IOException {
+        if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+            return Optional.empty();
+        }
+        String[] strings = new String[input.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[input.readInt()];
+            input.readFully(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        License[] licenses = new License[input.readInt()];
+        for (int i = 0; i < licenses.length; i++) {
+            String name = readReference(strings, input);
+            String url = readReference(strings, input);
+            String downloadUrl = readReference(strings, input);
+            licenses[i] = input.readBoolean() ? License.fromConfig(name, url, downloadUrl) : License.dynamic(name, url, downloadUrl);
+        }
+        String name = readReference(strings, input);
+        String version = readReference(strings, input);
+        int componentCount = input.readInt();
+        List<Component> components = new ArrayList<>(componentCount);
+        for (int i = 0; i < componentCount; i++) {
+            String group = readReference(strings, input);
+            String componentName = readReference(strings, input);
+            String componentVersion = readReference(strings, input);
+            List<String> urlCandidates = new ArrayList<>();
+            for (int url = input.readInt(); url > 0; url--) {
+                urlCandidates.add(readReference(strings, input));
+            }
+            Set<License> componentLicenses = new HashSet<>();
+            for (int license = input.readInt(); license > 0; license--) {
+                componentLicenses.add(licenses[input.readInt()]);
+            }
+            components.add(new Component(group, componentName, componentVersion, urlCandidates, componentLicenses));
+        }
+        // Created like in AssetLoader, so that the components are iterated in the same order as after parsing
+        return Optional.of(new Asset(name, version, new HashSet<>(components)));
+    }
+
+    private static void index(Map<String, Integer> strings, String string) {
+        if (string != null) {
+            strings.putIfAbsent(string, strings.size());
+        }
+    }
+
+    private static void writeReference(Map<String, Integer> strings, String string, DataOutputStream output) throws IOException {
+        output.writeInt(string == null ? NULL : strings.get(string));
+    }
+
+    private static String readReference(String[] strings, DataInputStream input) throws IOException {
+        int index = input.readInt();
+        return index == NULL ? null : strings[index];
+    }
+
+}
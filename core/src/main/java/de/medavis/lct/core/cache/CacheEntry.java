@@ -0,0 +1,98 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.cache;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Objects;
+
+/**
+ * Entry of the index of a {@link LicenseCache}.
+ */
+final class CacheEntry {
+
+    private final String file;
+    private final long size;
+    private final String sha256;
+    private final long lastAccess;
+
+    @JsonCreator
+    CacheEntry(@JsonProperty("file") String file, @JsonProperty("size") long size, @JsonProperty("sha256") String sha256,
+            @JsonProperty("lastAccess") long lastAccess) {
+        this.file = file;
+        this.size = size;
+        this.sha256 = sha256;
+        this.lastAccess = lastAccess;
+    }
+
+    @JsonProperty("file")
+    public String file() {
+        return file;
+    }
+
+    @JsonProperty("size")
+    public long size() {
+        return size;
+    }
+
+    @JsonProperty("sha256")
+    public String sha256() {
+        return sha256;
+    }
+
+    /**
+     * @return time of last access in milliseconds since the epoch
+     */
+    @JsonProperty("lastAccess")
+    public long lastAccess() {
+        return lastAccess;
+    }
+
+    CacheEntry withLastAccess(long lastAccess) {
+        return new CacheEntry(file, size, sha256, lastAccess);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this)
+            return true;
+        if (obj == null || obj.getClass() != this.getClass())
+            return false;
+        CacheEntry that = (CacheEntry) obj;
+        return Objects.equals(this.file, that.file) &&
+               this.size == that.size &&
+               Objects.equals(this.sha256, that.sha256) &&
+               this.lastAccess == that.lastAccess;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(file, size, sha256, lastAccess);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheEntry[" +
+               "file=" + file + ", " +
+               "size=" + size + ", " +
+               "sha256=" + sha256 + ", " +
+               "lastAccess=" + lastAccess + ']';
+    }
+}
@@ -0,0 +1,63 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.cache;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+/**
+ * Bounds of a {@link LicenseCache}, see {@link LicenseCache#prune(CacheLimits)}.
+ */
+public final class CacheLimits implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final long DEFAULT_MAX_SIZE_MB = 100;
+    public static final long DEFAULT_MAX_AGE_DAYS = 180;
+    public static final CacheLimits DEFAULT = new CacheLimits(DEFAULT_MAX_SIZE_MB * 1024 * 1024, Duration.ofDays(DEFAULT_MAX_AGE_DAYS));
+
+    private final long maxBytes;
+    private final Duration maxAge;
+
+    /**
+     * @param maxBytes Maximum total size of the cached files.
+     * @param maxAge   Files that have not been accessed for this time are removed.
+     */
+    public CacheLimits(long maxBytes, Duration maxAge) {
+        if (maxBytes < 0 || maxAge.isNegative()) {
+            throw new IllegalArgumentException("Cache limits must not be negative, but were " + maxBytes + " bytes and " + maxAge);
+        }
+        this.maxBytes = maxBytes;
+        this.maxAge = maxAge;
+    }
+
+    public static CacheLimits of(long maxSizeMb, long maxAgeDays) {
+        return new CacheLimits(maxSizeMb * 1024 * 1024, Duration.ofDays(maxAgeDays));
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    public Duration maxAge() {
+        return maxAge;
+    }
+
+}
@@ -0,0 +1,61 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.cache;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Summary of the content of a {@link LicenseCache}.
+ */
+public final class CacheStats implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int files;
+    private final long bytes;
+    private final Instant oldestAccess;
+    private final Instant newestAccess;
+
+    CacheStats(int files, long bytes, Instant oldestAccess, Instant newestAccess) {
+        this.files = files;
+        this.bytes = bytes;
+        this.oldestAccess = oldestAccess;
+        this.newestAccess = newestAccess;
+    }
+
+    public int files() {
+        return files;
+    }
+
+    public long bytes() {
+        return bytes;
+    }
+
+    public Optional<Instant> oldestAccess() {
+        return Optional.ofNullable(oldestAccess);
+    }
+
+    public Optional<Instant> newestAccess() {
+        return Optional.ofNullable(newestAccess);
+    }
+
+}
@@ -0,0 +1,250 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.google.common.io.Files.getNameWithoutExtension;
+
+import de.medavis.lct.core.downloader.FileMaterializer;
+
+/**
+ * Directory of cached license files. The index file <code>.lct-index.json</code> tracks size, SHA-256 checksum and time of last access of each file, so
+ * that the cache can be bounded by {@link #prune(CacheLimits)} and checked for corruption by {@link #verify(boolean)}.
+ * <p>
+ * Files that have been added to the directory by other means are added to the index when the cache is opened. The index is written when the cache is
+ * closed. If several processes use the same cache concurrently, the index written last wins, which may only cause access times to be lost.
+ */
+public final class LicenseCache implements Closeable {
+
+    static final String INDEX_FILE = ".lct-index.json";
+
+    private static final Logger log = LoggerFactory.getLogger(LicenseCache.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path directory;
+    private final Clock clock;
+    private final Map<String, CacheEntry> entries = new TreeMap<>();
+    private boolean modified;
+
+    private LicenseCache(Path directory, Clock clock) {
+        this.directory = directory;
+        this.clock = clock;
+    }
+
+    /**
+     * Open the cache in <code>directory</code>, which is created if it does not exist yet.
+     */
+    public static LicenseCache open(Path directory) throws IOException {
+        return open(directory, Clock.systemUTC());
+    }
+
+    static LicenseCache open(Path directory, Clock clock) throws IOException {
+        Files.createDirectories(directory);
+        LicenseCache cache = new LicenseCache(directory, clock);
+        cache.load();
+        return cache;
+    }
+
+    private void load() throws IOException {
+        Path index = directory.resolve(INDEX_FILE);
+        if (Files.isRegularFile(index)) {
+            try {
+                List<CacheEntry> indexEntries = objectMapper.readValue(Files.readAllBytes(index),
+                        objectMapper.getTypeFactory().constructCollectionType(List.class, CacheEntry.class));
+                indexEntries.forEach(entry -> entries.put(entry.file(), entry));
+            } catch (IOException e) {
+                log.warn("Could not read cache index {}, rebuilding it: {}", index, e.getMessage());
+                modified = true;
+            }
+        }
+        List<String> files = listFiles();
+        modified |= entries.keySet().retainAll(files);
+        for (String file : files) {
+            if (!entries.containsKey(file)) {
+                entries.put(file, createEntry(file, Files.getLastModifiedTime(directory.resolve(file)).toMillis()));
+                modified = true;
+            }
+        }
+    }
+
+    private List<String> listFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .map(file -> file.getFileName().toString())
+                    .filter(name -> !name.startsWith("."))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private CacheEntry createEntry(String file, long lastAccess) throws IOException {
+        byte[] content = Files.readAllBytes(directory.resolve(file));
+        return new CacheEntry(file, content.length, checksum(content), lastAccess);
+    }
+
+    private static String checksum(byte[] content) {
+        return Hashing.sha256().hashBytes(content).toString();
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Find the file of <code>license</code>, i.e. the file whose name without extension equals the license name ignoring case, and record the access.
+     */
+    public synchronized Optional<Path> find(String license) {
+        Optional<CacheEntry> entry = entries.values().stream()
+                .filter(candidate -> getNameWithoutExtension(candidate.file()).equalsIgnoreCase(license))
+                .findFirst();
+        entry.ifPresent(found -> touch(found.file()));
+        return entry.map(found -> directory.resolve(found.file()));
+    }
+
+    /**
+     * Add or replace a file.
+     *
+     * @return path of the cached file
+     */
+    public synchronized Path put(String file, byte[] content) throws IOException {
+        Path path = directory.resolve(file);
+        FileMaterializer.write(path, content);
+        entries.put(file, new CacheEntry(file, content.length, checksum(content), clock.millis()));
+        modified = true;
+        return path;
+    }
+
+    /**
+     * Record the access to a file.
+     */
+    public synchronized void touch(String file) {
+        CacheEntry entry = entries.get(file);
+        if (entry != null) {
+            entries.put(file, entry.withLastAccess(clock.millis()));
+            modified = true;
+        }
+    }
+
+    /**
+     * Update size and checksum of a file that has been written to the cache directory by other means, and record the access.
+     */
+    public synchronized void refresh(String file) throws IOException {
+        if (Files.isRegularFile(directory.resolve(file))) {
+            entries.put(file, createEntry(file, clock.millis()));
+            modified = true;
+        }
+    }
+
+    public synchronized CacheStats stats() {
+        long bytes = entries.values().stream().mapToLong(CacheEntry::size).sum();
+        Optional<Instant> oldest = entries.values().stream().map(CacheEntry::lastAccess).min(Long::compare).map(Instant::ofEpochMilli);
+        Optional<Instant> newest = entries.values().stream().map(CacheEntry::lastAccess).max(Long::compare).map(Instant::ofEpochMilli);
+        return new CacheStats(entries.size(), bytes, oldest.orElse(null), newest.orElse(null));
+    }
+
+    /**
+     * Remove files that have not been accessed within the maximum age of <code>limits</code>, then remove the least recently used files until the cache
+     * does not exceed the maximum size.
+     *
+     * @return names of the removed files
+     */
+    public synchronized List<String> prune(CacheLimits limits) throws IOException {
+        long expiredBefore = clock.millis() - limits.maxAge().toMillis();
+        List<CacheEntry> byAccess = new ArrayList<>(entries.values());
+        byAccess.sort(Comparator.comparingLong(CacheEntry::lastAccess).thenComparing(CacheEntry::file));
+        long bytes = byAccess.stream().mapToLong(CacheEntry::size).sum();
+
+        List<String> removed = new ArrayList<>();
+        for (CacheEntry entry : byAccess) {
+            if (entry.lastAccess() >= expiredBefore && bytes <= limits.maxBytes()) {
+                break;
+            }
+            remove(entry.file());
+            bytes -= entry.size();
+            removed.add(entry.file());
+        }
+        return removed;
+    }
+
+    /**
+     * Compare the checksums of all files with the index.
+     *
+     * @param removeCorrupted Remove files whose content does not match their checksum
+     * @return names of corrupted files
+     */
+    public synchronized List<String> verify(boolean removeCorrupted) throws IOException {
+        List<String> corrupted = new ArrayList<>();
+        for (CacheEntry entry : new ArrayList<>(entries.values())) {
+            Path path = directory.resolve(entry.file());
+            if (!Files.isRegularFile(path) || !checksum(Files.readAllBytes(path)).equals(entry.sha256())) {
+                corrupted.add(entry.file());
+                if (removeCorrupted) {
+                    remove(entry.file());
+                }
+            }
+        }
+        return corrupted;
+    }
+
+    private void remove(String file) throws IOException {
+        Files.deleteIfExists(directory.resolve(file));
+        entries.remove(file);
+        modified = true;
+    }
+
+    /**
+     * Write the index, if it has been modified.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!modified) {
+            return;
+        }
+        Path index = directory.resolve(INDEX_FILE);
+        Path temporaryIndex = Files.createTempFile(directory, INDEX_FILE, ".tmp");
+        try {
+            Files.write(temporaryIndex, objectMapper.writeValueAsBytes(new ArrayList<>(entries.values())));
+            Files.move(temporaryIndex, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+        } finally {
+            Files.deleteIfExists(temporaryIndex);
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.comply;
+
+import java.util.List;
+
+import de.medavis.lct.core.analysis.AnalysisReport;
+import de.medavis.lct.core.list.ComponentData;
+
+public final class ComplianceResult {
+
+    private final List<ComponentData> components;
+    private final List<AnalysisReport> reports;
+    private final boolean licensesComplete;
+
+    public ComplianceResult(List<ComponentData> components, List<AnalysisReport> reports, boolean licensesComplete) {
+        this.components = components;
+        this.reports = reports;
+        this.licensesComplete = licensesComplete;
+    }
+
+    public List<ComponentData> getComponents() {
+        return components;
+    }
+
+    /**
+     * @return one report per requested analysis mode, in declaration order of the modes
+     */
+    public List<AnalysisReport> getReports() {
+        return reports;
+    }
+
+    /**
+     * @return whether all licenses have been saved; <code>true</code> if no licenses were requested
+     */
+    public boolean isLicensesComplete() {
+        return licensesComplete;
+    }
+
+}
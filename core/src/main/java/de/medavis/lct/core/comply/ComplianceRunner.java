@@ -0,0 +1,87 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.comply;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+
+import de.medavis.lct.core.UserLogger;
+import de.medavis.lct.core.analysis.AnalysisReport;
+import de.medavis.lct.core.analysis.ComponentAnalyzer;
+import de.medavis.lct.core.downloader.LicensesDownloader;
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.execution.TimeBudget;
+import de.medavis.lct.core.list.ComponentData;
+import de.medavis.lct.core.list.ComponentIndex;
+import de.medavis.lct.core.list.ComponentLister;
+import de.medavis.lct.core.outputter.FreemarkerOutputter;
+import de.medavis.lct.core.outputter.FreemarkerOutputter.Output;
+
+/**
+ * Produces manifests, license files and analysis reports from a single pass over a BOM and the configuration, instead of listing the components once per
+ * output.
+ */
+public class ComplianceRunner {
+
+    private final ComponentLister componentLister;
+    private final FreemarkerOutputter outputter;
+    private final LicensesDownloader licensesDownloader;
+    private final ComponentAnalyzer componentAnalyzer;
+    private final ExecutionContext executionContext;
+
+    public ComplianceRunner(ComponentLister componentLister, FreemarkerOutputter outputter, LicensesDownloader licensesDownloader,
+            ComponentAnalyzer componentAnalyzer, ExecutionContext executionContext) {
+        this.componentLister = componentLister;
+        this.outputter = outputter;
+        this.licensesDownloader = licensesDownloader;
+        this.componentAnalyzer = componentAnalyzer;
+        this.executionContext = executionContext;
+    }
+
+    /**
+     * Licenses are downloaded before the manifests are opened and rendered, so that a dynamic license fails the run before any manifest is written.
+     *
+     * @param timeBudget Shared by the listing and the downloads
+     */
+    public ComplianceResult run(UserLogger userLogger, InputStream bomStream, ComplianceTasks tasks, TimeBudget timeBudget) throws IOException {
+        final List<ComponentData> components;
+        List<AnalysisReport> reports = Collections.emptyList();
+        if (tasks.getAnalysisModes().isEmpty()) {
+            components = componentLister.listComponents(bomStream, timeBudget);
+        } else {
+            // Analyses need an entry per BOM component, which is only kept when it is needed
+            ComponentIndex index = componentLister.indexComponents(bomStream, timeBudget);
+            components = index.getComponents();
+            reports = componentAnalyzer.analyze(tasks.getAnalysisModes(), index);
+        }
+        boolean licensesComplete = true;
+        if (tasks.getLicenseFileHandler() != null) {
+            licensesComplete = licensesDownloader.download(userLogger, components, tasks.getLicenseFileHandler(), tasks.isFailOnDynamicLicense(), timeBudget);
+        }
+        List<Output> manifests = tasks.openManifests();
+        if (!manifests.isEmpty()) {
+            outputter.outputAll(components, manifests, executionContext);
+        }
+        return new ComplianceResult(components, reports, licensesComplete);
+    }
+
+}
@@ -0,0 +1,98 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.comply;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import de.medavis.lct.core.analysis.AnalysisMode;
+import de.medavis.lct.core.downloader.LicenseFileHandler;
+import de.medavis.lct.core.outputter.FreemarkerOutputter.Output;
+
+/**
+ * What a {@link ComplianceRunner} produces from the components of a BOM.
+ */
+public final class ComplianceTasks {
+
+    private final Manifests manifests;
+    private final LicenseFileHandler licenseFileHandler;
+    private final boolean failOnDynamicLicense;
+    private final Set<AnalysisMode> analysisModes;
+
+    /**
+     * @param manifests            Manifests to render, may be empty
+     * @param licenseFileHandler   Receives the license files, <code>null</code> if no licenses are to be downloaded
+     * @param failOnDynamicLicense Fail before any manifest is rendered if a license is not part of the license configuration
+     * @param analysisModes        Analyses to run, may be empty
+     */
+    public ComplianceTasks(List<Output> manifests, LicenseFileHandler licenseFileHandler, boolean failOnDynamicLicense, Set<AnalysisMode> analysisModes) {
+        this(Manifests.of(manifests), licenseFileHandler, failOnDynamicLicense, analysisModes);
+    }
+
+    /**
+     * @param manifests Opened only once the components have been listed and the licenses downloaded, see {@link Manifests}
+     */
+    public ComplianceTasks(Manifests manifests, LicenseFileHandler licenseFileHandler, boolean failOnDynamicLicense, Set<AnalysisMode> analysisModes) {
+        this.manifests = manifests;
+        this.licenseFileHandler = licenseFileHandler;
+        this.failOnDynamicLicense = failOnDynamicLicense;
+        this.analysisModes = Set.copyOf(analysisModes);
+    }
+
+    /**
+     * @return the manifests to render, which are opened by this call
+     */
+    public List<Output> openManifests() throws IOException {
+        return manifests.open();
+    }
+
+    public LicenseFileHandler getLicenseFileHandler() {
+        return licenseFileHandler;
+    }
+
+    public boolean isFailOnDynamicLicense() {
+        return failOnDynamicLicense;
+    }
+
+    public Set<AnalysisMode> getAnalysisModes() {
+        return analysisModes;
+    }
+
+    /**
+     * Opens the manifests to render. Opening a manifest file usually truncates it, so this is deferred until the run cannot fail anymore before rendering,
+     * which leaves existing manifest files untouched if e.g. a dynamic license fails the run. The caller has to close the writers.
+     */
+    @FunctionalInterface
+    public interface Manifests {
+
+        List<Output> open() throws IOException;
+
+        /**
+         * @return manifests whose writers have already been opened
+         */
+        static Manifests of(List<Output> manifests) {
+            List<Output> copy = List.copyOf(manifests);
+            return () -> copy;
+        }
+
+    }
+
+}
@@ -0,0 +1,71 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.downloader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Places cached files in output folders without copying their content where possible. Since hardlinked files share their content, files are never
+ * written in place: {@link #write(Path, byte[])} replaces a file instead, so that writing to an output file cannot change the cache and vice versa.
+ */
+public final class FileMaterializer {
+
+    private static final Logger log = LoggerFactory.getLogger(FileMaterializer.class);
+
+    private FileMaterializer() {
+    }
+
+    /**
+     * Make <code>source</code> available as <code>target</code> through a hardlink, or a copy if the file system does not support hardlinks or the files
+     * are on different file systems. An existing <code>target</code> is replaced.
+     */
+    public static void linkOrCopy(Path source, Path target) throws IOException {
+        createParentDirectories(target);
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, source);
+        } catch (IOException | UnsupportedOperationException e) {
+            log.debug("Could not link {} to {}, copying it instead: {}", target, source, e.getMessage());
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Write <code>content</code> to a new file <code>target</code>, replacing an existing file instead of overwriting its content.
+     */
+    public static void write(Path target, byte[] content) throws IOException {
+        createParentDirectories(target);
+        Files.deleteIfExists(target);
+        Files.write(target, content);
+    }
+
+    private static void createParentDirectories(Path target) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+
+}
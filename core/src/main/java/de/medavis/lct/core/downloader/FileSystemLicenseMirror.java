@@ -0,0 +1,178 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.downloader;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * {@link LicenseMirror} stored in a directory or a ZIP archive. The file <code>index.json</code> maps license names and URLs to the files containing the
+ * license texts. Licenses missing from the index are also found by files named like the license, optionally with extension <code>.txt</code> or
+ * <code>.html</code>.
+ */
+public final class FileSystemLicenseMirror implements LicenseMirror, Closeable {
+
+    static final String INDEX_FILE = "index.json";
+    private static final List<String> FALLBACK_EXTENSIONS = List.of("", ".txt", ".html");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final FileSystem zipFileSystem;
+    private final Path root;
+    private final boolean writable;
+    private final Map<String, LicenseMirrorEntry> entriesByName = new ConcurrentHashMap<>();
+    private final Map<String, LicenseMirrorEntry> entriesByUrl = new ConcurrentHashMap<>();
+    private final Set<String> files = ConcurrentHashMap.newKeySet();
+
+    private FileSystemLicenseMirror(FileSystem zipFileSystem, Path root, boolean writable) throws IOException {
+        this.zipFileSystem = zipFileSystem;
+        this.root = root;
+        this.writable = writable;
+        Path index = root.resolve(INDEX_FILE);
+        if (Files.isRegularFile(index)) {
+            List<LicenseMirrorEntry> entries = objectMapper.readValue(Files.readAllBytes(index),
+                    objectMapper.getTypeFactory().constructCollectionType(List.class, LicenseMirrorEntry.class));
+            entries.forEach(this::register);
+        }
+    }
+
+    /**
+     * Open an existing mirror for reading.
+     *
+     * @param location directory or ZIP archive
+     */
+    public static FileSystemLicenseMirror open(Path location) throws IOException {
+        if (Files.isDirectory(location)) {
+            return new FileSystemLicenseMirror(null, location, false);
+        } else if (Files.isRegularFile(location)) {
+            FileSystem zipFileSystem = FileSystems.newFileSystem(location, (ClassLoader) null);
+            return new FileSystemLicenseMirror(zipFileSystem, zipFileSystem.getPath("/"), false);
+        }
+        throw new IllegalArgumentException("License mirror " + location + " does not exist.");
+    }
+
+    /**
+     * Open a mirror for adding licenses. It is created if it does not exist yet. The index is written when the mirror is closed.
+     *
+     * @param location directory or, if the file name ends with <code>.zip</code>, ZIP archive
+     */
+    public static FileSystemLicenseMirror create(Path location) throws IOException {
+        if (location.getFileName().toString().toLowerCase().endsWith(".zip")) {
+            if (location.getParent() != null) {
+                Files.createDirectories(location.getParent());
+            }
+            URI zipUri = URI.create("jar:" + location.toAbsolutePath().toUri());
+            FileSystem zipFileSystem = FileSystems.newFileSystem(zipUri, Map.of("create", "true"));
+            return new FileSystemLicenseMirror(zipFileSystem, zipFileSystem.getPath("/"), true);
+        }
+        Files.createDirectories(location);
+        return new FileSystemLicenseMirror(null, location, true);
+    }
+
+    @Override
+    public Optional<MirroredLicense> find(String license, String url) throws IOException {
+        LicenseMirrorEntry entry = entriesByName.get(license);
+        if (entry == null && url != null) {
+            entry = entriesByUrl.get(url);
+        }
+        if (entry != null) {
+            return Optional.of(new MirroredLicense(entry.getExtension(), Files.readAllBytes(root.resolve(entry.getFile()))));
+        }
+        for (String extension : FALLBACK_EXTENSIONS) {
+            Path file = root.resolve(toFileName(license) + extension);
+            if (Files.isRegularFile(file)) {
+                return Optional.of(new MirroredLicense(extension, Files.readAllBytes(file)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Add or replace the text of a license. License names that map to the same file name, e.g. "GPL 2.0" and "GPL_2.0", get a numeric suffix.
+     *
+     * @param urls URLs the license text can be downloaded from
+     */
+    public synchronized void put(String license, String extension, byte[] content, Collection<String> urls) throws IOException {
+        if (!writable) {
+            throw new IllegalStateException("License mirror " + root + " has been opened for reading only.");
+        }
+        LicenseMirrorEntry previous = entriesByName.get(license);
+        if (previous != null) {
+            files.remove(previous.getFile());
+            previous.getUrls().forEach(url -> entriesByUrl.remove(url, previous));
+        }
+        String baseName = toFileName(license);
+        String file = baseName + extension;
+        for (int suffix = 2; files.contains(file); suffix++) {
+            file = baseName + "_" + suffix + extension;
+        }
+        Files.write(root.resolve(file), content);
+        if (previous != null && !previous.getFile().equals(file)) {
+            Files.deleteIfExists(root.resolve(previous.getFile()));
+        }
+        register(new LicenseMirrorEntry(license, file, extension, urls.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList())));
+    }
+
+    public int size() {
+        return entriesByName.size();
+    }
+
+    private void register(LicenseMirrorEntry entry) {
+        entriesByName.put(entry.getName(), entry);
+        entry.getUrls().forEach(url -> entriesByUrl.put(url, entry));
+        files.add(entry.getFile());
+    }
+
+    static String toFileName(String license) {
+        return license.replaceAll("[^A-Za-z0-9._+-]", "_");
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (writable) {
+                List<LicenseMirrorEntry> entries = new ArrayList<>(entriesByName.values());
+                entries.sort(Comparator.comparing(LicenseMirrorEntry::getName));
+                Files.write(root.resolve(INDEX_FILE), objectMapper.writeValueAsBytes(entries));
+            }
+        } finally {
+            if (zipFileSystem != null) {
+                zipFileSystem.close();
+            }
+        }
+    }
+
+}
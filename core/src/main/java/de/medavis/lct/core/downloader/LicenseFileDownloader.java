@@ -21,45 +21,124 @@ package de.medavis.lct.core.downloader;
 
 import com.google.common.io.ByteStreams;
 import java.io.IOException;
-import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.nio.charset.UnsupportedCharsetException;
-import org.apache.http.Header;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import org.apache.http.ParseException;
-import org.apache.http.client.HttpClient;
-import org.apache.http.client.methods.HttpGet;
 import org.apache.http.entity.ContentType;
-import org.apache.http.impl.client.HttpClients;
 
 import static org.apache.http.entity.ContentType.TEXT_HTML;
 import static org.apache.http.entity.ContentType.TEXT_PLAIN;
 
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.http.HttpTransportResponse;
+import de.medavis.lct.core.http.JavaHttpTransport;
+import de.medavis.lct.core.spdx.SpdxLicensePack;
+
 public class LicenseFileDownloader {
 
-    private final transient HttpClient httpclient = HttpClients.createDefault();
+    private final transient HttpTransport httpTransport;
+    private final transient LicenseMirror licenseMirror;
+    private final transient SpdxLicensePack spdxLicensePack;
+
+    public LicenseFileDownloader() {
+        this(JavaHttpTransport.shared());
+    }
 
+    public LicenseFileDownloader(HttpTransport httpTransport) {
+        this(httpTransport, LicenseMirror.none());
+    }
+
+    /**
+     * Uses the bundled SPDX license pack, if available.
+     *
+     * @param licenseMirror Consulted before a license is downloaded.
+     */
+    public LicenseFileDownloader(HttpTransport httpTransport, LicenseMirror licenseMirror) {
+        this(httpTransport, licenseMirror, SpdxLicensePack.bundled().orElse(null));
+    }
+
+    /**
+     * @param spdxLicensePack Consulted after <code>licenseMirror</code> and before a license is downloaded. May be <code>null</code>.
+     */
+    public LicenseFileDownloader(HttpTransport httpTransport, LicenseMirror licenseMirror, SpdxLicensePack spdxLicensePack) {
+        this.httpTransport = httpTransport;
+        this.licenseMirror = licenseMirror;
+        this.spdxLicensePack = spdxLicensePack;
+    }
 
     Result downloadToFile(String url, String license, LicenseFileHandler licenseFileHandler) throws IOException {
-        if (!licenseFileHandler.isCached(license)) {
-            httpclient.execute(new HttpGet(url), response -> {
-                final int statusCode = response.getStatusLine().getStatusCode();
-                if (statusCode < 200 || statusCode >= 300) {
-                    throw new IOException("Download not successful: Status " + statusCode);
-                }
-
-                String extension = determineExtension(response.getEntity().getContentType());
-                try (final InputStream input = response.getEntity().getContent()) {
-                    licenseFileHandler.save(license, extension, ByteStreams.toByteArray(input));
-                }
-                return null;
-            });
-            return Result.DOWNLOADED;
-        } else {
+        return downloadToFiles(url, List.of(license), licenseFileHandler).get(license);
+    }
+
+    /**
+     * Save the license text from <code>url</code> under the name of each of <code>licenses</code>. Licenses which are neither cached nor found in the mirror
+     * or the SPDX license pack share a single download.
+     *
+     * @return how each license has been obtained, in the order of <code>licenses</code>
+     */
+    Map<String, Result> downloadToFiles(String url, List<String> licenses, LicenseFileHandler licenseFileHandler) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        List<String> toDownload = new ArrayList<>();
+        for (String license : licenses) {
+            Optional<Result> result = saveWithoutDownload(url, license, licenseFileHandler);
+            if (result.isPresent()) {
+                results.put(license, result.get());
+            } else {
+                toDownload.add(license);
+                results.put(license, Result.DOWNLOADED);
+            }
+        }
+        if (toDownload.isEmpty()) {
+            return results;
+        }
+
+        try (HttpTransportResponse response = httpTransport.get(toUri(url))) {
+            if (!response.isSuccessful()) {
+                throw new IOException("Download not successful: Status " + response.statusCode());
+            }
+
+            String extension = determineExtension(response.contentType().orElse(null));
+            byte[] content = ByteStreams.toByteArray(response.body());
+            for (String license : toDownload) {
+                licenseFileHandler.save(license, extension, content);
+            }
+        }
+        return results;
+    }
+
+    private Optional<Result> saveWithoutDownload(String url, String license, LicenseFileHandler licenseFileHandler) throws IOException {
+        if (licenseFileHandler.isCached(license)) {
             licenseFileHandler.copyFromCache(license);
-            return Result.FROM_CACHE;
+            return Optional.of(Result.FROM_CACHE);
+        }
+        Optional<MirroredLicense> mirrored = licenseMirror.find(license, url);
+        if (mirrored.isPresent()) {
+            licenseFileHandler.save(license, mirrored.get().extension(), mirrored.get().content());
+            return Optional.of(Result.FROM_MIRROR);
+        }
+        Optional<MirroredLicense> spdxLicense = spdxLicensePack != null ? spdxLicensePack.find(license, url) : Optional.empty();
+        if (spdxLicense.isPresent()) {
+            licenseFileHandler.save(license, spdxLicense.get().extension(), spdxLicense.get().content());
+            return Optional.of(Result.FROM_SPDX_PACK);
+        }
+        return Optional.empty();
+    }
+
+    private URI toUri(String url) throws IOException {
+        try {
+            return new URI(url);
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid URL " + url, e);
         }
     }
 
-    private String determineExtension(Header contentTypeHeader) {
+    private String determineExtension(String contentTypeHeader) {
         String result = "";
         if (contentTypeHeader != null) {
             String contentType = parseContentType(contentTypeHeader);
@@ -72,9 +151,9 @@ public class LicenseFileDownloader {
         return result;
     }
 
-    private String parseContentType(Header contentTypeHeader) {
+    private String parseContentType(String contentTypeHeader) {
         try {
-            return ContentType.parse(contentTypeHeader.getValue()).getMimeType();
+            return ContentType.parse(contentTypeHeader).getMimeType();
         } catch (ParseException | UnsupportedCharsetException e) {
             // Ignore error and assume unknown content type
             return null;
@@ -83,7 +162,9 @@ public class LicenseFileDownloader {
 
     enum Result {
         DOWNLOADED,
-        FROM_CACHE
+        FROM_CACHE,
+        FROM_MIRROR,
+        FROM_SPDX_PACK
     }
 
 }
@@ -20,6 +20,9 @@
 package de.medavis.lct.core.downloader;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 public interface LicenseFileHandler {
 
@@ -28,4 +31,29 @@ public interface LicenseFileHandler {
     void save(String license, String extension, byte[] content) throws IOException;
 
     void copyFromCache(String license) throws IOException;
+
+    /**
+     * Bulk variant of {@link #isCached(String)}. Handlers whose cache is expensive to access, e.g. on a remote machine, should override it to scan the
+     * cache only once.
+     *
+     * @return the cached ones of <code>licenses</code>
+     */
+    default Set<String> findCached(Collection<String> licenses) throws IOException {
+        Set<String> result = new LinkedHashSet<>();
+        for (String license : licenses) {
+            if (isCached(license)) {
+                result.add(license);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Bulk variant of {@link #copyFromCache(String)}. Handlers whose cache is expensive to access should override it to copy all files at once.
+     */
+    default void copyFromCache(Collection<String> licenses) throws IOException {
+        for (String license : licenses) {
+            copyFromCache(license);
+        }
+    }
 }
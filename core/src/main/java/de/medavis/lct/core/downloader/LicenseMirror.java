@@ -0,0 +1,39 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.downloader;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Local source of license texts which is consulted before downloading a license.
+ */
+public interface LicenseMirror {
+
+    /**
+     * Find the text of a license by its name or, if there is no text for that name, by the URL it would be downloaded from.
+     */
+    Optional<MirroredLicense> find(String license, String url) throws IOException;
+
+    static LicenseMirror none() {
+        return (license, url) -> Optional.empty();
+    }
+
+}
@@ -0,0 +1,96 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.downloader;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Entry of the index of a {@link FileSystemLicenseMirror}.
+ */
+final class LicenseMirrorEntry {
+
+    private final String name;
+    private final String file;
+    private final String extension;
+    private final List<String> urls;
+
+    @JsonCreator
+    LicenseMirrorEntry(
+            @JsonProperty("name") String name,
+            @JsonProperty("file") String file,
+            @JsonProperty("extension") String extension,
+            @JsonProperty("urls") List<String> urls) {
+        this.name = name;
+        this.file = file;
+        this.extension = extension != null ? extension : "";
+        this.urls = urls != null ? List.copyOf(urls) : List.of();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LicenseMirrorEntry that = (LicenseMirrorEntry) o;
+        return Objects.equals(name, that.name)
+               && Objects.equals(file, that.file)
+               && Objects.equals(extension, that.extension)
+               && Objects.equals(urls, that.urls);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, file, extension, urls);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", LicenseMirrorEntry.class.getSimpleName() + "[", "]")
+                .add("name='" + name + "'")
+                .add("file='" + file + "'")
+                .add("extension='" + extension + "'")
+                .add("urls=" + urls)
+                .toString();
+    }
+
+}
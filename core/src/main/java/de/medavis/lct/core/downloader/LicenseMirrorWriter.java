@@ -0,0 +1,107 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.downloader;
+
+import com.google.common.base.Strings;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.google.common.base.MoreObjects.firstNonNull;
+
+import de.medavis.lct.core.UserLogger;
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.license.License;
+
+/**
+ * Downloads license texts into a {@link FileSystemLicenseMirror}, so that later downloads do not need network access.
+ */
+public class LicenseMirrorWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(LicenseMirrorWriter.class);
+
+    private final LicenseFileDownloader fileDownloader;
+    private final ExecutionContext executionContext;
+
+    public LicenseMirrorWriter(HttpTransport httpTransport, ExecutionContext executionContext) {
+        this.fileDownloader = new LicenseFileDownloader(httpTransport);
+        this.executionContext = executionContext;
+    }
+
+    /**
+     * Download all <code>licenses</code> with URL into the mirror at <code>location</code>. Licenses that are already mirrored are replaced.
+     *
+     * @param location directory or ZIP archive, see {@link FileSystemLicenseMirror#create(Path)}
+     * @return number of licenses that could not be downloaded
+     */
+    public int write(UserLogger userLogger, Collection<License> licenses, Path location) throws IOException {
+        List<License> downloadableLicenses = licenses.stream()
+                .filter(license -> !Strings.isNullOrEmpty(license.getDownloadUrl()) || !Strings.isNullOrEmpty(license.getUrl()))
+                .collect(Collectors.toList());
+        userLogger.info("Will mirror %d licenses to %s.%n", downloadableLicenses.size(), location);
+
+        AtomicInteger finished = new AtomicInteger();
+        try (FileSystemLicenseMirror mirror = FileSystemLicenseMirror.create(location)) {
+            List<Boolean> successful = executionContext.map(downloadableLicenses,
+                    license -> mirrorLicense(license, mirror, userLogger, finished, downloadableLicenses.size()));
+            return (int) successful.stream().filter(success -> !success).count();
+        }
+    }
+
+    private boolean mirrorLicense(License license, FileSystemLicenseMirror mirror, UserLogger userLogger, AtomicInteger finished, int size) {
+        String source = firstNonNull(license.getDownloadUrl(), license.getUrl());
+        List<String> urls = Stream.of(license.getDownloadUrl(), license.getUrl())
+                .filter(url -> !Strings.isNullOrEmpty(url))
+                .collect(Collectors.toList());
+        try {
+            fileDownloader.downloadToFile(source, license.getName(), new LicenseFileHandler() {
+                @Override
+                public boolean isCached(String name) {
+                    return false;
+                }
+
+                @Override
+                public void save(String name, String extension, byte[] content) throws IOException {
+                    mirror.put(name, extension, content, urls);
+                }
+
+                @Override
+                public void copyFromCache(String name) {
+                    // Never cached
+                }
+            });
+            userLogger.info("(%d/%d) Mirroring license %s from %s... Done.%n", finished.incrementAndGet(), size, license.getName(), source);
+            return true;
+        } catch (IOException e) {
+            log.error(String.format("Could not mirror license file %s from %s.", license.getName(), source), e);
+            userLogger.error("(%d/%d) Mirroring license %s from %s... %s - %s.%n", finished.incrementAndGet(), size, license.getName(), source, e.getClass(),
+                    e.getMessage());
+            return false;
+        }
+    }
+
+}
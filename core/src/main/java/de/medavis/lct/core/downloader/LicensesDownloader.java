@@ -22,11 +22,18 @@ package de.medavis.lct.core.downloader;
 import com.google.common.base.Strings;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +42,10 @@ import static com.google.common.base.MoreObjects.firstNonNull;
 
 import de.medavis.lct.core.UserLogger;
 import de.medavis.lct.core.downloader.LicenseFileDownloader.Result;
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.execution.TimeBudget;
+import de.medavis.lct.core.execution.TimeBudget.Work;
+import de.medavis.lct.core.http.HostUnavailableException;
 import de.medavis.lct.core.license.License;
 import de.medavis.lct.core.list.ComponentData;
 import de.medavis.lct.core.list.ComponentLister;
@@ -45,14 +56,45 @@ public class LicensesDownloader {
 
     private final ComponentLister componentLister;
     private final LicenseFileDownloader fileDownloader;
+    private final ExecutionContext executionContext;
 
     public LicensesDownloader(ComponentLister componentLister, LicenseFileDownloader fileDownloader) {
+        this(componentLister, fileDownloader, ExecutionContext.sequential());
+    }
+
+    /**
+     * @param executionContext Used to download several licenses concurrently. <code>LicenseFileHandler</code>s passed to this downloader must then be
+     *                         thread-safe.
+     */
+    public LicensesDownloader(ComponentLister componentLister, LicenseFileDownloader fileDownloader, ExecutionContext executionContext) {
         this.componentLister = componentLister;
         this.fileDownloader = fileDownloader;
+        this.executionContext = executionContext;
+    }
+
+    /**
+     * @return whether all licenses have been saved
+     */
+    public boolean download(UserLogger userLogger, InputStream inputStream, LicenseFileHandler licenseFileHandler, boolean failOnDynamicLicense) {
+        return download(userLogger, inputStream, licenseFileHandler, failOnDynamicLicense, TimeBudget.unlimited());
     }
 
-    public void download(UserLogger userLogger, InputStream inputStream, LicenseFileHandler licenseFileHandler, boolean failOnDynamicLicense) {
-        final List<ComponentData> components = componentLister.listComponents(inputStream);
+    /**
+     * @param timeBudget Downloads that would start after the budget is exhausted are skipped and recorded in the budget.
+     * @return whether all licenses have been saved, i.e. no download has failed or has been skipped
+     */
+    public boolean download(UserLogger userLogger, InputStream inputStream, LicenseFileHandler licenseFileHandler, boolean failOnDynamicLicense,
+            TimeBudget timeBudget) {
+        return download(userLogger, componentLister.listComponents(inputStream, timeBudget), licenseFileHandler, failOnDynamicLicense, timeBudget);
+    }
+
+    /**
+     * Download the licenses of components which have already been listed, e.g. for other outputs of the same BOM.
+     *
+     * @return whether all licenses have been saved, i.e. no download has failed or has been skipped
+     */
+    public boolean download(UserLogger userLogger, List<ComponentData> components, LicenseFileHandler licenseFileHandler, boolean failOnDynamicLicense,
+            TimeBudget timeBudget) {
         Set<License> licenses = components.stream()
                 .map(ComponentData::getLicenses)
                 .flatMap(Set::stream)
@@ -70,26 +112,113 @@ public class LicensesDownloader {
 
         Map<String, String> downloadUrls = licenses.stream()
                 .filter(license -> !Strings.isNullOrEmpty(license.getDownloadUrl()) || !Strings.isNullOrEmpty(license.getUrl()))
-                .collect(Collectors.toMap(License::getName, license -> firstNonNull(license.getDownloadUrl(), license.getUrl())));
+                .collect(Collectors.toMap(License::getName, license -> firstNonNull(license.getDownloadUrl(), license.getUrl()), (first, second) -> first,
+                        LinkedHashMap::new));
         userLogger.info("Will download %d licenses.%n", downloadUrls.size());
 
-        int index = 1;
-        for (Entry<String, String> entry : downloadUrls.entrySet()) {
-            String name = entry.getKey();
-            String url = entry.getValue();
-            downloadLicense(name, url, userLogger, licenseFileHandler, index, downloadUrls.size());
-            index++;
+        AtomicInteger finished = new AtomicInteger();
+        Set<String> cached = copyFromCache(downloadUrls, userLogger, licenseFileHandler, finished);
+
+        // Aliases often point to the same text, so each URL is only fetched once and saved under all of its license names
+        Map<String, List<String>> licensesByUrl = downloadUrls.entrySet().stream()
+                .filter(entry -> !cached.contains(entry.getKey()))
+                .collect(Collectors.groupingBy(Entry::getValue, LinkedHashMap::new, Collectors.mapping(Entry::getKey, Collectors.toList())));
+
+        Map<String, IOException> failures = new ConcurrentHashMap<>();
+        executionContext.map(licensesByUrl.entrySet(), entry -> {
+            if (timeBudget.isExhausted()) {
+                for (String licenseName : entry.getValue()) {
+                    timeBudget.cutShort(Work.DOWNLOAD, licenseName);
+                    userLogger.info("(%d/%d) Skipped license %s, time budget is exhausted.%n", finished.incrementAndGet(), downloadUrls.size(), licenseName);
+                }
+                return null;
+            }
+            downloadLicenses(entry.getValue(), entry.getKey(), userLogger, licenseFileHandler, finished, downloadUrls.size())
+                    .ifPresent(failure -> entry.getValue().forEach(licenseName -> failures.put(licenseName, failure)));
+            return null;
+        });
+        reportFailures(userLogger, downloadUrls, failures);
+        return failures.isEmpty() && !timeBudget.isCutShort();
+    }
+
+    /**
+     * Copy all cached licenses in one bulk operation. If that fails, the licenses are handled one by one during download.
+     *
+     * @return names of the licenses that have been copied from the cache
+     */
+    private Set<String> copyFromCache(Map<String, String> downloadUrls, UserLogger userLogger, LicenseFileHandler licenseFileHandler,
+            AtomicInteger finished) {
+        try {
+            Set<String> cached = licenseFileHandler.findCached(downloadUrls.keySet());
+            licenseFileHandler.copyFromCache(cached);
+            for (String licenseName : cached) {
+                userLogger.info("(%d/%d) Downloading license %s from %s... %s.%n", finished.incrementAndGet(), downloadUrls.size(), licenseName,
+                        downloadUrls.get(licenseName), describe(Result.FROM_CACHE));
+            }
+            return cached;
+        } catch (IOException e) {
+            log.warn("Could not copy cached license files, copying them one by one.", e);
+            return Set.of();
         }
     }
 
-    private void downloadLicense(String licenseName, String source, UserLogger userLogger, LicenseFileHandler licenseFileHandler, int index, int size) {
+    /**
+     * Summarize failed downloads by host, so that a single unavailable host is reported once instead of being scattered over the log.
+     */
+    private void reportFailures(UserLogger userLogger, Map<String, String> downloadUrls, Map<String, IOException> failures) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        Map<String, List<String>> licensesByHost = failures.keySet().stream()
+                .sorted()
+                .collect(Collectors.groupingBy(license -> getHost(downloadUrls.get(license)), TreeMap::new, Collectors.toList()));
+        userLogger.error("Could not download %d of %d licenses:%n", failures.size(), downloadUrls.size());
+        licensesByHost.forEach((host, hostLicenses) -> {
+            boolean skipped = hostLicenses.stream().anyMatch(license -> failures.get(license) instanceof HostUnavailableException);
+            userLogger.error("  %s%s: %s%n", host, skipped ? " (requests skipped after repeated failures)" : "", String.join(", ", hostLicenses));
+        });
+    }
+
+    private static String getHost(String url) {
         try {
-            userLogger.info("(%d/%d) Downloading license %s from %s... ", index, size, licenseName, source);
-            var result = fileDownloader.downloadToFile(source, licenseName, licenseFileHandler);
-            userLogger.info("%s.%n", result == Result.DOWNLOADED ? "Downloaded" : "Copied from cache");
+            String host = new URI(url).getHost();
+            return host != null ? host : url;
+        } catch (URISyntaxException e) {
+            return url;
+        }
+    }
+
+    private static String describe(Result result) {
+        if (result == Result.DOWNLOADED) {
+            return "Downloaded";
+        } else if (result == Result.FROM_MIRROR) {
+            return "Copied from mirror";
+        } else if (result == Result.FROM_SPDX_PACK) {
+            return "Taken from SPDX license pack";
+        }
+        return "Copied from cache";
+    }
+
+    private Optional<IOException> downloadLicenses(List<String> licenseNames, String source, UserLogger userLogger, LicenseFileHandler licenseFileHandler,
+            AtomicInteger finished, int size) {
+        try {
+            var results = fileDownloader.downloadToFiles(source, licenseNames, licenseFileHandler);
+            for (String licenseName : licenseNames) {
+                userLogger.info("(%d/%d) Downloading license %s from %s... %s.%n", finished.incrementAndGet(), size, licenseName, source,
+                        describe(results.get(licenseName)));
+            }
+            return Optional.empty();
         } catch (IOException e) {
-            log.error(String.format("Could not download license file %s from %s.", licenseName, source), e);
-            userLogger.error("%s - %s.%n", e.getClass(), e.getMessage());
+            if (e instanceof HostUnavailableException) {
+                log.debug("Skipped license files {} from {}: {}", licenseNames, source, e.getMessage());
+            } else {
+                log.error(String.format("Could not download license files %s from %s.", licenseNames, source), e);
+            }
+            for (String licenseName : licenseNames) {
+                userLogger.error("(%d/%d) Downloading license %s from %s... %s - %s.%n", finished.incrementAndGet(), size, licenseName, source, e.getClass(),
+                        e.getMessage());
+            }
+            return Optional.of(e);
         }
     }
 
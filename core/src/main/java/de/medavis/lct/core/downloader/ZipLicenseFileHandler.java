@@ -0,0 +1,91 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.downloader;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * {@link LicenseFileHandler} that streams all license files into a single ZIP archive instead of writing each file separately. When the handler is closed,
+ * the file <code>index.json</code> mapping license names to files is added, so that the archive can also be used as {@link FileSystemLicenseMirror}. License
+ * names that map to the same file name get a numeric suffix.
+ * <p>
+ * The handler has no cache of its own. To combine it with a cache, pass cached files to {@link #save(String, String, byte[])}.
+ */
+public final class ZipLicenseFileHandler implements LicenseFileHandler, Closeable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final ZipOutputStream zipOutputStream;
+    private final List<LicenseMirrorEntry> index = new ArrayList<>();
+    private final Set<String> files = new HashSet<>();
+
+    /**
+     * @param outputStream Receives the ZIP archive. It is closed when this handler is closed.
+     */
+    public ZipLicenseFileHandler(OutputStream outputStream) {
+        this.zipOutputStream = new ZipOutputStream(new BufferedOutputStream(outputStream));
+    }
+
+    @Override
+    public boolean isCached(String license) {
+        return false;
+    }
+
+    @Override
+    public synchronized void save(String license, String extension, byte[] content) throws IOException {
+        // Different license names may map to the same file name, e.g. "GPL 2.0" and "GPL_2.0", but entries of a ZIP archive must be unique
+        String baseName = FileSystemLicenseMirror.toFileName(license);
+        String file = baseName + extension;
+        for (int suffix = 2; !files.add(file); suffix++) {
+            file = baseName + "_" + suffix + extension;
+        }
+        zipOutputStream.putNextEntry(new ZipEntry(file));
+        zipOutputStream.write(content);
+        zipOutputStream.closeEntry();
+        index.add(new LicenseMirrorEntry(license, file, extension, List.of()));
+    }
+
+    @Override
+    public void copyFromCache(String license) {
+        // Never cached
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try (zipOutputStream) {
+            index.sort(Comparator.comparing(LicenseMirrorEntry::getName));
+            zipOutputStream.putNextEntry(new ZipEntry(FileSystemLicenseMirror.INDEX_FILE));
+            zipOutputStream.write(objectMapper.writeValueAsBytes(index));
+            zipOutputStream.closeEntry();
+        }
+    }
+
+}
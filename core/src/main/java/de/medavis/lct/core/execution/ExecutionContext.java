@@ -0,0 +1,229 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.execution;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the concurrent parts of LCT, e.g. URL checks, configuration fetches and downloads. The number of tasks that run at the same time is bounded by
+ * {@link #parallelism()}, so that LCT does not starve other work running in the same JVM.
+ * <p>
+ * A context that has been created with {@link #platformThreads(int)} or {@link #virtualThreads(int)} owns its threads and must be closed after use.
+ */
+public final class ExecutionContext implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionContext.class);
+    private static final String THREAD_NAME_PREFIX = "lct-worker-";
+    private static final String COORDINATOR_THREAD_NAME_PREFIX = "lct-coordinator-";
+    private static final AtomicInteger coordinatorCounter = new AtomicInteger();
+
+    private static final ExecutionContext SEQUENTIAL = new ExecutionContext(null, null, 1);
+
+    private final ExecutorService executorService;
+    private final Semaphore permits;
+    private final int parallelism;
+    private final ThreadLocal<Boolean> insideTask = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Run all tasks in the calling thread.
+     */
+    public static ExecutionContext sequential() {
+        return SEQUENTIAL;
+    }
+
+    /**
+     * Run tasks in a pool of <code>threads</code> platform threads.
+     */
+    public static ExecutionContext platformThreads(int threads) {
+        checkThreads(threads);
+        if (threads == 1) {
+            return SEQUENTIAL;
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                .setNameFormat(THREAD_NAME_PREFIX + "%d")
+                .setDaemon(true)
+                .build());
+        return new ExecutionContext(executorService, null, threads);
+    }
+
+    /**
+     * Run each task in its own virtual thread, with at most <code>threads</code> tasks running at the same time. Requires Java 21 or later, on older runtimes
+     * this falls back to {@link #platformThreads(int)}.
+     */
+    public static ExecutionContext virtualThreads(int threads) {
+        checkThreads(threads);
+        if (!VirtualThreads.isSupported()) {
+            log.debug("Virtual threads are not supported by this Java runtime, using platform threads instead.");
+            return platformThreads(threads);
+        }
+        return new ExecutionContext(VirtualThreads.newExecutor(THREAD_NAME_PREFIX), new Semaphore(threads), threads);
+    }
+
+    private static void checkThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be at least 1, but was " + threads);
+        }
+    }
+
+    private ExecutionContext(ExecutorService executorService, Semaphore permits, int parallelism) {
+        this.executorService = executorService;
+        this.permits = permits;
+        this.parallelism = parallelism;
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Apply <code>function</code> to all items concurrently and return the results in the order of the items. If the function fails for any item, the
+     * remaining tasks are cancelled and the exception is rethrown.
+     * <p>
+     * When called from a task of this context, the items are processed in the calling thread, so that nested calls cannot exhaust the thread pool.
+     */
+    public <T, R> List<R> map(Collection<? extends T> items, Function<? super T, ? extends R> function) {
+        if (executorService == null || items.size() < 2 || Boolean.TRUE.equals(insideTask.get())) {
+            return items.stream().map(function).collect(Collectors.toList());
+        }
+
+        List<Future<R>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(executorService.submit(() -> runTask(() -> function.apply(item))));
+        }
+        List<R> results = new ArrayList<>(items.size());
+        try {
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted while waiting for tasks to complete.", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw rethrow(e.getCause());
+        }
+    }
+
+    /**
+     * Execute <code>supplier</code> asynchronously in this context.
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executor());
+    }
+
+    /**
+     * Execute <code>task</code> in a thread of its own, outside the tasks of this context, so that it can use {@link #map(Collection, Function)} with the
+     * full parallelism of this context. The returned future is completed with the result of the task or with the exception it has thrown.
+     * <p>
+     * Cancelling the returned future interrupts the task and, if this context owns its threads, all tasks of this context, including blocking HTTP
+     * requests. The context does not accept further tasks afterwards.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }, COORDINATOR_THREAD_NAME_PREFIX + coordinatorCounter.incrementAndGet());
+        thread.setDaemon(true);
+        future.whenComplete((result, e) -> {
+            if (future.isCancelled()) {
+                thread.interrupt();
+                if (executorService != null) {
+                    executorService.shutdownNow();
+                }
+            }
+        });
+        thread.start();
+        return future;
+    }
+
+    /**
+     * @return an {@link Executor} running tasks in this context.
+     */
+    public Executor executor() {
+        if (executorService == null) {
+            return Runnable::run;
+        }
+        return task -> executorService.execute(() -> runTask(() -> {
+            task.run();
+            return null;
+        }));
+    }
+
+    private <R> R runTask(Supplier<R> task) {
+        if (permits != null) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a free thread.", e);
+            }
+        }
+        insideTask.set(true);
+        try {
+            return task.get();
+        } finally {
+            insideTask.remove();
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    @Override
+    public void close() {
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.execution;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.LongSupplier;
+
+import de.medavis.lct.core.UserLogger;
+import de.medavis.lct.core.http.HttpTransport;
+
+/**
+ * Time available for a whole run, e.g. for creating a manifest or downloading licenses. Once the budget is exhausted, expensive work that has not yet
+ * started is cut short instead of being executed, so that the run still produces its output before a build timeout kills it.
+ * <p>
+ * A part of the budget is reserved for work that is already running and for writing the output: The budget counts as exhausted when a quarter of it, but
+ * at most {@link #MAX_RESERVE}, is left. Requests sent through {@link #limit(HttpTransport)} have to finish before half of the reserve is left, so that the
+ * other half remains for writing the output.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class TimeBudget {
+
+    public static final Duration MAX_RESERVE = Duration.ofSeconds(30);
+
+    /**
+     * Kinds of work that can be cut short.
+     */
+    public enum Work {
+        URL_CHECK("URL checks not done, URLs used without check"),
+        DOWNLOAD("Licenses not downloaded");
+
+        private final String description;
+
+        Work(String description) {
+            this.description = description;
+        }
+    }
+
+    private final Duration budget;
+    private final long exhaustedAtNanos;
+    private final long requestsEndAtNanos;
+    private final LongSupplier nanoClock;
+    private final Map<Work, Set<String>> cutShort = new EnumMap<>(Work.class);
+
+    /**
+     * @return a budget that is never exhausted
+     */
+    public static TimeBudget unlimited() {
+        return new TimeBudget(null, Duration.ZERO, System::nanoTime);
+    }
+
+    /**
+     * @param budget Time available from now on.
+     */
+    public static TimeBudget of(Duration budget) {
+        if (budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("Time budget must be positive, but was " + budget);
+        }
+        Duration quarter = budget.dividedBy(4);
+        return new TimeBudget(budget, quarter.compareTo(MAX_RESERVE) < 0 ? quarter : MAX_RESERVE, System::nanoTime);
+    }
+
+    TimeBudget(Duration budget, Duration reserve, LongSupplier nanoClock) {
+        this.budget = budget;
+        this.nanoClock = nanoClock;
+        this.exhaustedAtNanos = budget != null ? nanoClock.getAsLong() + budget.minus(reserve).toNanos() : 0;
+        this.requestsEndAtNanos = exhaustedAtNanos + reserve.dividedBy(2).toNanos();
+        for (Work work : Work.values()) {
+            cutShort.put(work, new ConcurrentSkipListSet<>());
+        }
+    }
+
+    public boolean isExhausted() {
+        return budget != null && nanoClock.getAsLong() - exhaustedAtNanos >= 0;
+    }
+
+    /**
+     * @return time left for running requests, which may be negative, or empty if the budget is unlimited
+     */
+    public Optional<Duration> remaining() {
+        return budget != null ? Optional.of(Duration.ofNanos(requestsEndAtNanos - nanoClock.getAsLong())) : Optional.empty();
+    }
+
+    /**
+     * @return <code>httpTransport</code>, whose requests, including retries, fail with a {@link java.net.http.HttpTimeoutException} once no time is
+     * {@link #remaining()}. Closing the result closes <code>httpTransport</code>.
+     */
+    public HttpTransport limit(HttpTransport httpTransport) {
+        return budget != null ? new TimeBudgetHttpTransport(httpTransport, this) : httpTransport;
+    }
+
+    /**
+     * Record that <code>work</code> for <code>item</code> (e.g. a URL or a license name) has been cut short.
+     */
+    public void cutShort(Work work, String item) {
+        cutShort.get(work).add(item);
+    }
+
+    public Set<String> getCutShort(Work work) {
+        return Set.copyOf(cutShort.get(work));
+    }
+
+    public boolean isCutShort() {
+        return cutShort.values().stream().anyMatch(items -> !items.isEmpty());
+    }
+
+    /**
+     * Log everything that has been cut short, if anything.
+     */
+    public void report(UserLogger userLogger) {
+        if (!isCutShort()) {
+            return;
+        }
+        userLogger.error("Time budget of %d seconds exhausted, the result is incomplete.%n", budget.toSeconds());
+        cutShort.forEach((work, items) -> {
+            if (!items.isEmpty()) {
+                userLogger.error("  %s (%d): %s%n", work.description, items.size(), String.join(", ", items));
+            }
+        });
+    }
+
+}
@@ -0,0 +1,78 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.execution;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.http.HttpTransportResponse;
+
+/**
+ * Passes the time {@link TimeBudget#remaining() remaining} in a time budget to each request as timeout.
+ */
+final class TimeBudgetHttpTransport implements HttpTransport {
+
+    private final HttpTransport delegate;
+    private final TimeBudget timeBudget;
+
+    TimeBudgetHttpTransport(HttpTransport delegate, TimeBudget timeBudget) {
+        this.delegate = delegate;
+        this.timeBudget = timeBudget;
+    }
+
+    @Override
+    public HttpTransportResponse get(URI uri) throws IOException {
+        return delegate.get(uri, remaining(uri));
+    }
+
+    @Override
+    public HttpTransportResponse get(URI uri, Duration timeout) throws IOException {
+        Duration remaining = remaining(uri);
+        return delegate.get(uri, timeout.compareTo(remaining) < 0 ? timeout : remaining);
+    }
+
+    @Override
+    public int getStatus(URI uri) throws IOException {
+        return delegate.getStatus(uri, remaining(uri));
+    }
+
+    @Override
+    public int getStatus(URI uri, Duration timeout) throws IOException {
+        Duration remaining = remaining(uri);
+        return delegate.getStatus(uri, timeout.compareTo(remaining) < 0 ? timeout : remaining);
+    }
+
+    private Duration remaining(URI uri) throws HttpTimeoutException {
+        Duration remaining = timeBudget.remaining().orElseThrow();
+        if (remaining.isNegative() || remaining.isZero()) {
+            throw new HttpTimeoutException("Time budget exhausted, request to " + uri + " not sent");
+        }
+        return remaining;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+}
@@ -0,0 +1,40 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.http;
+
+import java.io.IOException;
+
+/**
+ * Thrown without sending a request if the circuit breaker of the host is open because of previous failures.
+ */
+public class HostUnavailableException extends IOException {
+
+    private final String host;
+
+    public HostUnavailableException(String host) {
+        super("Host " + host + " is unavailable after repeated failures, request was not sent");
+        this.host = host;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+}
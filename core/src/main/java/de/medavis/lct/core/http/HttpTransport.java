@@ -0,0 +1,90 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.time.Duration;
+
+/**
+ * Performs all HTTP requests of LCT, so that connections can be shared between URL checks, downloads and configuration fetches.
+ */
+public interface HttpTransport extends AutoCloseable {
+
+    /**
+     * Send a GET request and stream the response body. The body is decompressed if the server used a content encoding. The caller has to close the
+     * response.
+     */
+    HttpTransportResponse get(URI uri) throws IOException;
+
+    /**
+     * Send a GET request and discard the response body.
+     *
+     * @return the status code of the response
+     */
+    int getStatus(URI uri) throws IOException;
+
+    /**
+     * Like {@link #get(URI)}, but give up with a {@link java.net.http.HttpTimeoutException} once <code>timeout</code> has passed, including retries.
+     * Implementations without timeouts of their own may ignore <code>timeout</code>.
+     */
+    default HttpTransportResponse get(URI uri, Duration timeout) throws IOException {
+        return get(uri);
+    }
+
+    /**
+     * Like {@link #getStatus(URI)}, but give up with a {@link java.net.http.HttpTimeoutException} once <code>timeout</code> has passed, including
+     * retries. Implementations without timeouts of their own may ignore <code>timeout</code>.
+     */
+    default int getStatus(URI uri, Duration timeout) throws IOException {
+        return getStatus(uri);
+    }
+
+    /**
+     * Open <code>url</code> for reading. HTTP(S) URLs are fetched with this transport and must return a 2xx status code, all other URLs (e.g. files) are
+     * opened directly.
+     */
+    default InputStream openStream(URL url) throws IOException {
+        if (!"http".equalsIgnoreCase(url.getProtocol()) && !"https".equalsIgnoreCase(url.getProtocol())) {
+            return url.openStream();
+        }
+        HttpTransportResponse response;
+        try {
+            response = get(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid URL " + url, e);
+        }
+        if (!response.isSuccessful()) {
+            response.close();
+            throw new IOException("Request to " + url + " not successful: Status " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    /**
+     * Release all pooled connections. Requests must not be sent after closing.
+     */
+    @Override
+    void close();
+
+}
@@ -0,0 +1,191 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.http;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.PushbackInputStream;
+import java.net.Authenticator;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * {@link HttpTransport} based on {@link HttpClient}. The client keeps connections alive and reuses them for subsequent requests to the same host. HTTP/2
+ * is used if the server supports it. Responses are requested with gzip or deflate compression.
+ */
+public final class JavaHttpTransport implements HttpTransport {
+
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final String USER_AGENT = "license-compliance-tool";
+
+    private final Duration requestTimeout;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+
+    public JavaHttpTransport() {
+        this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_REQUEST_TIMEOUT, ProxySelector.getDefault());
+    }
+
+    /**
+     * @param proxySelector Selects the proxy per request. {@link ProxySelector#getDefault()} respects the <code>http(s).proxyHost</code> system
+     *                      properties.
+     */
+    public JavaHttpTransport(Duration connectTimeout, Duration requestTimeout, ProxySelector proxySelector) {
+        this(connectTimeout, requestTimeout, proxySelector, null);
+    }
+
+    /**
+     * @param authenticator Provides credentials, e.g. for the proxy. May be <code>null</code>.
+     */
+    public JavaHttpTransport(Duration connectTimeout, Duration requestTimeout, ProxySelector proxySelector, Authenticator authenticator) {
+        this.requestTimeout = requestTimeout;
+        this.executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("lct-http-%d").setDaemon(true).build());
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(connectTimeout)
+                .executor(executor);
+        if (proxySelector != null) {
+            builder.proxy(proxySelector);
+        }
+        if (authenticator != null) {
+            builder.authenticator(authenticator);
+        }
+        this.httpClient = builder.build();
+    }
+
+    /**
+     * Transport for components that are created without an explicit transport. It is never closed; closing it has no effect.
+     */
+    public static HttpTransport shared() {
+        return SharedInstance.INSTANCE;
+    }
+
+    @Override
+    public HttpTransportResponse get(URI uri) throws IOException {
+        return get(uri, requestTimeout);
+    }
+
+    @Override
+    public HttpTransportResponse get(URI uri, Duration timeout) throws IOException {
+        HttpResponse<InputStream> response = send(uri, HttpResponse.BodyHandlers.ofInputStream(), timeout);
+        return new HttpTransportResponse(response.statusCode(), response.headers().firstValue("Content-Type").orElse(null),
+                decode(response.headers(), response.body()));
+    }
+
+    @Override
+    public int getStatus(URI uri) throws IOException {
+        return getStatus(uri, requestTimeout);
+    }
+
+    @Override
+    public int getStatus(URI uri, Duration timeout) throws IOException {
+        return send(uri, HttpResponse.BodyHandlers.discarding(), timeout).statusCode();
+    }
+
+    private <T> HttpResponse<T> send(URI uri, BodyHandler<T> bodyHandler, Duration timeout) throws IOException {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new HttpTimeoutException("No time left for request to " + uri);
+        }
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .GET()
+                .timeout(timeout.compareTo(requestTimeout) < 0 ? timeout : requestTimeout)
+                .header("Accept-Encoding", "gzip, deflate")
+                .header("User-Agent", USER_AGENT)
+                .build();
+        CompletableFuture<HttpResponse<T>> response;
+        try {
+            response = httpClient.sendAsync(request, bodyHandler);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid URL " + uri, e);
+        }
+        // Waiting for the asynchronous request instead of using the blocking API, so that the exchange is aborted when the calling thread is interrupted
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while requesting " + uri);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof IllegalArgumentException) {
+                throw new IOException("Invalid URL " + uri, e.getCause());
+            }
+            throw new IOException("Request to " + uri + " failed", e.getCause());
+        }
+    }
+
+    private InputStream decode(HttpHeaders headers, InputStream body) throws IOException {
+        String contentEncoding = headers.firstValue("Content-Encoding").orElse("identity").trim();
+        if (!"gzip".equalsIgnoreCase(contentEncoding) && !"deflate".equalsIgnoreCase(contentEncoding)) {
+            return body;
+        }
+        // Some servers send the header also for empty bodies, which cannot be decompressed
+        PushbackInputStream pushbackBody = new PushbackInputStream(body);
+        int firstByte = pushbackBody.read();
+        if (firstByte == -1) {
+            return pushbackBody;
+        }
+        pushbackBody.unread(firstByte);
+        return "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(pushbackBody) : new InflaterInputStream(pushbackBody);
+    }
+
+    @Override
+    public void close() {
+        if (this == SharedInstance.INSTANCE) {
+            return;
+        }
+        // HttpClient implements AutoCloseable since Java 21; on older runtimes, its connections are released once the client is unreachable
+        if (httpClient instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) httpClient).close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Cannot close HTTP client", e);
+            }
+        }
+        executor.shutdownNow();
+    }
+
+    private static final class SharedInstance {
+
+        private static final JavaHttpTransport INSTANCE = new JavaHttpTransport();
+
+    }
+
+}
@@ -0,0 +1,180 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.http;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorates a {@link HttpTransport} with retries and a circuit breaker per host. Connection failures, timeouts and responses with status 429 or 5xx are
+ * retried according to the {@link RetryPolicy}. Once a host failed repeatedly, further requests to it fail immediately with a
+ * {@link HostUnavailableException} instead of waiting for timeouts again.
+ * <p>
+ * All attempts of a request have to finish before the deadline of the {@link RetryPolicy} or the timeout given by the caller, whichever comes first.
+ */
+public final class ResilientHttpTransport implements HttpTransport {
+
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+    private static final Logger log = LoggerFactory.getLogger(ResilientHttpTransport.class);
+
+    private final HttpTransport delegate;
+    private final RetryPolicy retryPolicy;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final LongSupplier nanoClock;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    public ResilientHttpTransport(HttpTransport delegate) {
+        this(delegate, RetryPolicy.DEFAULT);
+    }
+
+    public ResilientHttpTransport(HttpTransport delegate, RetryPolicy retryPolicy) {
+        this(delegate, retryPolicy, DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_DURATION);
+    }
+
+    /**
+     * @param failureThreshold Number of consecutive failed attempts after which requests to a host fail immediately.
+     * @param openDuration     Time after which a request to a failed host is tried again.
+     */
+    public ResilientHttpTransport(HttpTransport delegate, RetryPolicy retryPolicy, int failureThreshold, Duration openDuration) {
+        this(delegate, retryPolicy, failureThreshold, openDuration, System::nanoTime);
+    }
+
+    ResilientHttpTransport(HttpTransport delegate, RetryPolicy retryPolicy, int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.retryPolicy = retryPolicy;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public HttpTransportResponse get(URI uri) throws IOException {
+        return get(uri, retryPolicy.deadline());
+    }
+
+    @Override
+    public HttpTransportResponse get(URI uri, Duration timeout) throws IOException {
+        return execute(uri, timeout, delegate::get, HttpTransportResponse::statusCode, HttpTransportResponse::close);
+    }
+
+    @Override
+    public int getStatus(URI uri) throws IOException {
+        return getStatus(uri, retryPolicy.deadline());
+    }
+
+    @Override
+    public int getStatus(URI uri, Duration timeout) throws IOException {
+        return execute(uri, timeout, delegate::getStatus, status -> status, status -> {
+        });
+    }
+
+    /**
+     * @param timeout Shortens the deadline of the {@link RetryPolicy}. Each attempt may only take the time left until the deadline.
+     */
+    private <T> T execute(URI uri, Duration timeout, Request<T> request, ToIntFunction<T> statusCode, Discarder<T> discarder) throws IOException {
+        String host = uri.getHost() != null ? uri.getHost() : String.valueOf(uri.getAuthority());
+        CircuitBreaker circuitBreaker = circuitBreakers.computeIfAbsent(host, key -> new CircuitBreaker(failureThreshold, openDuration, nanoClock));
+        long deadline = nanoClock.getAsLong() + (timeout.compareTo(retryPolicy.deadline()) < 0 ? timeout : retryPolicy.deadline()).toNanos();
+        for (int attempt = 1; ; attempt++) {
+            // Checked before the circuit breaker, which would otherwise wait for the outcome of a trial request that is never sent
+            Duration remaining = Duration.ofNanos(deadline - nanoClock.getAsLong());
+            if (remaining.isNegative() || remaining.isZero()) {
+                throw new HttpTimeoutException("No time left for request to " + uri);
+            }
+            if (!circuitBreaker.allowRequest()) {
+                throw new HostUnavailableException(host);
+            }
+            boolean lastAttempt = attempt >= retryPolicy.maxAttempts();
+            Duration backoff = lastAttempt ? Duration.ZERO : retryPolicy.backoff(attempt);
+            try {
+                T result = request.send(uri, remaining);
+                if (!isRetryable(statusCode.applyAsInt(result))) {
+                    circuitBreaker.recordSuccess();
+                    return result;
+                }
+                circuitBreaker.recordFailure();
+                if (lastAttempt || isAfter(backoff, deadline)) {
+                    return result;
+                }
+                log.debug("Request to {} failed with status {}, retrying in {} ms.", uri, statusCode.applyAsInt(result), backoff.toMillis());
+                discarder.discard(result);
+            } catch (InterruptedIOException e) {
+                circuitBreaker.recordAborted();
+                throw e;
+            } catch (IOException e) {
+                circuitBreaker.recordFailure();
+                if (lastAttempt || isAfter(backoff, deadline)) {
+                    throw e;
+                }
+                log.debug("Request to {} failed with {}, retrying in {} ms.", uri, e.toString(), backoff.toMillis());
+            }
+            sleep(backoff, uri);
+        }
+    }
+
+    private boolean isAfter(Duration backoff, long deadline) {
+        return nanoClock.getAsLong() + backoff.toNanos() - deadline >= 0;
+    }
+
+    private static boolean isRetryable(int statusCode) {
+        return statusCode == 429 || statusCode >= 500;
+    }
+
+    private static void sleep(Duration backoff, URI uri) throws InterruptedIOException {
+        try {
+            Thread.sleep(backoff.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry " + uri);
+        }
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @FunctionalInterface
+    private interface Request<T> {
+
+        T send(URI uri, Duration timeout) throws IOException;
+
+    }
+
+    @FunctionalInterface
+    private interface Discarder<T> {
+
+        void discard(T result) throws IOException;
+
+    }
+
+}
@@ -0,0 +1,79 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.http;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Determines how often and how long {@link ResilientHttpTransport} retries a failed request.
+ */
+public final class RetryPolicy {
+
+    public static final RetryPolicy DEFAULT = new RetryPolicy(3, Duration.ofMillis(500), Duration.ofSeconds(5), Duration.ofSeconds(60));
+    public static final RetryPolicy NO_RETRY = new RetryPolicy(1, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(60));
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration deadline;
+
+    /**
+     * @param maxAttempts    Maximum number of attempts including the first one.
+     * @param initialBackoff Wait time before the first retry. It doubles with every further retry up to <code>maxBackoff</code>.
+     * @param deadline       Maximum time for all attempts of a request. No retry is started if its backoff would end after the deadline.
+     */
+    public RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, Duration deadline) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1, but is " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.deadline = deadline;
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    public Duration deadline() {
+        return deadline;
+    }
+
+    public RetryPolicy withMaxAttempts(int maxAttempts) {
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff, deadline);
+    }
+
+    /**
+     * @param retry number of the retry, starting with 1
+     * @return exponential backoff with jitter, i.e. a random duration between half and the full backoff, so that concurrent requests to the same host do
+     * not retry at the same time
+     */
+    Duration backoff(int retry) {
+        long backoff = initialBackoff.toMillis();
+        for (int i = 1; i < retry && backoff < maxBackoff.toMillis(); i++) {
+            backoff *= 2;
+        }
+        backoff = Math.min(backoff, maxBackoff.toMillis());
+        return Duration.ofMillis(backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+    }
+
+}
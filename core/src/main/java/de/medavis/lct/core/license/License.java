@@ -21,27 +21,36 @@ package de.medavis.lct.core.license;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import java.util.Objects;
 import java.util.StringJoiner;
 
 public final class License {
 
+    /**
+     * Canonical instances of all licenses currently in use. Equal licenses share one instance, so large BOMs do not keep thousands of copies of the same
+     * license and most {@link #equals(Object)} calls are resolved by an identity check.
+     */
+    private static final Interner<License> POOL = Interners.newWeakInterner();
+
     private final String name;
     private final String url;
     private final String downloadUrl;
     private final boolean configured;
+    private final int hashCode;
 
     @JsonCreator
     public static License fromConfig(@JsonProperty("name") String name, @JsonProperty("url") String url, @JsonProperty("downloadUrl") String downloadUrl) {
-        return new License(name, url, downloadUrl, true);
+        return POOL.intern(new License(name, url, downloadUrl, true));
     }
 
     public static License dynamic(String name, String url, String downloadUrl) {
-        return new License(name, url, downloadUrl, false);
+        return POOL.intern(new License(name, url, downloadUrl, false));
     }
 
     public static License dynamic(String name, String url) {
-        return new License(name, url, null, false);
+        return dynamic(name, url, null);
     }
 
     private License(String name, String url, String downloadUrl, boolean configured) {
@@ -49,6 +58,7 @@ public final class License {
         this.url = url;
         this.downloadUrl = downloadUrl;
         this.configured = configured;
+        this.hashCode = Objects.hash(name, url, downloadUrl, configured);
     }
 
     public String getName() {
@@ -80,13 +90,13 @@ public final class License {
             return false;
         }
         License license = (License) o;
-        return configured == license.configured && Objects.equals(name, license.name) && Objects.equals(url, license.url)
+        return hashCode == license.hashCode && configured == license.configured && Objects.equals(name, license.name) && Objects.equals(url, license.url)
                && Objects.equals(downloadUrl, license.downloadUrl);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, url, downloadUrl, configured);
+        return hashCode;
     }
 
     @Override
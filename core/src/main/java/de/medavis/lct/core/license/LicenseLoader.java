@@ -20,6 +20,7 @@
 package de.medavis.lct.core.license;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.List;
 import java.util.Map;
@@ -28,14 +29,27 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.http.JavaHttpTransport;
+
 public class LicenseLoader {
 
     private static final Logger log = LoggerFactory.getLogger(LicenseLoader.class);
 
+    private final HttpTransport httpTransport;
+
+    public LicenseLoader() {
+        this(JavaHttpTransport.shared());
+    }
+
+    public LicenseLoader(HttpTransport httpTransport) {
+        this.httpTransport = httpTransport;
+    }
+
     public Map<String, License> load(URL licenseUrl) {
         ObjectMapper objectMapper = new ObjectMapper();
-        try {
-            Map<String, License> result = objectMapper.<List<License>>readValue(licenseUrl,
+        try (InputStream input = httpTransport.openStream(licenseUrl)) {
+            Map<String, License> result = objectMapper.<List<License>>readValue(input,
                             objectMapper.getTypeFactory().constructCollectionType(List.class, License.class))
                     .stream()
                     .collect(Collectors.toMap(License::getName, Function.identity()));
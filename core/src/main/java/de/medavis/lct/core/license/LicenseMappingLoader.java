@@ -21,6 +21,7 @@ package de.medavis.lct.core.license;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.List;
 import java.util.Map;
@@ -28,15 +29,28 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.http.JavaHttpTransport;
+
 public class LicenseMappingLoader {
 
     private static final Logger logger = LoggerFactory.getLogger(LicenseMappingLoader.class);
 
+    private final HttpTransport httpTransport;
+
+    public LicenseMappingLoader() {
+        this(JavaHttpTransport.shared());
+    }
+
+    public LicenseMappingLoader(HttpTransport httpTransport) {
+        this.httpTransport = httpTransport;
+    }
+
     public Map<String, String> load(URL licenseMappingUrl) {
         ObjectMapper objectMapper = new ObjectMapper();
 
-        try {
-            Map<String, String> result = objectMapper.<List<LicenseMapping>>readValue(licenseMappingUrl,
+        try (InputStream input = httpTransport.openStream(licenseMappingUrl)) {
+            Map<String, String> result = objectMapper.<List<LicenseMapping>>readValue(input,
                             objectMapper.getTypeFactory().constructCollectionType(List.class, LicenseMapping.class))
                     .stream()
                     .collect(Collectors.toMap(LicenseMapping::alias, LicenseMapping::canonicalName));
@@ -0,0 +1,163 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.list;
+
+import java.util.List;
+import java.util.Set;
+
+import de.medavis.lct.core.license.License;
+import de.medavis.lct.core.metadata.ComponentMetadata;
+
+/**
+ * Result of a listing which keeps one entry per component of the BOM, including ignored components, together with the component metadata rule it has
+ * matched. Used to analyze a BOM and the configuration beyond the merged {@link ComponentData}.
+ */
+public final class ComponentIndex {
+
+    private final List<ComponentMetadata> rules;
+    private final List<Entry> entries;
+    private final List<ComponentData> components;
+
+    public ComponentIndex(List<ComponentMetadata> rules, List<Entry> entries, List<ComponentData> components) {
+        this.rules = rules;
+        this.entries = entries;
+        this.components = components;
+    }
+
+    /**
+     * @return component metadata rules in configuration order, the index of a rule is used by {@link Entry#getRule()}
+     */
+    public List<ComponentMetadata> getRules() {
+        return rules;
+    }
+
+    /**
+     * @return one entry per component of the BOM, in the order in which the components have been loaded
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return the same components as {@link ComponentLister#listComponents(java.io.InputStream)}
+     */
+    public List<ComponentData> getComponents() {
+        return components;
+    }
+
+    /**
+     * @return for each rule the number of BOM components it has been applied to, either as first matching rule or as first matching rule with licenses
+     */
+    public int[] getRuleHits() {
+        int[] hits = new int[rules.size()];
+        for (Entry entry : entries) {
+            if (entry.getRule() >= 0) {
+                hits[entry.getRule()]++;
+            }
+            if (entry.getLicenseRule() >= 0 && entry.getLicenseRule() != entry.getRule()) {
+                hits[entry.getLicenseRule()]++;
+            }
+        }
+        return hits;
+    }
+
+    public static final class Entry {
+
+        private final String group;
+        private final String name;
+        private final String version;
+        private final String exportName;
+        private final String url;
+        private final Set<License> licenses;
+        private final Set<String> attributionNotices;
+        private final int rule;
+        private final int licenseRule;
+        private final boolean ignored;
+
+        /**
+         * @param rule        Index of the first matching rule, -1 if no rule matches
+         * @param licenseRule Index of the first matching rule with licenses, -1 if no such rule matches
+         */
+        public Entry(String group, String name, String version, String exportName, String url, Set<License> licenses, Set<String> attributionNotices,
+                int rule, int licenseRule, boolean ignored) {
+            this.group = group;
+            this.name = name;
+            this.version = version;
+            this.exportName = exportName;
+            this.url = url;
+            this.licenses = licenses;
+            this.attributionNotices = attributionNotices;
+            this.rule = rule;
+            this.licenseRule = licenseRule;
+            this.ignored = ignored;
+        }
+
+        public String getGroup() {
+            return group;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        /**
+         * @return name of the component in the listing, i.e. the mapped name or group and name
+         */
+        public String getExportName() {
+            return exportName;
+        }
+
+        /**
+         * @return URL of the component in the listing, <code>null</code> for ignored components
+         */
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * @return licenses of the component in the listing, empty for ignored components
+         */
+        public Set<License> getLicenses() {
+            return licenses;
+        }
+
+        public Set<String> getAttributionNotices() {
+            return attributionNotices;
+        }
+
+        public int getRule() {
+            return rule;
+        }
+
+        public int getLicenseRule() {
+            return licenseRule;
+        }
+
+        public boolean isIgnored() {
+            return ignored;
+        }
+
+    }
+
+}
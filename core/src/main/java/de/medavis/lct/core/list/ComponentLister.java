@@ -20,20 +20,29 @@
 package de.medavis.lct.core.list;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import de.medavis.lct.core.Configuration;
 import de.medavis.lct.core.asset.AssetLoader;
 import de.medavis.lct.core.asset.Component;
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.execution.TimeBudget;
 import de.medavis.lct.core.license.License;
 import de.medavis.lct.core.license.LicenseLoader;
 import de.medavis.lct.core.license.LicenseMappingLoader;
@@ -47,82 +56,238 @@ public class ComponentLister {
     private final LicenseLoader licenseLoader;
     private final LicenseMappingLoader licenseMappingLoader;
     private final Configuration configuration;
+    private final ExecutionContext executionContext;
+    private final Map<String, CompletableFuture<Collection<ComponentMetadata>>> componentMetadataCache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Map<String, License>>> licensesCache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Map<String, String>>> licenseMappingsCache = new ConcurrentHashMap<>();
 
     public ComponentLister(AssetLoader assetLoader, ComponentMetaDataLoader componentMetaDataLoader, LicenseLoader licenseLoader,
             LicenseMappingLoader licenseMappingLoader, Configuration configuration) {
+        this(assetLoader, componentMetaDataLoader, licenseLoader, licenseMappingLoader, configuration, ExecutionContext.sequential());
+    }
+
+    /**
+     * @param executionContext Used to load the configuration concurrently and to match and enrich the components of a BOM in
+     *                         {@link ExecutionContext#parallelism()} partitions.
+     */
+    public ComponentLister(AssetLoader assetLoader, ComponentMetaDataLoader componentMetaDataLoader, LicenseLoader licenseLoader,
+            LicenseMappingLoader licenseMappingLoader, Configuration configuration, ExecutionContext executionContext) {
         this.assetLoader = assetLoader;
         this.componentMetaDataLoader = componentMetaDataLoader;
         this.licenseLoader = licenseLoader;
         this.licenseMappingLoader = licenseMappingLoader;
         this.configuration = configuration;
+        this.executionContext = executionContext;
     }
 
     public List<ComponentData> listComponents(InputStream bomStream) {
-        Collection<ComponentMetadata> componentMetadata = configuration.getComponentMetadataUrl().map(componentMetaDataLoader::load).orElse(Collections.emptyList());
-        Map<String, License> licenses = configuration.getLicensesUrl().map(licenseLoader::load).orElse(Collections.emptyMap());
-        Map<String, String> licenseMappings = configuration.getLicenseMappingsUrl().map(licenseMappingLoader::load).orElse(Collections.emptyMap());
+        return listComponents(bomStream, TimeBudget.unlimited());
+    }
 
-        return assetLoader.loadFromBom(bomStream)
-                .components()
+    /**
+     * @param timeBudget URL checks that would start after the budget is exhausted are not done, see {@link AssetLoader#resolveUrls(Collection, TimeBudget)}.
+     */
+    public List<ComponentData> listComponents(InputStream bomStream, TimeBudget timeBudget) {
+        Listing listing = prepare(bomStream, timeBudget);
+        Collector<Match, ComponentTable, ComponentTable> collector = ComponentTable.collector((table, match) -> add(table, listing.enrich(match)));
+        ComponentTable componentTable = executionContext.map(partition(listing.included), partition -> partition.stream()
+                        .collect(collector))
                 .stream()
-                .filter(component -> !isIgnored(component, componentMetadata))
-                .map(component -> enrichWithMetadata(component, componentMetadata, licenses, licenseMappings))
-                .collect(Collectors.groupingBy(ComponentData::getName))
-                .entrySet()
+                .reduce(collector.combiner())
+                .orElseGet(ComponentTable::new);
+        // ComponentMetadata has to ensure that component with same name has same url and version
+        return componentTable.toComponentData();
+    }
+
+    /**
+     * List the components like {@link #listComponents(InputStream, TimeBudget)} and additionally keep an entry per component of the BOM, e.g. to find
+     * unmatched components or unused component metadata rules.
+     */
+    public ComponentIndex indexComponents(InputStream bomStream, TimeBudget timeBudget) {
+        Listing listing = prepare(bomStream, timeBudget);
+        List<ComponentIndex.Entry> entries = executionContext.map(partition(listing.matches), partition -> partition.stream()
+                        .map(listing::enrich)
+                        .collect(Collectors.toList()))
+                .stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        ComponentTable componentTable = new ComponentTable();
+        entries.stream()
+                .filter(entry -> !entry.isIgnored())
+                .forEach(entry -> add(componentTable, entry));
+        return new ComponentIndex(listing.rules, entries, componentTable.toComponentData());
+    }
+
+    private Listing prepare(InputStream bomStream, TimeBudget timeBudget) {
+        CompletableFuture<Collection<ComponentMetadata>> componentMetadataFuture = load(configuration.getComponentMetadataUrl(), componentMetaDataLoader::load,
+                componentMetadataCache, Collections.emptyList());
+        CompletableFuture<Map<String, License>> licensesFuture = load(configuration.getLicensesUrl(), licenseLoader::load, licensesCache,
+                Collections.emptyMap());
+        CompletableFuture<Map<String, String>> licenseMappingsFuture = load(configuration.getLicenseMappingsUrl(), licenseMappingLoader::load,
+                licenseMappingsCache, Collections.emptyMap());
+
+        // Keep an ordered copy, so that partitions are merged in the same order as in sequential processing
+        List<Component> components = new ArrayList<>(assetLoader.loadFromBom(bomStream).components());
+        List<ComponentMetadata> rules = new ArrayList<>(join(componentMetadataFuture));
+        Map<String, License> licenses = join(licensesFuture);
+        Map<String, String> licenseMappings = join(licenseMappingsFuture);
+
+        // Each component is matched against the rules only once
+        List<Match> matches = executionContext.map(partition(components), partition -> partition.stream()
+                        .map(component -> match(component, rules))
+                        .collect(Collectors.toList()))
                 .stream()
-                .map(componentByName -> {
-                    // ComponentMetadata has to ensure that component with same name has same url and version
-                    String url = componentByName.getValue().get(0).getUrl();
-                    String version = componentByName.getValue().get(0).getVersion();
-                    Set<License> allLicenses = componentByName.getValue().stream()
-                            .flatMap(cd -> cd.getLicenses().stream())
-                            .collect(Collectors.toCollection(LinkedHashSet::new));
-                    Set<String> attributionNotices = componentByName.getValue().stream()
-                            .flatMap(cd -> cd.getAttributionNotices().stream())
-                            .collect(Collectors.toCollection(LinkedHashSet::new));
-                    return new ComponentData(componentByName.getKey(), url, version, allLicenses, attributionNotices);
-                })
-                .sorted(Comparator.comparing(ComponentData::getName, String.CASE_INSENSITIVE_ORDER))
+                .flatMap(List::stream)
                 .collect(Collectors.toList());
+        List<Match> included = matches.stream()
+                .filter(match -> !match.isIgnored(rules))
+                .collect(Collectors.toList());
+        // Only check URLs of components which are listed and whose URL is not overridden by the component metadata
+        Map<Component, String> resolvedUrls = assetLoader.resolveUrls(included.stream()
+                .filter(match -> match.rule < 0 || Strings.isNullOrEmpty(rules.get(match.rule).url()))
+                .map(match -> match.component)
+                .collect(Collectors.toList()), timeBudget);
+        return new Listing(rules, licenses, licenseMappings, matches, included, resolvedUrls);
     }
 
-    private boolean isIgnored(Component component, Collection<ComponentMetadata> componentMetadata) {
-        return componentMetadata.stream()
-                .filter(cmd -> cmd.matches(component.group(), component.name()))
-                .map(ComponentMetadata::ignore)
-                .findFirst()
-                .orElse(false);
+    private <T> List<List<T>> partition(List<T> items) {
+        int partitionSize = Math.max(1, (items.size() + executionContext.parallelism() - 1) / executionContext.parallelism());
+        return Lists.partition(items, partitionSize);
     }
 
-    private ComponentData enrichWithMetadata(Component component, Collection<ComponentMetadata> componentMetadata, Map<String, License> licenses,
-            Map<String, String> licenseMappings) {
-        Stream<License> actualLicenses = componentMetadata.stream()
-                .filter(cmd -> cmd.matches(component.group(), component.name()))
-                .filter(cmd -> !cmd.licenses().isEmpty())
-                .findFirst()
-                .map(cmd -> cmd.licenses().stream().map(licenseName -> License.dynamic(licenseName, null, null)))
-                .orElse(component.licenses().stream());
-
-        Set<License> convertedLicenses = actualLicenses
-                .map(license -> {
-                    String mappedLicenseName = licenseMappings.getOrDefault(license.getName(), license.getName());
-                    return licenses.getOrDefault(mappedLicenseName, License.dynamic(mappedLicenseName, license.getUrl(), license.getDownloadUrl()));
-                })
-                .collect(Collectors.toSet());
-
-        return componentMetadata.stream()
-                .filter(cmd -> cmd.matches(component.group(), component.name()))
-                .findFirst()
-                .map(cmd -> {
-                    String exportName = !Strings.isNullOrEmpty(cmd.mappedName()) ? cmd.mappedName() : combineGroupAndName(component);
-                    String url = !Strings.isNullOrEmpty(cmd.url()) ? cmd.url() : component.url();
-                    return new ComponentData(exportName, url, component.version(), convertedLicenses, cmd.attributionNotices());
-                })
-                .orElse(new ComponentData(combineGroupAndName(component), component.url(), component.version(), convertedLicenses, Collections.emptySet()));
+    /**
+     * Discard the configuration loaded from <code>url</code>, so that the next listing loads it again. Configuration is otherwise loaded only once per
+     * lister, which lets long-running callers like a watch mode list several BOMs without fetching unchanged configuration.
+     */
+    public void reloadConfiguration(URL url) {
+        componentMetadataCache.remove(url.toExternalForm());
+        licensesCache.remove(url.toExternalForm());
+        licenseMappingsCache.remove(url.toExternalForm());
     }
 
-    private String combineGroupAndName(Component component) {
+    /**
+     * @param cache Keyed by the external form of the URL, because {@link URL#equals(Object)} resolves host names
+     */
+    private <T> CompletableFuture<T> load(Optional<URL> url, Function<URL, T> loader, Map<String, CompletableFuture<T>> cache, T defaultValue) {
+        // Failed loads are not kept, so that a broken configuration is loaded again once it has been fixed
+        return url.map(presentUrl -> cache.compute(presentUrl.toExternalForm(), (key, cached) -> cached == null || cached.isCompletedExceptionally()
+                        ? executionContext.supply(() -> loader.apply(presentUrl))
+                        : cached))
+                .orElseGet(() -> CompletableFuture.completedFuture(defaultValue));
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private static Match match(Component component, List<ComponentMetadata> rules) {
+        int rule = -1;
+        int licenseRule = -1;
+        for (int i = 0; i < rules.size() && (rule < 0 || licenseRule < 0); i++) {
+            ComponentMetadata cmd = rules.get(i);
+            if ((rule < 0 || !cmd.licenses().isEmpty()) && cmd.matches(component.group(), component.name())) {
+                if (rule < 0) {
+                    rule = i;
+                }
+                if (licenseRule < 0 && !cmd.licenses().isEmpty()) {
+                    licenseRule = i;
+                }
+            }
+        }
+        return new Match(component, rule, licenseRule);
+    }
+
+    private static void add(ComponentTable componentTable, ComponentIndex.Entry entry) {
+        componentTable.add(entry.getExportName(), entry.getVersion(), entry.getUrl(), entry.getLicenses(), entry.getAttributionNotices());
+    }
+
+    private static String combineGroupAndName(Component component) {
         return Strings.isNullOrEmpty(component.group()) ? component.name() : String.join(".", component.group(), component.name());
     }
 
+    /**
+     * A component of the BOM with the indexes of the first matching rule and of the first matching rule with licenses, -1 if there is none.
+     */
+    private static final class Match {
+
+        private final Component component;
+        private final int rule;
+        private final int licenseRule;
+
+        private Match(Component component, int rule, int licenseRule) {
+            this.component = component;
+            this.rule = rule;
+            this.licenseRule = licenseRule;
+        }
+
+        private boolean isIgnored(List<ComponentMetadata> rules) {
+            return rule >= 0 && rules.get(rule).ignore();
+        }
+
+    }
+
+    /**
+     * BOM components and configuration of a single listing.
+     */
+    private static final class Listing {
+
+        private final List<ComponentMetadata> rules;
+        private final Map<String, License> licenses;
+        private final Map<String, String> licenseMappings;
+        private final List<Match> matches;
+        private final List<Match> included;
+        private final Map<Component, String> resolvedUrls;
+
+        private Listing(List<ComponentMetadata> rules, Map<String, License> licenses, Map<String, String> licenseMappings, List<Match> matches,
+                List<Match> included, Map<Component, String> resolvedUrls) {
+            this.rules = rules;
+            this.licenses = licenses;
+            this.licenseMappings = licenseMappings;
+            this.matches = matches;
+            this.included = included;
+            this.resolvedUrls = resolvedUrls;
+        }
+
+        private ComponentIndex.Entry enrich(Match match) {
+            Component component = match.component;
+            if (match.isIgnored(rules)) {
+                return new ComponentIndex.Entry(component.group(), component.name(), component.version(), combineGroupAndName(component), null,
+                        Collections.emptySet(), Collections.emptySet(), match.rule, match.licenseRule, true);
+            }
+            Stream<License> actualLicenses = match.licenseRule >= 0
+                    ? rules.get(match.licenseRule).licenses().stream().map(licenseName -> License.dynamic(licenseName, null, null))
+                    : component.licenses().stream();
+
+            Set<License> convertedLicenses = actualLicenses
+                    .map(license -> {
+                        String mappedLicenseName = licenseMappings.getOrDefault(license.getName(), license.getName());
+                        License configuredLicense = licenses.get(mappedLicenseName);
+                        if (configuredLicense != null) {
+                            return configuredLicense;
+                        }
+                        return license.isDynamic() && mappedLicenseName.equals(license.getName())
+                                ? license
+                                : License.dynamic(mappedLicenseName, license.getUrl(), license.getDownloadUrl());
+                    })
+                    .collect(Collectors.toSet());
+
+            String exportName = combineGroupAndName(component);
+            String url = resolvedUrls.get(component);
+            Set<String> attributionNotices = Collections.emptySet();
+            if (match.rule >= 0) {
+                ComponentMetadata cmd = rules.get(match.rule);
+                exportName = !Strings.isNullOrEmpty(cmd.mappedName()) ? cmd.mappedName() : exportName;
+                url = !Strings.isNullOrEmpty(cmd.url()) ? cmd.url() : url;
+                attributionNotices = cmd.attributionNotices();
+            }
+            return new ComponentIndex.Entry(component.group(), component.name(), component.version(), exportName, url, convertedLicenses, attributionNotices,
+                    match.rule, match.licenseRule, false);
+        }
+
+    }
+
 }
@@ -0,0 +1,173 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.list;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import de.medavis.lct.core.license.License;
+
+/**
+ * Column-oriented storage of enriched components. All values are stored as IDs into shared {@link SymbolTable}s, so that groups, versions, URLs and licenses
+ * which occur in many components are only held once. {@link ComponentData} is created in {@link #toComponentData()} when the listing is complete.
+ * <p>
+ * A table is not thread-safe, but tables that share their symbol tables can be filled concurrently and merged afterwards, see {@link #collector(BiConsumer)}.
+ */
+final class ComponentTable {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int[] NO_IDS = new int[0];
+
+    private final SymbolTable<String> strings;
+    private final SymbolTable<License> licenses;
+
+    private int size;
+    private int[] names = new int[INITIAL_CAPACITY];
+    private int[] versions = new int[INITIAL_CAPACITY];
+    private int[] urls = new int[INITIAL_CAPACITY];
+    private int[][] licenseIds = new int[INITIAL_CAPACITY][];
+    private int[][] attributionNoticeIds = new int[INITIAL_CAPACITY][];
+
+    ComponentTable() {
+        this(new SymbolTable<>(), new SymbolTable<>());
+    }
+
+    private ComponentTable(SymbolTable<String> strings, SymbolTable<License> licenses) {
+        this.strings = strings;
+        this.licenses = licenses;
+    }
+
+    /**
+     * Collect elements into a table using <code>accumulator</code>. The collector can be used with parallel streams: partial tables share their symbol tables
+     * and are merged in encounter order, so the result is the same as for a sequential stream.
+     */
+    static <T> Collector<T, ComponentTable, ComponentTable> collector(BiConsumer<ComponentTable, T> accumulator) {
+        SymbolTable<String> sharedStrings = new SymbolTable<>();
+        SymbolTable<License> sharedLicenses = new SymbolTable<>();
+        return Collector.of(() -> new ComponentTable(sharedStrings, sharedLicenses), accumulator, ComponentTable::merge);
+    }
+
+    void add(String name, String version, String url, Collection<License> componentLicenses, Collection<String> attributionNotices) {
+        ensureCapacity(size + 1);
+        names[size] = strings.idOf(name);
+        versions[size] = strings.idOf(version);
+        urls[size] = strings.idOf(url);
+        licenseIds[size] = toIds(componentLicenses, licenses);
+        attributionNoticeIds[size] = toIds(attributionNotices, strings);
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Append all rows of <code>other</code> to this table. Both tables must share their symbol tables.
+     */
+    ComponentTable merge(ComponentTable other) {
+        if (other.strings != strings || other.licenses != licenses) {
+            throw new IllegalArgumentException("Only tables with shared symbol tables can be merged.");
+        }
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.names, 0, names, size, other.size);
+        System.arraycopy(other.versions, 0, versions, size, other.size);
+        System.arraycopy(other.urls, 0, urls, size, other.size);
+        System.arraycopy(other.licenseIds, 0, licenseIds, size, other.size);
+        System.arraycopy(other.attributionNoticeIds, 0, attributionNoticeIds, size, other.size);
+        size += other.size;
+        return this;
+    }
+
+    /**
+     * Merge all rows with the same name and return them sorted case-insensitively by name. Version and URL are taken from the first row of each name, licenses
+     * and attribution notices are combined in the order of the rows.
+     */
+    List<ComponentData> toComponentData() {
+        int[] groupOfName = new int[strings.size()];
+        Arrays.fill(groupOfName, -1);
+        int[] groupName = new int[size];
+        int[] firstRow = new int[size];
+        int[] lastRow = new int[size];
+        int[] nextRow = new int[size];
+        int groupCount = 0;
+
+        for (int row = 0; row < size; row++) {
+            int group = groupOfName[names[row]];
+            if (group < 0) {
+                group = groupCount++;
+                groupOfName[names[row]] = group;
+                groupName[group] = names[row];
+                firstRow[group] = row;
+            } else {
+                nextRow[lastRow[group]] = row;
+            }
+            lastRow[group] = row;
+            nextRow[row] = -1;
+        }
+
+        return IntStream.range(0, groupCount)
+                .boxed()
+                .sorted(Comparator.comparing(group -> strings.valueOf(groupName[group]), String.CASE_INSENSITIVE_ORDER))
+                .map(group -> createComponentData(groupName[group], firstRow[group], nextRow))
+                .collect(Collectors.toList());
+    }
+
+    private ComponentData createComponentData(int name, int firstRow, int[] nextRow) {
+        Set<License> mergedLicenses = new LinkedHashSet<>();
+        Set<String> mergedAttributionNotices = new LinkedHashSet<>();
+        for (int row = firstRow; row >= 0; row = nextRow[row]) {
+            for (int license : licenseIds[row]) {
+                mergedLicenses.add(licenses.valueOf(license));
+            }
+            for (int attributionNotice : attributionNoticeIds[row]) {
+                mergedAttributionNotices.add(strings.valueOf(attributionNotice));
+            }
+        }
+        return new ComponentData(strings.valueOf(name), strings.valueOf(versions[firstRow]), strings.valueOf(urls[firstRow]), mergedLicenses,
+                mergedAttributionNotices);
+    }
+
+    private static <T> int[] toIds(Collection<T> values, SymbolTable<T> symbols) {
+        if (values == null || values.isEmpty()) {
+            return NO_IDS;
+        }
+        return values.stream().mapToInt(symbols::idOf).toArray();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > names.length) {
+            int newCapacity = Math.max(capacity, names.length * 2);
+            names = Arrays.copyOf(names, newCapacity);
+            versions = Arrays.copyOf(versions, newCapacity);
+            urls = Arrays.copyOf(urls, newCapacity);
+            licenseIds = Arrays.copyOf(licenseIds, newCapacity);
+            attributionNoticeIds = Arrays.copyOf(attributionNoticeIds, newCapacity);
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.list;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns dense int IDs to values, so that repeated values are stored once and can be referenced by ID. Can be shared between threads.
+ */
+final class SymbolTable<T> {
+
+    static final int NO_SYMBOL = -1;
+
+    private final Map<T, Integer> ids = new ConcurrentHashMap<>();
+    private final List<T> values = new ArrayList<>();
+
+    int idOf(T value) {
+        if (value == null) {
+            return NO_SYMBOL;
+        }
+        return ids.computeIfAbsent(value, newValue -> {
+            synchronized (values) {
+                values.add(newValue);
+                return values.size() - 1;
+            }
+        });
+    }
+
+    T valueOf(int id) {
+        if (id == NO_SYMBOL) {
+            return null;
+        }
+        synchronized (values) {
+            return values.get(id);
+        }
+    }
+
+    int size() {
+        synchronized (values) {
+            return values.size();
+        }
+    }
+
+}
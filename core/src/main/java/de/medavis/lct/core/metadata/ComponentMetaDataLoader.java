@@ -19,24 +19,59 @@
  */
 package de.medavis.lct.core.metadata;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.http.JavaHttpTransport;
+
 public class ComponentMetaDataLoader {
 
     private static final Logger logger = LoggerFactory.getLogger(ComponentMetaDataLoader.class);
 
+    private final HttpTransport httpTransport;
+
+    public ComponentMetaDataLoader() {
+        this(JavaHttpTransport.shared());
+    }
+
+    public ComponentMetaDataLoader(HttpTransport httpTransport) {
+        this.httpTransport = httpTransport;
+    }
+
+    /**
+     * All patterns are compiled while loading, so that invalid patterns fail before any component is matched. All invalid entries are reported at once.
+     */
     public Collection<ComponentMetadata> load(URL metadataUrl) {
         ObjectMapper objectMapper = new ObjectMapper();
 
-        try {
-            List<ComponentMetadata> result = objectMapper.readValue(metadataUrl,
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, ComponentMetadata.class));
+        try (InputStream input = httpTransport.openStream(metadataUrl)) {
+            JsonNode entries = objectMapper.readTree(input);
+            if (entries == null || !entries.isArray()) {
+                throw new IllegalStateException("Component metadata in " + metadataUrl + " is not a list");
+            }
+            List<ComponentMetadata> result = new ArrayList<>();
+            List<String> errors = new ArrayList<>();
+            for (int i = 0; i < entries.size(); i++) {
+                try {
+                    result.add(objectMapper.treeToValue(entries.get(i), ComponentMetadata.class));
+                } catch (JsonProcessingException e) {
+                    String reason = e.getCause() instanceof IllegalArgumentException ? e.getCause().getMessage() : e.getOriginalMessage();
+                    errors.add(String.format("Rule %d: %s", i + 1, reason));
+                }
+            }
+            if (!errors.isEmpty()) {
+                throw new IllegalStateException("Invalid component metadata in " + metadataUrl + ": " + String.join("; ", errors));
+            }
             logger.info("Imported {} component metadata entries from {}.", result.size(), metadataUrl);
             return result;
         } catch (IOException e) {
@@ -25,11 +25,13 @@ import com.fasterxml.jackson.annotation.JsonSetter;
 import com.fasterxml.jackson.annotation.Nulls;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.google.common.base.Strings;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.StringJoiner;
-import java.util.regex.Pattern;
 
 public final class ComponentMetadata {
 
@@ -41,7 +43,12 @@ public final class ComponentMetadata {
     private final String comment;
     private final Set<String> licenses;
     private final Set<String> attributionNotices;
+    private final RulePattern groupPattern;
+    private final RulePattern namePattern;
 
+    /**
+     * @throws IllegalArgumentException if <code>groupMatch</code> or <code>nameMatch</code> is not a valid pattern
+     */
     @JsonCreator
     public ComponentMetadata(
             @JsonProperty("groupMatch") String groupMatch,
@@ -62,12 +69,65 @@ public final class ComponentMetadata {
         this.comment = comment;
         this.licenses = licenses;
         this.attributionNotices = attributionNotices;
+        this.groupPattern = compile("groupMatch", groupMatch);
+        this.namePattern = compile("nameMatch", nameMatch);
     }
 
+    private static RulePattern compile(String property, String regex) {
+        if (Strings.isNullOrEmpty(regex)) {
+            return null;
+        }
+        try {
+            return RulePattern.compile(regex);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(property + " " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @throws MatchTimeoutException if a pattern takes longer than {@link RulePattern#DEFAULT_MATCH_TIMEOUT} to match
+     */
     public boolean matches(String group, String name) {
-        boolean matchesGroup = Strings.isNullOrEmpty(groupMatch) || Pattern.matches(groupMatch, Strings.nullToEmpty(group));
-        boolean matchesName = Strings.isNullOrEmpty(nameMatch) || Pattern.matches(nameMatch, name);
-        return matchesGroup && matchesName;
+        return matches(group, name, RulePattern.DEFAULT_MATCH_TIMEOUT);
+    }
+
+    /**
+     * @param timeout Maximum time of matching each of the patterns
+     * @throws MatchTimeoutException if a pattern takes longer than <code>timeout</code> to match
+     */
+    public boolean matches(String group, String name, Duration timeout) {
+        // Name patterns are usually more selective, so they are checked first
+        boolean matchesName = namePattern == null || namePattern.matches(name, timeout);
+        return matchesName && (groupPattern == null || groupPattern.matches(Strings.nullToEmpty(group), timeout));
+    }
+
+    /**
+     * @return constructs of <code>groupMatch</code> and <code>nameMatch</code> which are prone to catastrophic backtracking, see
+     * {@link RulePattern#findRisks()}
+     */
+    public List<String> findRisks() {
+        List<String> risks = new ArrayList<>();
+        if (groupPattern != null) {
+            groupPattern.findRisks().forEach(risk -> risks.add("groupMatch: " + risk));
+        }
+        if (namePattern != null) {
+            namePattern.findRisks().forEach(risk -> risks.add("nameMatch: " + risk));
+        }
+        return risks;
+    }
+
+    /**
+     * @param index Position of this rule in the component metadata, starting at 0
+     * @return short description for reports, e.g. "Rule 3 (groupMatch 'org\.acme', nameMatch '', Comment)"
+     */
+    public String describe(int index) {
+        StringBuilder description = new StringBuilder("Rule ").append(index + 1).append(" (");
+        description.append("groupMatch '").append(Strings.nullToEmpty(groupMatch)).append("', ");
+        description.append("nameMatch '").append(Strings.nullToEmpty(nameMatch)).append("'");
+        if (!Strings.isNullOrEmpty(comment)) {
+            description.append(", ").append(comment);
+        }
+        return description.append(")").toString();
     }
 
     public String groupMatch() {
@@ -0,0 +1,66 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.metadata;
+
+/**
+ * Input for a regex matcher which fails once a deadline has passed. The matcher reads every character through {@link #charAt(int)}, also while
+ * backtracking, so this bounds the time of a match without a separate thread.
+ */
+final class DeadlineCharSequence implements CharSequence {
+
+    private static final int CHECK_INTERVAL_MASK = 0xFF;
+
+    private final CharSequence delegate;
+    private final long deadlineNanos;
+    private final String pattern;
+    private int reads;
+
+    DeadlineCharSequence(CharSequence delegate, long deadlineNanos, String pattern) {
+        this.delegate = delegate;
+        this.deadlineNanos = deadlineNanos;
+        this.pattern = pattern;
+    }
+
+    @Override
+    public int length() {
+        return delegate.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        // Reading the clock is much more expensive than reading a character, so it is only done every 256 reads
+        if ((++reads & CHECK_INTERVAL_MASK) == 0 && System.nanoTime() - deadlineNanos > 0) {
+            throw new MatchTimeoutException(String.format("Matching '%s' against pattern '%s' took too long, the pattern is probably prone to catastrophic "
+                    + "backtracking", delegate, pattern));
+        }
+        return delegate.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new DeadlineCharSequence(delegate.subSequence(start, end), deadlineNanos, pattern);
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+
+}
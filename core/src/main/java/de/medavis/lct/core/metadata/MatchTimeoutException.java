@@ -0,0 +1,31 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.metadata;
+
+/**
+ * Thrown if matching a component against a component metadata pattern takes longer than allowed, which usually indicates catastrophic backtracking.
+ */
+public class MatchTimeoutException extends IllegalStateException {
+
+    public MatchTimeoutException(String message) {
+        super(message);
+    }
+
+}
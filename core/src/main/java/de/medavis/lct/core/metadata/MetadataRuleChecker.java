@@ -0,0 +1,174 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.metadata;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Benchmarks component metadata rules against sample coordinates to find rules which are slow or prone to catastrophic backtracking.
+ */
+public class MetadataRuleChecker {
+
+    private static final int ROUNDS = 3;
+
+    private final Duration timeout;
+
+    public MetadataRuleChecker() {
+        this(RulePattern.DEFAULT_MATCH_TIMEOUT);
+    }
+
+    public MetadataRuleChecker(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return typical component coordinates and long repetitive inputs, which trigger backtracking in risky patterns
+     */
+    public static List<Sample> defaultSamples() {
+        return List.of(
+                new Sample("org.apache.commons", "commons-lang3"),
+                new Sample("com.fasterxml.jackson.core", "jackson-databind"),
+                new Sample("", "@angular/core"),
+                new Sample("io.netty", "netty-transport-native-epoll"),
+                new Sample("a".repeat(40) + "!", "a".repeat(40) + "!"),
+                new Sample("a.".repeat(30) + "!", "a-".repeat(30) + "!"),
+                new Sample("1".repeat(40) + "x", "1".repeat(40) + "x"),
+                new Sample(" ".repeat(40) + "!", "_".repeat(40) + "!"));
+    }
+
+    /**
+     * Matches every rule against every sample. A rule stops being benchmarked after its first timeout.
+     *
+     * @return one result per rule in the order of <code>rules</code>
+     */
+    public List<RuleCheck> check(List<ComponentMetadata> rules, Collection<Sample> samples) {
+        List<RuleCheck> result = new ArrayList<>(rules.size());
+        for (int i = 0; i < rules.size(); i++) {
+            result.add(check(i, rules.get(i), samples));
+        }
+        return result;
+    }
+
+    private RuleCheck check(int index, ComponentMetadata rule, Collection<Sample> samples) {
+        long totalNanos = 0;
+        long maxNanos = 0;
+        int matches = 0;
+        boolean timedOut = false;
+        for (Sample sample : samples) {
+            long sampleNanos = 0;
+            try {
+                for (int round = 0; round < ROUNDS; round++) {
+                    long start = System.nanoTime();
+                    rule.matches(sample.group, sample.name, timeout);
+                    sampleNanos += System.nanoTime() - start;
+                }
+            } catch (MatchTimeoutException e) {
+                timedOut = true;
+                maxNanos = Math.max(maxNanos, timeout.toNanos());
+                break;
+            }
+            totalNanos += sampleNanos;
+            maxNanos = Math.max(maxNanos, sampleNanos / ROUNDS);
+            matches += ROUNDS;
+        }
+        return new RuleCheck(index, rule.describe(index), rule.findRisks(), matches == 0 ? 0 : totalNanos / matches, maxNanos, timedOut);
+    }
+
+    public static final class Sample {
+
+        private final String group;
+        private final String name;
+
+        public Sample(String group, String name) {
+            this.group = group;
+            this.name = name;
+        }
+
+        public String getGroup() {
+            return group;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+    }
+
+    public static final class RuleCheck {
+
+        private final int index;
+        private final String description;
+        private final List<String> risks;
+        private final long averageNanos;
+        private final long maxNanos;
+        private final boolean timedOut;
+
+        RuleCheck(int index, String description, List<String> risks, long averageNanos, long maxNanos, boolean timedOut) {
+            this.index = index;
+            this.description = description;
+            this.risks = List.copyOf(risks);
+            this.averageNanos = averageNanos;
+            this.maxNanos = maxNanos;
+            this.timedOut = timedOut;
+        }
+
+        /**
+         * @return position of the rule in the component metadata, starting at 0
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public List<String> getRisks() {
+            return risks;
+        }
+
+        public long getAverageNanos() {
+            return averageNanos;
+        }
+
+        /**
+         * @return slowest match of a single sample, or the timeout if matching has been aborted
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public boolean isTimedOut() {
+            return timedOut;
+        }
+
+        /**
+         * @return whether matching has timed out or the patterns contain risky constructs
+         */
+        public boolean isUnsafe() {
+            return timedOut || !risks.isEmpty();
+        }
+
+    }
+
+}
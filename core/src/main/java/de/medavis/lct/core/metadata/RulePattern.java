@@ -0,0 +1,214 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.metadata;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A compiled <code>groupMatch</code> or <code>nameMatch</code> pattern of a component metadata rule. Matching is bounded in time, see
+ * {@link #matches(String, Duration)}.
+ */
+public final class RulePattern {
+
+    /**
+     * Maximum time of a single match. Matching a component name usually takes microseconds, so this is only reached by catastrophic backtracking.
+     */
+    public static final Duration DEFAULT_MATCH_TIMEOUT = Duration.ofMillis(200);
+
+    private final String regex;
+    private final Pattern pattern;
+
+    private RulePattern(String regex, Pattern pattern) {
+        this.regex = regex;
+        this.pattern = pattern;
+    }
+
+    /**
+     * @throws IllegalArgumentException if <code>regex</code> is not a valid pattern
+     */
+    public static RulePattern compile(String regex) {
+        try {
+            return new RulePattern(regex, Pattern.compile(regex));
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException(String.format("'%s' is not a valid pattern: %s", regex, e.getDescription()), e);
+        }
+    }
+
+    public String getRegex() {
+        return regex;
+    }
+
+    public boolean matches(String input) {
+        return matches(input, DEFAULT_MATCH_TIMEOUT);
+    }
+
+    /**
+     * @throws MatchTimeoutException if matching takes longer than <code>timeout</code>
+     */
+    public boolean matches(String input, Duration timeout) {
+        return pattern.matcher(new DeadlineCharSequence(input, System.nanoTime() + timeout.toNanos(), regex)).matches();
+    }
+
+    /**
+     * Find constructs which are prone to catastrophic backtracking: quantified groups which contain quantifiers or alternatives. This is a heuristic, it may
+     * report patterns which are harmless for the actual inputs and miss others.
+     *
+     * @return descriptions of the risky constructs, empty if none have been found
+     */
+    public List<String> findRisks() {
+        List<String> risks = new ArrayList<>();
+        Deque<Group> groups = new ArrayDeque<>();
+        Group current = new Group(0, false);
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipCharacterClass(i);
+            } else if (c == '(') {
+                groups.push(current);
+                current = new Group(i, regex.startsWith("(?>", i));
+            } else if (c == ')' && !groups.isEmpty()) {
+                boolean quantifiedGroup = isUnboundedQuantifier(i + 1);
+                if ((quantifiedGroup || isRepeatingQuantifier(i + 1)) && !current.atomic) {
+                    String construct = regex.substring(current.start, quantifierEnd(i + 1));
+                    if (current.quantified) {
+                        risks.add("nested quantifier in " + construct);
+                    } else if (current.alternation) {
+                        risks.add("quantified alternation in " + construct);
+                    }
+                }
+                Group parent = groups.pop();
+                parent.quantified |= current.quantified || quantifiedGroup;
+                current = parent;
+                i = Math.max(i, quantifierEnd(i + 1) - 1);
+            } else if (c == '|') {
+                current.alternation = true;
+            } else if (quantifierEnd(i) > 0) {
+                current.quantified |= isUnboundedQuantifier(i);
+                i = quantifierEnd(i) - 1;
+            }
+        }
+        return risks;
+    }
+
+    private int skipCharacterClass(int start) {
+        int i = start + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        // A closing bracket directly after the opening one is a literal
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        for (; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipCharacterClass(i);
+            } else if (c == ']') {
+                return i;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * @return the index after the quantifier at <code>index</code> including a lazy or possessive modifier, or -1 if there is none
+     */
+    private int quantifierEnd(int index) {
+        if (index >= regex.length()) {
+            return -1;
+        }
+        int end;
+        char c = regex.charAt(index);
+        if (c == '*' || c == '+' || c == '?') {
+            end = index + 1;
+        } else if (c == '{') {
+            int close = regex.indexOf('}', index);
+            if (close < 0 || !regex.substring(index + 1, close).matches("\\d+(,\\d*)?")) {
+                return -1;
+            }
+            end = close + 1;
+        } else {
+            return -1;
+        }
+        return end < regex.length() && (regex.charAt(end) == '?' || regex.charAt(end) == '+') ? end + 1 : end;
+    }
+
+    /**
+     * @return whether there is a quantifier without upper bound at <code>index</code> which may backtrack, i.e. is not possessive
+     */
+    private boolean isUnboundedQuantifier(int index) {
+        int end = quantifierEnd(index);
+        if (end < 0) {
+            return false;
+        }
+        char c = regex.charAt(index);
+        int baseEnd = c == '{' ? regex.indexOf('}', index) + 1 : index + 1;
+        // Possessive quantifiers like a*+ never backtrack
+        boolean possessive = end > baseEnd && regex.charAt(baseEnd) == '+';
+        boolean unbounded = c == '*' || c == '+' || c == '{' && regex.charAt(baseEnd - 2) == ',';
+        return unbounded && !possessive;
+    }
+
+    /**
+     * @return whether there is a quantifier at <code>index</code> which may repeat more than once and backtrack, e.g. <code>{20}</code>. Java memoizes
+     * unbounded group loops, but not counted ones.
+     */
+    private boolean isRepeatingQuantifier(int index) {
+        int end = quantifierEnd(index);
+        if (end < 0 || regex.charAt(index) != '{') {
+            return isUnboundedQuantifier(index);
+        }
+        int close = regex.indexOf('}', index);
+        boolean possessive = end > close + 1 && regex.charAt(close + 1) == '+';
+        String[] bounds = regex.substring(index + 1, close).split(",", -1);
+        String upper = bounds[bounds.length - 1];
+        return !possessive && (upper.isEmpty() || Integer.parseInt(upper) > 1);
+    }
+
+    @Override
+    public String toString() {
+        return regex;
+    }
+
+    private static final class Group {
+
+        private final int start;
+        private final boolean atomic;
+        private boolean quantified;
+        private boolean alternation;
+
+        private Group(int start, boolean atomic) {
+            this.start = start;
+            this.atomic = atomic;
+        }
+
+    }
+
+}
@@ -27,10 +27,12 @@ import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.List;
 
+import de.medavis.lct.core.execution.ExecutionContext;
 import de.medavis.lct.core.list.ComponentData;
 
 public class FreemarkerOutputter {
@@ -58,4 +60,45 @@ public class FreemarkerOutputter {
             throw new IllegalStateException(e);
         }
     }
+
+    /**
+     * Render <code>data</code> to all <code>outputs</code> concurrently. The writers are not closed.
+     */
+    public void outputAll(List<ComponentData> data, List<Output> outputs, ExecutionContext executionContext) throws IOException {
+        try {
+            executionContext.map(outputs, output -> {
+                try {
+                    output(data, output.writer, output.templateUrl);
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * A writer and the URL of the template rendered to it, <code>null</code> for the default template.
+     */
+    public static final class Output {
+
+        private final String templateUrl;
+        private final Writer writer;
+
+        public Output(String templateUrl, Writer writer) {
+            this.templateUrl = templateUrl;
+            this.writer = writer;
+        }
+
+        public String getTemplateUrl() {
+            return templateUrl;
+        }
+
+        public Writer getWriter() {
+            return writer;
+        }
+
+    }
 }
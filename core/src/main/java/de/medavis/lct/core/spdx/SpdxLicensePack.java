@@ -0,0 +1,223 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.spdx;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.medavis.lct.core.downloader.LicenseMirror;
+import de.medavis.lct.core.downloader.MirroredLicense;
+
+/**
+ * Texts of the SPDX license list, read from a memory-mapped pack file created by {@link SpdxLicensePackWriter}. Licenses are found by their SPDX ID
+ * (case-insensitive) or by their URL on spdx.org. Licenses with any other download URL are never served from the pack.
+ * <p>
+ * Pack format (big endian): magic, format version, pack version, number of entries, index of entries (ID, offset, compressed and uncompressed length)
+ * followed by the deflate-compressed texts.
+ */
+public final class SpdxLicensePack implements LicenseMirror {
+
+    static final int MAGIC = 0x4C435350; // "LCSP"
+    static final int FORMAT_VERSION = 1;
+    static final String BUNDLED_RESOURCE = "spdx-licenses.pack";
+
+    private static final Logger log = LoggerFactory.getLogger(SpdxLicensePack.class);
+    private static final Pattern SPDX_URL = Pattern.compile("https?://spdx\\.org/licenses/([^/?#]+?)(?:\\.html|\\.txt|\\.json)?(?:[?#].*)?");
+
+    private final String version;
+    private final ByteBuffer buffer;
+    private final Map<String, Entry> entries;
+
+    private SpdxLicensePack(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not an SPDX license pack");
+        }
+        int formatVersion = buffer.getInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported SPDX license pack format " + formatVersion);
+        }
+        this.version = readString(buffer);
+        int count = buffer.getInt();
+        Map<String, Entry> index = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String id = readString(buffer);
+            index.put(id.toLowerCase(Locale.ROOT), new Entry(id, buffer.getLong(), buffer.getInt(), buffer.getInt()));
+        }
+        this.entries = index;
+    }
+
+    /**
+     * Memory-map a pack file.
+     */
+    public static SpdxLicensePack open(Path pack) throws IOException {
+        try (FileChannel channel = FileChannel.open(pack, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new SpdxLicensePack(buffer);
+        }
+    }
+
+    /**
+     * @return the pack bundled with LCT, if it was built with the SPDX license pack.
+     */
+    public static Optional<SpdxLicensePack> bundled() {
+        return Optional.ofNullable(BundledInstance.INSTANCE);
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean contains(String id) {
+        return id != null && entries.containsKey(id.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return the license text of the SPDX license with the given ID
+     */
+    public Optional<String> getText(String id) {
+        return id != null ? Optional.ofNullable(entries.get(id.toLowerCase(Locale.ROOT))).map(this::inflate) : Optional.empty();
+    }
+
+    /**
+     * Only licenses without a download URL or with a URL on spdx.org are served, so that a configured download URL always takes precedence over the text of
+     * an SPDX license with the same name.
+     */
+    @Override
+    public Optional<MirroredLicense> find(String license, String url) {
+        Optional<String> text;
+        if (url == null || url.isBlank()) {
+            text = getText(license);
+        } else {
+            Matcher matcher = SPDX_URL.matcher(url);
+            if (!matcher.matches()) {
+                return Optional.empty();
+            }
+            text = getText(matcher.group(1)).or(() -> getText(license));
+        }
+        return text.map(content -> new MirroredLicense(".txt", content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String inflate(Entry entry) {
+        // Duplicate the buffer, so that concurrent lookups do not share its position
+        ByteBuffer compressed = buffer.duplicate();
+        compressed.position((int) entry.offset).limit((int) entry.offset + entry.compressedLength);
+        byte[] result = new byte[entry.length];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int inflated = 0;
+            while (inflated < result.length && !inflater.finished()) {
+                int count = inflater.inflate(result, inflated, result.length - inflated);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += count;
+            }
+            if (inflated != result.length) {
+                throw new IllegalStateException("SPDX license pack entry " + entry.id + " is truncated");
+            }
+            return new String(result, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("SPDX license pack entry " + entry.id + " is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static SpdxLicensePack loadBundled() {
+        URL resource = SpdxLicensePack.class.getResource(BUNDLED_RESOURCE);
+        if (resource == null) {
+            return null;
+        }
+        try {
+            Path pack;
+            if ("file".equals(resource.getProtocol())) {
+                pack = Paths.get(resource.toURI());
+            } else {
+                // Resources inside a JAR cannot be mapped directly
+                pack = Files.createTempFile("lct-spdx", ".pack");
+                pack.toFile().deleteOnExit();
+                try (InputStream input = resource.openStream()) {
+                    Files.copy(input, pack, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            SpdxLicensePack result = open(pack);
+            log.info("Loaded SPDX license pack {} with {} licenses.", result.version(), result.size());
+            return result;
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            log.warn("Cannot load bundled SPDX license pack, licenses will be downloaded.", e);
+            return null;
+        }
+    }
+
+    private static final class Entry {
+
+        private final String id;
+        private final long offset;
+        private final int compressedLength;
+        private final int length;
+
+        private Entry(String id, long offset, int compressedLength, int length) {
+            this.id = id;
+            this.offset = offset;
+            this.compressedLength = compressedLength;
+            this.length = length;
+        }
+    }
+
+    private static final class BundledInstance {
+
+        private static final SpdxLicensePack INSTANCE = loadBundled();
+
+    }
+
+}
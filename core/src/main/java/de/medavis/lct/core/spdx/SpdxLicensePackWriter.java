@@ -0,0 +1,153 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.spdx;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import static de.medavis.lct.core.spdx.SpdxLicensePack.FORMAT_VERSION;
+import static de.medavis.lct.core.spdx.SpdxLicensePack.MAGIC;
+
+/**
+ * Creates an {@link SpdxLicensePack} from the <code>text</code> directory of the SPDX license-list-data repository. It is run by the
+ * <code>spdx-pack</code> build profile.
+ */
+public final class SpdxLicensePackWriter {
+
+    private static final String TEXT_EXTENSION = ".txt";
+    private static final String DEPRECATED_PREFIX = "deprecated_";
+
+    private SpdxLicensePackWriter() {
+    }
+
+    /**
+     * @param args directory containing the license texts, pack version, output file
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Usage: SpdxLicensePackWriter <text directory> <version> <output file>");
+        }
+        int count = write(Paths.get(args[0]), args[1], Paths.get(args[2]));
+        System.out.printf("Wrote SPDX license pack %s with %d licenses to %s.%n", args[1], count, args[2]);
+    }
+
+    /**
+     * Deprecated licenses (files prefixed with <code>deprecated_</code>) are added with their original ID unless a current license has the same ID.
+     *
+     * @return number of licenses in the pack
+     */
+    public static int write(Path textDirectory, String version, Path output) throws IOException {
+        Map<String, Path> textsById = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        List<Path> files;
+        try (Stream<Path> list = Files.list(textDirectory)) {
+            files = list.filter(file -> file.getFileName().toString().endsWith(TEXT_EXTENSION))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        files.stream()
+                .filter(file -> !file.getFileName().toString().startsWith(DEPRECATED_PREFIX))
+                .forEach(file -> textsById.put(toId(file), file));
+        files.stream()
+                .filter(file -> file.getFileName().toString().startsWith(DEPRECATED_PREFIX))
+                .forEach(file -> textsById.putIfAbsent(toId(file).substring(DEPRECATED_PREFIX.length()), file));
+
+        List<String> ids = new ArrayList<>(textsById.keySet());
+        List<byte[]> compressed = new ArrayList<>(ids.size());
+        List<Integer> lengths = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            byte[] text = Files.readAllBytes(textsById.get(id));
+            lengths.add(text.length);
+            compressed.add(deflate(text));
+        }
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        long dataOffset = headerSize(version, ids);
+        try (DataOutputStream out = new DataOutputStream(header)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, version);
+            out.writeInt(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                writeString(out, ids.get(i));
+                out.writeLong(dataOffset);
+                out.writeInt(compressed.get(i).length);
+                out.writeInt(lengths.get(i));
+                dataOffset += compressed.get(i).length;
+            }
+        }
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(output)) {
+            header.writeTo(out);
+            for (byte[] data : compressed) {
+                out.write(data);
+            }
+        }
+        return ids.size();
+    }
+
+    private static long headerSize(String version, List<String> ids) {
+        long result = Integer.BYTES * 3L + stringSize(version);
+        for (String id : ids) {
+            result += stringSize(id) + Long.BYTES + Integer.BYTES * 2L;
+        }
+        return result;
+    }
+
+    private static int stringSize(String value) {
+        return Short.BYTES + value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String toId(Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.substring(0, fileName.length() - TEXT_EXTENSION.length());
+    }
+
+    private static byte[] deflate(byte[] text) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(result, new Deflater(Deflater.BEST_COMPRESSION))) {
+            out.write(text);
+        }
+        return result.toByteArray();
+    }
+
+}
@@ -0,0 +1,61 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.urlchecker;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.http.HttpTransport;
+
+/**
+ * {@link OnlineHttpUrlChecker} which takes results from a {@link UrlAvailabilityCache} and only accesses URLs which are not cached or whose entry has
+ * expired.
+ */
+public class CachingHttpUrlChecker extends OnlineHttpUrlChecker {
+
+    private final UrlAvailabilityCache cache;
+
+    public CachingHttpUrlChecker(HttpTransport httpTransport, ExecutionContext executionContext, UrlAvailabilityCache cache) {
+        super(httpTransport, executionContext);
+        this.cache = cache;
+    }
+
+    @Override
+    protected Optional<Boolean> check(String urlString) {
+        return cache.get(urlString).or(() -> checkAndStore(urlString));
+    }
+
+    /**
+     * Check <code>urlString</code> without looking into the cache, and store the result in the cache. Failed checks, e.g. timeouts or aborted builds, say
+     * nothing about the URL and are not stored.
+     */
+    public boolean refresh(String urlString) {
+        return checkAndStore(urlString).orElse(false);
+    }
+
+    private Optional<Boolean> checkAndStore(String urlString) {
+        long start = System.nanoTime();
+        Optional<Boolean> available = checkStatus(urlString);
+        available.ifPresent(result -> cache.put(urlString, result, Duration.ofNanos(System.nanoTime() - start)));
+        return available;
+    }
+
+}
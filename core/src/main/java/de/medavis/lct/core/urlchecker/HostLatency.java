@@ -0,0 +1,67 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.urlchecker;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+/**
+ * Average time of the availability checks of one host, see {@link UrlAvailabilityCache}.
+ */
+public final class HostLatency implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String host;
+    private long probes;
+    private long totalMillis;
+
+    HostLatency(String host) {
+        this(host, 0, 0);
+    }
+
+    private HostLatency(String host, long probes, long totalMillis) {
+        this.host = host;
+        this.probes = probes;
+        this.totalMillis = totalMillis;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public synchronized long getProbes() {
+        return probes;
+    }
+
+    public synchronized long getAverageMillis() {
+        return probes == 0 ? 0 : totalMillis / probes;
+    }
+
+    synchronized void add(Duration probeTime) {
+        probes++;
+        totalMillis += probeTime.toMillis();
+    }
+
+    synchronized HostLatency snapshot() {
+        return new HostLatency(host, probes, totalMillis);
+    }
+
+}
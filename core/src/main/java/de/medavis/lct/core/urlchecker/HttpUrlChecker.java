@@ -19,6 +19,12 @@
  */
 package de.medavis.lct.core.urlchecker;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.medavis.lct.core.execution.TimeBudget;
+
 public interface HttpUrlChecker {
 
     /**
@@ -28,4 +34,30 @@ public interface HttpUrlChecker {
      * @return
      */
     boolean isUrlAvailable(String urlString);
+
+    /**
+     * Check the availability of all <code>urlStrings</code>, see {@link #isUrlAvailable(String)}.
+     *
+     * @return availability by URL, in the order of <code>urlStrings</code>
+     */
+    default Map<String, Boolean> checkAvailability(Collection<String> urlStrings) {
+        return checkAvailability(urlStrings, TimeBudget.unlimited());
+    }
+
+    /**
+     * Check the availability of <code>urlStrings</code> until <code>timeBudget</code> is exhausted.
+     *
+     * @return availability by URL, in the order of <code>urlStrings</code>. URLs which have not been checked because the time budget is exhausted are
+     * missing.
+     */
+    default Map<String, Boolean> checkAvailability(Collection<String> urlStrings, TimeBudget timeBudget) {
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        for (String url : urlStrings) {
+            if (timeBudget.isExhausted()) {
+                break;
+            }
+            result.put(url, isUrlAvailable(url));
+        }
+        return result;
+    }
 }
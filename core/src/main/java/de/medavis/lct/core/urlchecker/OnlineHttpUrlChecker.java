@@ -20,15 +20,22 @@
 package de.medavis.lct.core.urlchecker;
 
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import static java.time.temporal.ChronoUnit.SECONDS;
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.execution.TimeBudget;
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.http.JavaHttpTransport;
 
 /**
  * Implementation of {@link HttpUrlChecker} that accesses the URL over the Internet.
@@ -37,36 +44,83 @@ public class OnlineHttpUrlChecker implements HttpUrlChecker {
 
     private final Logger log = LoggerFactory.getLogger(getClass());
 
-    private final HttpClient httpClient = java.net.http.HttpClient.newBuilder()
-                                                                  .followRedirects(HttpClient.Redirect.NORMAL)
-                                                                  .connectTimeout(Duration.of(1, SECONDS))
-                                                                  .build();
+    private final HttpTransport httpTransport;
+    private final ExecutionContext executionContext;
 
+    public OnlineHttpUrlChecker() {
+        this(ExecutionContext.sequential());
+    }
+
+    public OnlineHttpUrlChecker(ExecutionContext executionContext) {
+        this(JavaHttpTransport.shared(), executionContext);
+    }
+
+    /**
+     * @param executionContext Used to check several URLs concurrently in {@link #checkAvailability(Collection, TimeBudget)}.
+     */
+    public OnlineHttpUrlChecker(HttpTransport httpTransport, ExecutionContext executionContext) {
+        this.httpTransport = httpTransport;
+        this.executionContext = executionContext;
+    }
+
+    /**
+     * URLs that could not be checked, e.g. because a request has been cut off at the end of the time budget, are missing from the result like URLs whose
+     * check has not been started.
+     */
+    @Override
+    public Map<String, Boolean> checkAvailability(Collection<String> urlStrings, TimeBudget timeBudget) {
+        List<String> distinctUrls = new ArrayList<>(new LinkedHashSet<>(urlStrings));
+        List<Optional<Boolean>> availability = executionContext.map(distinctUrls,
+                url -> timeBudget.isExhausted() ? Optional.<Boolean>empty() : check(url));
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        for (int i = 0; i < distinctUrls.size(); i++) {
+            final String url = distinctUrls.get(i);
+            availability.get(i).ifPresent(available -> result.put(url, available));
+        }
+        return result;
+    }
+
+    /**
+     * URLs that could not be checked count as unavailable.
+     */
     @Override
     public boolean isUrlAvailable(String urlString) {
-        boolean result = false;
-        String reason;
+        return check(urlString).orElse(false);
+    }
+
+    /**
+     * Check <code>urlString</code>, e.g. by accessing it over the Internet.
+     *
+     * @return whether the URL is available, or empty if it could not be checked, see {@link #checkStatus(String)}
+     */
+    protected Optional<Boolean> check(String urlString) {
+        return checkStatus(urlString);
+    }
+
+    /**
+     * Access <code>urlString</code> over the Internet.
+     *
+     * @return whether the URL is available according to its status code or syntax, or empty if it could not be checked, e.g. because of a timeout, an
+     * unavailable host or an aborted build
+     */
+    protected Optional<Boolean> checkStatus(String urlString) {
+        URI uri;
         try {
-            var req = HttpRequest.newBuilder()
-                                 .uri(new URI(urlString))
-                                 .GET()
-                                 .build();
-            var resp = httpClient.send(req, HttpResponse.BodyHandlers.discarding());
-            result = resp.statusCode() == 200;
-            reason = "Status code is " + resp.statusCode();
-        } catch(Exception e) {
-            if(e instanceof InterruptedException) {
-                // Thread was interrupted, re-interrupt it
-                Thread.currentThread().interrupt();
-            }
-            result = false;
-            reason = "Exception: " + e.getMessage();
+            uri = new URI(urlString);
+        } catch (URISyntaxException e) {
+            log.debug("URL {} is not available. Reason: {}", urlString, e.getMessage());
+            return Optional.of(false);
         }
-        if (!result) {
-            log.debug("URL {} is not available. Reason: {}", urlString, reason);
+        try {
+            int statusCode = httpTransport.getStatus(uri);
+            if (statusCode != 200) {
+                log.debug("URL {} is not available. Reason: Status code is {}", urlString, statusCode);
+            }
+            return Optional.of(statusCode == 200);
+        } catch (Exception e) {
+            log.debug("URL {} could not be checked. Reason: Exception: {}", urlString, e.getMessage());
+            return Optional.empty();
         }
-        return result;
-
     }
 
 }
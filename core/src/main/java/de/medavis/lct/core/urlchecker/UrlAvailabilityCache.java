@@ -0,0 +1,171 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.urlchecker;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Thread-safe cache of URL availability which can be shared by all checks of a long-running process, see {@link CachingHttpUrlChecker}. Entries expire
+ * after a fixed time to live, unavailable URLs after at most {@link #MAX_NEGATIVE_TIME_TO_LIVE}, so that a short outage does not hide a URL for long. URLs that have been requested recently can be probed again before they expire, see {@link #urlsToRefresh(Duration, Duration)},
+ * so that checks almost always hit the cache.
+ */
+public final class UrlAvailabilityCache {
+
+    public static final Duration MAX_NEGATIVE_TIME_TO_LIVE = Duration.ofMinutes(15);
+
+    private final Duration timeToLive;
+    private final Duration negativeTimeToLive;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, HostLatency> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public UrlAvailabilityCache(Duration timeToLive) {
+        this(timeToLive, Clock.systemUTC());
+    }
+
+    UrlAvailabilityCache(Duration timeToLive, Clock clock) {
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive, but was " + timeToLive);
+        }
+        this.timeToLive = timeToLive;
+        this.negativeTimeToLive = timeToLive.compareTo(MAX_NEGATIVE_TIME_TO_LIVE) < 0 ? timeToLive : MAX_NEGATIVE_TIME_TO_LIVE;
+        this.clock = clock;
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * @return the availability of <code>url</code>, if it has been checked within the time to live. Counts as hit or miss in the statistics.
+     */
+    public Optional<Boolean> get(String url) {
+        Instant now = clock.instant();
+        Entry entry = entries.computeIfPresent(url, (key, existing) -> existing.requestedAt(now));
+        if (entry == null || isExpired(entry, now)) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        return Optional.of(entry.available);
+    }
+
+    /**
+     * Store the result of a check, which took <code>probeTime</code>.
+     */
+    public void put(String url, boolean available, Duration probeTime) {
+        Instant now = clock.instant();
+        entries.merge(url, new Entry(available, now, now), (existing, updated) -> new Entry(available, now, existing.lastRequested));
+        latencies.computeIfAbsent(hostOf(url), HostLatency::new).add(probeTime);
+    }
+
+    /**
+     * @return URLs which have been requested within <code>recentlyUsed</code> and expire within <code>refreshAhead</code> or have already expired
+     */
+    public List<String> urlsToRefresh(Duration refreshAhead, Duration recentlyUsed) {
+        Instant now = clock.instant();
+        return entries.entrySet().stream()
+                .filter(entry -> !entry.getValue().lastRequested.isBefore(now.minus(recentlyUsed)))
+                .filter(entry -> isExpired(entry.getValue(), now.plus(refreshAhead)))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Remove URLs which have not been requested within <code>unusedFor</code>.
+     *
+     * @return the number of removed URLs
+     */
+    public int evictUnused(Duration unusedFor) {
+        Instant limit = clock.instant().minus(unusedFor);
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.lastRequested.isBefore(limit));
+        return before - entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+        latencies.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * @param slowestHosts Maximum number of hosts in {@link UrlCacheStats#getSlowestHosts()}.
+     */
+    public UrlCacheStats stats(int slowestHosts) {
+        Instant now = clock.instant();
+        long stale = entries.values().stream().filter(entry -> isExpired(entry, now)).count();
+        List<HostLatency> slowest = latencies.values().stream()
+                .map(HostLatency::snapshot)
+                .sorted(Comparator.comparing(HostLatency::getAverageMillis).reversed())
+                .limit(slowestHosts)
+                .collect(Collectors.toList());
+        return new UrlCacheStats(hits.get(), misses.get(), entries.size(), stale, slowest);
+    }
+
+    private boolean isExpired(Entry entry, Instant now) {
+        return entry.isExpired(now, entry.available ? timeToLive : negativeTimeToLive);
+    }
+
+    private static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private static final class Entry {
+
+        private final boolean available;
+        private final Instant checked;
+        private final Instant lastRequested;
+
+        private Entry(boolean available, Instant checked, Instant lastRequested) {
+            this.available = available;
+            this.checked = checked;
+            this.lastRequested = lastRequested;
+        }
+
+        private Entry requestedAt(Instant now) {
+            return new Entry(available, checked, now);
+        }
+
+        private boolean isExpired(Instant now, Duration timeToLive) {
+            return !checked.plus(timeToLive).isAfter(now);
+        }
+
+    }
+
+}
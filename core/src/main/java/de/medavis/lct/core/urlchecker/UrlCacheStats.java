@@ -0,0 +1,77 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.urlchecker;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Statistics of a {@link UrlAvailabilityCache}.
+ */
+public final class UrlCacheStats implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long hits;
+    private final long misses;
+    private final int entries;
+    private final long staleEntries;
+    private final List<HostLatency> slowestHosts;
+
+    UrlCacheStats(long hits, long misses, int entries, long staleEntries, List<HostLatency> slowestHosts) {
+        this.hits = hits;
+        this.misses = misses;
+        this.entries = entries;
+        this.staleEntries = staleEntries;
+        this.slowestHosts = List.copyOf(slowestHosts);
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return share of hits in all requests in percent, 0 if there have been no requests
+     */
+    public int getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (int) (hits * 100 / requests);
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public long getStaleEntries() {
+        return staleEntries;
+    }
+
+    /**
+     * @return hosts ordered by average check time, slowest first
+     */
+    public List<HostLatency> getSlowestHosts() {
+        return slowestHosts;
+    }
+
+}
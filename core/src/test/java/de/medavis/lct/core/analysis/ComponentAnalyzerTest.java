@@ -0,0 +1,93 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.analysis;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import de.medavis.lct.core.license.License;
+import de.medavis.lct.core.list.ComponentData;
+import de.medavis.lct.core.list.ComponentIndex;
+import de.medavis.lct.core.list.ComponentIndex.Entry;
+import de.medavis.lct.core.metadata.ComponentMetadata;
+
+class ComponentAnalyzerTest {
+
+    private static final License MIT = License.fromConfig("MIT", "https://mit", null);
+    private static final License CUSTOM = License.dynamic("Custom", null);
+    private static final List<ComponentMetadata> RULES = List.of(
+            new ComponentMetadata("org\\.lib", null, false, "Lib", null, null, Set.of(), Set.of()),
+            new ComponentMetadata("org\\.old", null, false, null, null, "Removed dependency", Set.of(), Set.of()));
+    private static final ComponentIndex INDEX = new ComponentIndex(RULES,
+            List.of(
+                    new Entry("org.lib", "lib-core", "1.0", "Lib", "https://lib", Set.of(MIT), Set.of(), 0, -1, false),
+                    new Entry("org.lib", "lib-extra", "1.1", "Lib", "https://lib", Set.of(MIT), Set.of(), 0, -1, false),
+                    new Entry("org.other", "other", "2.0", "org.other.other", null, Set.of(CUSTOM), Set.of(), -1, -1, false),
+                    new Entry("org.bare", "bare", "3.0", "org.bare.bare", "https://bare", Set.of(), Set.of(), -1, -1, false)),
+            List.of(
+                    new ComponentData("Lib", "1.0", "https://lib", Set.of(MIT), Set.of()),
+                    new ComponentData("org.bare.bare", "3.0", "https://bare", Set.of(), Set.of()),
+                    new ComponentData("org.other.other", "2.0", null, Set.of(CUSTOM), Set.of())));
+
+    private final ComponentAnalyzer underTest = new ComponentAnalyzer();
+
+    @Test
+    void shouldRunAllModesInOnePass() {
+        List<AnalysisReport> reports = underTest.analyze(EnumSet.allOf(AnalysisMode.class), INDEX);
+
+        assertThat(reports).extracting(AnalysisReport::getMode).containsExactly(AnalysisMode.values());
+        assertThat(reports).extracting(AnalysisReport::getFindings).containsExactly(
+                List.of("org.other.other"),
+                List.of("org.bare.bare"),
+                List.of("org.other.other: Custom"),
+                List.of("Lib: 1.0, 1.1"),
+                List.of("org.bare.bare", "org.other.other"),
+                List.of("Rule 2 (groupMatch 'org\\.old', nameMatch '', Removed dependency)"));
+    }
+
+    @Test
+    void shouldReportHitsOfAllRules() throws IOException {
+        AnalysisReport report = underTest.analyze(Set.of(AnalysisMode.UNUSED_METADATA_RULES), INDEX).get(0);
+        StringWriter text = new StringWriter();
+        report.write(text);
+
+        assertThat(report.getCounts()).containsExactly(
+                entry("Rule 1 (groupMatch 'org\\.lib', nameMatch '')", 2),
+                entry("Rule 2 (groupMatch 'org\\.old', nameMatch '', Removed dependency)", 0));
+        assertThat(text.toString())
+                .startsWith("Detected 1 component metadata rules which do not match any component:")
+                .contains("Components per rule:");
+    }
+
+    @Test
+    void shouldOnlyReportRequestedModes() {
+        assertThat(underTest.analyze(Set.of(AnalysisMode.MISSING_URL), INDEX))
+                .singleElement()
+                .satisfies(report -> assertThat(report.getFindings()).containsExactly("org.other.other"));
+    }
+
+}
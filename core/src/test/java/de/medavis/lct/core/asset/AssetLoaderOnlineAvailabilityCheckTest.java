@@ -22,24 +22,33 @@ package de.medavis.lct.core.asset;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
 import com.google.common.io.Resources;
 import org.apache.commons.io.IOUtils;
-import org.assertj.core.api.AbstractObjectAssert;
+import org.assertj.core.api.AbstractStringAssert;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.notFound;
 import static com.github.tomakehurst.wiremock.client.WireMock.ok;
 import static com.github.tomakehurst.wiremock.client.WireMock.removeAllMappings;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import de.medavis.lct.core.execution.TimeBudget;
+import de.medavis.lct.core.execution.TimeBudget.Work;
+
 @WireMockTest
 class AssetLoaderOnlineAvailabilityCheckTest {
 
@@ -72,7 +81,7 @@ class AssetLoaderOnlineAvailabilityCheckTest {
 
         Asset actual = underTest.loadFromBom(bomWithWireMockUrl);
 
-        assertComponentUrl(actual).isEqualTo(wmRuntimeInfo.getHttpBaseUrl() + URL_PATH_VCS);
+        assertResolvedUrl(actual).isEqualTo(wmRuntimeInfo.getHttpBaseUrl() + URL_PATH_VCS);
     }
 
     @Test
@@ -82,7 +91,7 @@ class AssetLoaderOnlineAvailabilityCheckTest {
 
         Asset actual = underTest.loadFromBom(bomWithWireMockUrl);
 
-        assertComponentUrl(actual).isEqualTo(wmRuntimeInfo.getHttpBaseUrl() + URL_PATH_WEBSITE);
+        assertResolvedUrl(actual).isEqualTo(wmRuntimeInfo.getHttpBaseUrl() + URL_PATH_WEBSITE);
     }
 
     @Test
@@ -92,11 +101,44 @@ class AssetLoaderOnlineAvailabilityCheckTest {
 
         Asset actual = underTest.loadFromBom(bomWithWireMockUrl);
 
-        assertComponentUrl(actual).isNull();
+        assertResolvedUrl(actual).isNull();
+    }
+
+    @Test
+    void shouldNotCheckAvailabilityWhileLoading(WireMockRuntimeInfo wmRuntimeInfo) {
+        Asset actual = underTest.loadFromBom(bomWithWireMockUrl);
+
+        verify(0, getRequestedFor(anyUrl()));
+        assertThat(actual.components()).hasSize(1).first().extracting(Component::urlCandidates).isEqualTo(List.of(
+                wmRuntimeInfo.getHttpBaseUrl() + URL_PATH_VCS,
+                wmRuntimeInfo.getHttpBaseUrl() + URL_PATH_WEBSITE));
+    }
+
+    @Test
+    void shouldNotCheckWebsiteIfVCSIsAvailable() {
+        stubFor(get(URL_PATH_VCS).willReturn(ok()));
+
+        underTest.resolveUrls(underTest.loadFromBom(bomWithWireMockUrl).components());
+
+        verify(0, getRequestedFor(urlEqualTo(URL_PATH_WEBSITE)));
+    }
+
+    @Test
+    void shouldUsePreferredUrlWithoutCheckWhenTimeBudgetIsExhausted(WireMockRuntimeInfo wmRuntimeInfo) throws InterruptedException {
+        TimeBudget timeBudget = TimeBudget.of(Duration.ofMillis(1));
+        Thread.sleep(10);
+        var components = underTest.loadFromBom(bomWithWireMockUrl).components();
+
+        var actual = underTest.resolveUrls(components, timeBudget);
+
+        verify(0, getRequestedFor(anyUrl()));
+        assertThat(actual).containsValue(wmRuntimeInfo.getHttpBaseUrl() + URL_PATH_VCS);
+        assertThat(timeBudget.getCutShort(Work.URL_CHECK)).containsExactly(wmRuntimeInfo.getHttpBaseUrl() + URL_PATH_VCS);
     }
 
-    private static AbstractObjectAssert<?, String> assertComponentUrl(final Asset actual) {
-        return assertThat(actual.components()).hasSize(1).first().extracting(Component::url);
+    private AbstractStringAssert<?> assertResolvedUrl(final Asset actual) {
+        assertThat(actual.components()).hasSize(1);
+        return assertThat(underTest.resolveUrls(actual.components()).get(actual.components().iterator().next()));
     }
 
 }
@@ -20,14 +20,23 @@
 package de.medavis.lct.core.asset;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import de.medavis.lct.core.execution.ExecutionContext;
 import de.medavis.lct.core.license.License;
 
 class AssetLoaderTest {
@@ -46,17 +55,45 @@ class AssetLoaderTest {
         assertThat(actual.name()).isEqualTo("de.medavis.license-compliance-tool-core");
         assertThat(actual.version()).isEqualTo("1.4.0");
         assertThat(actual.components()).contains(
-                new Component("org.cyclonedx", "cyclonedx-core-java", "9.0.0", "https://github.com/CycloneDX/cyclonedx-core-java.git", ImmutableSet.of(
+                new Component("org.cyclonedx", "cyclonedx-core-java", "9.0.0", List.of(
+                        "https://github.com/CycloneDX/cyclonedx-core-java.git",
+                        "https://github.com/CycloneDX/cyclonedx-core-java"), ImmutableSet.of(
                         License.dynamic("Apache-2.0", "https://www.apache.org/licenses/LICENSE-2.0")
                 )),
                 new Component("org.codehaus.woodstox", "stax2-api", "4.2.2", "http://github.com/FasterXML/stax2-api", ImmutableSet.of(
                         License.dynamic("BSD-2-Clause", null)
                 )),
-                new Component(null, "slf4j-api", "2.0.13", "https://github.com/qos-ch/slf4j/slf4j-parent/slf4j-api", ImmutableSet.of(
+                new Component(null, "slf4j-api", "2.0.13", List.of(
+                        "https://github.com/qos-ch/slf4j/slf4j-parent/slf4j-api",
+                        "http://www.slf4j.org"), ImmutableSet.of(
                         License.dynamic("MIT", "https://opensource.org/licenses/MIT"),
                         License.dynamic("GNU Lesser General Public License", "http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html")))
         );
     }
 
+    @Test
+    void shouldTakeParsedBomFromCache(@TempDir Path cacheDirectory) throws IOException {
+        byte[] bom = getClass().getResourceAsStream(SAMPLE_BOM + "-1.5.json").readAllBytes();
+        AssetLoader cachingLoader = new AssetLoader(url -> true, ExecutionContext.sequential(), BomCache.inDirectory(cacheDirectory));
+
+        Asset parsed = cachingLoader.loadFromBom(new ByteArrayInputStream(bom));
+        Asset cached = cachingLoader.loadFromBom(new ByteArrayInputStream(bom));
+
+        assertThat(cached).isEqualTo(parsed).isNotSameAs(parsed);
+        assertThat(cacheDirectory.resolve(Hashing.sha256().hashBytes(bom) + DirectoryBomCache.EXTENSION)).isRegularFile();
+    }
+
+    @Test
+    void shouldNotParseCachedBom(@TempDir Path cacheDirectory) {
+        byte[] invalidBom = "not a BOM".getBytes(StandardCharsets.UTF_8);
+        Asset asset = new Asset("asset", null, Set.of(new Component(null, "component", "1.0", List.of(), Set.of(License.fromConfig("MIT", null, null)))));
+        BomCache bomCache = BomCache.inDirectory(cacheDirectory);
+        bomCache.put(Hashing.sha256().hashBytes(invalidBom).toString(), asset);
+
+        Asset actual = new AssetLoader(url -> true, ExecutionContext.sequential(), bomCache).loadFromBom(new ByteArrayInputStream(invalidBom));
+
+        assertThat(actual).isEqualTo(asset);
+        assertThat(actual.components().iterator().next().licenses().iterator().next().isConfigured()).isTrue();
+    }
 
 }
@@ -0,0 +1,139 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LicenseCacheTest {
+
+    private static final byte[] CONTENT = "License text".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    private Path cacheDirectory;
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void shouldFindLicenseByNameWithoutExtension() throws IOException {
+        try (var underTest = LicenseCache.open(cacheDirectory, clock)) {
+            underTest.put("Apache-2.0.txt", CONTENT);
+
+            assertThat(underTest.find("apache-2.0")).hasValue(cacheDirectory.resolve("Apache-2.0.txt"));
+            assertThat(underTest.find("MIT")).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldKeepIndexAcrossRunsAndAddUnknownFiles() throws IOException {
+        try (var underTest = LicenseCache.open(cacheDirectory, clock)) {
+            underTest.put("MIT.txt", CONTENT);
+        }
+        Files.write(cacheDirectory.resolve("BSD.html"), CONTENT);
+
+        try (var underTest = LicenseCache.open(cacheDirectory, clock)) {
+            CacheStats stats = underTest.stats();
+            assertThat(stats.files()).isEqualTo(2);
+            assertThat(stats.bytes()).isEqualTo(2L * CONTENT.length);
+        }
+    }
+
+    @Test
+    void shouldRemoveFilesNotAccessedWithinMaxAge() throws IOException {
+        try (var underTest = LicenseCache.open(cacheDirectory, clock)) {
+            underTest.put("old.txt", CONTENT);
+            underTest.put("used.txt", CONTENT);
+            clock.advance(Duration.ofDays(10));
+            underTest.find("used");
+            clock.advance(Duration.ofDays(25));
+
+            assertThat(underTest.prune(new CacheLimits(Long.MAX_VALUE, Duration.ofDays(30)))).containsExactly("old.txt");
+            assertThat(cacheDirectory.resolve("old.txt")).doesNotExist();
+            assertThat(cacheDirectory.resolve("used.txt")).exists();
+        }
+    }
+
+    @Test
+    void shouldRemoveLeastRecentlyUsedFilesAboveMaxSize() throws IOException {
+        try (var underTest = LicenseCache.open(cacheDirectory, clock)) {
+            underTest.put("a.txt", CONTENT);
+            clock.advance(Duration.ofMinutes(1));
+            underTest.put("b.txt", CONTENT);
+            clock.advance(Duration.ofMinutes(1));
+            underTest.put("c.txt", CONTENT);
+            clock.advance(Duration.ofMinutes(1));
+            underTest.find("a");
+
+            assertThat(underTest.prune(new CacheLimits(2L * CONTENT.length, Duration.ofDays(1)))).containsExactly("b.txt");
+            assertThat(underTest.stats().files()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldDetectCorruptedFiles() throws IOException {
+        try (var underTest = LicenseCache.open(cacheDirectory, clock)) {
+            underTest.put("MIT.txt", CONTENT);
+            underTest.put("BSD.txt", CONTENT);
+        }
+        Files.write(cacheDirectory.resolve("MIT.txt"), "Tampered".getBytes(StandardCharsets.UTF_8));
+
+        try (var underTest = LicenseCache.open(cacheDirectory, clock)) {
+            assertThat(underTest.verify(true)).containsExactly("MIT.txt");
+            assertThat(underTest.find("MIT")).isEmpty();
+            assertThat(underTest.verify(false)).isEmpty();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+}
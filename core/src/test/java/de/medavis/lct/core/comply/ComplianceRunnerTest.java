@@ -0,0 +1,139 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.comply;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import de.medavis.lct.core.UserLogger;
+import de.medavis.lct.core.analysis.AnalysisMode;
+import de.medavis.lct.core.analysis.ComponentAnalyzer;
+import de.medavis.lct.core.comply.ComplianceTasks.Manifests;
+import de.medavis.lct.core.downloader.LicenseFileHandler;
+import de.medavis.lct.core.downloader.LicensesDownloader;
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.execution.TimeBudget;
+import de.medavis.lct.core.list.ComponentData;
+import de.medavis.lct.core.list.ComponentIndex;
+import de.medavis.lct.core.list.ComponentLister;
+import de.medavis.lct.core.outputter.FreemarkerOutputter;
+import de.medavis.lct.core.outputter.FreemarkerOutputter.Output;
+
+@ExtendWith(MockitoExtension.class)
+class ComplianceRunnerTest {
+
+    private static final List<ComponentData> COMPONENTS = List.of(
+            new ComponentData("with-url", "1.0", "https://with-url", Set.of(), Set.of()),
+            new ComponentData("without-url", "2.0", null, Set.of(), Set.of()));
+
+    @Mock
+    private ComponentLister componentLister;
+    @Mock
+    private FreemarkerOutputter outputter;
+    @Mock
+    private LicensesDownloader licensesDownloader;
+    @Mock
+    private LicenseFileHandler licenseFileHandler;
+    @Mock
+    private UserLogger userLogger;
+
+    private final InputStream bom = new ByteArrayInputStream(new byte[0]);
+    private final TimeBudget timeBudget = TimeBudget.unlimited();
+    private ComplianceRunner underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ComplianceRunner(componentLister, outputter, licensesDownloader, new ComponentAnalyzer(), ExecutionContext.sequential());
+    }
+
+    @Test
+    void shouldProduceAllOutputsFromOneListing() throws IOException {
+        List<Output> manifests = List.of(new Output(null, new StringWriter()), new Output("file://notice.ftl", new StringWriter()));
+        when(componentLister.indexComponents(bom, timeBudget)).thenReturn(new ComponentIndex(List.of(), List.of(), COMPONENTS));
+        when(licensesDownloader.download(userLogger, COMPONENTS, licenseFileHandler, true, timeBudget)).thenReturn(true);
+
+        var result = underTest.run(userLogger, bom, new ComplianceTasks(manifests, licenseFileHandler, true, Set.of(AnalysisMode.MISSING_URL)), timeBudget);
+
+        verify(componentLister, times(1)).indexComponents(any(), any());
+        verify(componentLister, never()).listComponents(any(), any());
+        InOrder order = inOrder(licensesDownloader, outputter);
+        order.verify(licensesDownloader).download(userLogger, COMPONENTS, licenseFileHandler, true, timeBudget);
+        order.verify(outputter).outputAll(eq(COMPONENTS), eq(manifests), any());
+        assertThat(result.isLicensesComplete()).isTrue();
+        assertThat(result.getReports()).singleElement().satisfies(report -> {
+            assertThat(report.getMode()).isEqualTo(AnalysisMode.MISSING_URL);
+            assertThat(report.getFindings()).containsExactly("without-url");
+        });
+    }
+
+    @Test
+    void shouldNotOpenManifestsIfDownloadFails() {
+        when(componentLister.listComponents(bom, timeBudget)).thenReturn(COMPONENTS);
+        when(licensesDownloader.download(userLogger, COMPONENTS, licenseFileHandler, true, timeBudget))
+                .thenThrow(new IllegalArgumentException("dynamic license"));
+        AtomicBoolean opened = new AtomicBoolean();
+        Manifests manifests = () -> {
+            opened.set(true);
+            return List.of(new Output(null, new StringWriter()));
+        };
+
+        assertThatThrownBy(() -> underTest.run(userLogger, bom, new ComplianceTasks(manifests, licenseFileHandler, true, Set.of()), timeBudget))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(opened).isFalse();
+        verifyNoInteractions(outputter);
+    }
+
+    @Test
+    void shouldOnlyRunRequestedTasks() throws IOException {
+        when(componentLister.listComponents(bom, timeBudget)).thenReturn(COMPONENTS);
+
+        var result = underTest.run(userLogger, bom, new ComplianceTasks(List.of(), null, false, Set.of()), timeBudget);
+
+        verifyNoInteractions(licensesDownloader, outputter);
+        verify(componentLister, never()).indexComponents(any(), any());
+        assertThat(result.getComponents()).isEqualTo(COMPONENTS);
+        assertThat(result.getReports()).isEmpty();
+        assertThat(result.isLicensesComplete()).isTrue();
+    }
+
+}
@@ -0,0 +1,68 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.downloader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileMaterializerTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void shouldMaterializeFileInNewDirectory() throws IOException {
+        Path source = Files.writeString(tempDir.resolve("cached.txt"), "cached");
+        Path target = tempDir.resolve("output/nested/license.txt");
+
+        FileMaterializer.linkOrCopy(source, target);
+
+        assertThat(target).hasContent("cached");
+    }
+
+    @Test
+    void shouldReplaceExistingTarget() throws IOException {
+        Path source = Files.writeString(tempDir.resolve("cached.txt"), "cached");
+        Path target = Files.writeString(tempDir.resolve("license.txt"), "outdated");
+
+        FileMaterializer.linkOrCopy(source, target);
+
+        assertThat(target).hasContent("cached");
+    }
+
+    @Test
+    void shouldNotChangeSourceWhenWritingToMaterializedFile() throws IOException {
+        Path source = Files.writeString(tempDir.resolve("cached.txt"), "cached");
+        Path target = tempDir.resolve("license.txt");
+        FileMaterializer.linkOrCopy(source, target);
+
+        FileMaterializer.write(target, "downloaded".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(target).hasContent("downloaded");
+        assertThat(source).hasContent("cached");
+    }
+
+}
@@ -0,0 +1,109 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.downloader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSystemLicenseMirrorTest {
+
+    private static final String LICENSE = "Apache License 2.0";
+    private static final String URL = "https://www.apache.org/licenses/LICENSE-2.0";
+    private static final String DOWNLOAD_URL = "https://www.apache.org/licenses/LICENSE-2.0.txt";
+    private static final byte[] CONTENT = "Apache License, Version 2.0".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"mirror", "mirror.zip"})
+    void shouldFindLicenseByNameAndUrl(String location) throws IOException {
+        Path mirrorLocation = tempDir.resolve(location);
+        try (FileSystemLicenseMirror mirror = FileSystemLicenseMirror.create(mirrorLocation)) {
+            mirror.put(LICENSE, ".txt", CONTENT, List.of(DOWNLOAD_URL, URL));
+        }
+
+        try (FileSystemLicenseMirror mirror = FileSystemLicenseMirror.open(mirrorLocation)) {
+            assertThat(mirror.find(LICENSE, null)).hasValueSatisfying(license -> {
+                assertThat(license.extension()).isEqualTo(".txt");
+                assertThat(license.content()).isEqualTo(CONTENT);
+            });
+            assertThat(mirror.find("Apache-2.0", URL)).hasValueSatisfying(license -> assertThat(license.content()).isEqualTo(CONTENT));
+            assertThat(mirror.find("MIT", "https://opensource.org/licenses/MIT")).isEmpty();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"mirror", "mirror.zip"})
+    void shouldKeepExistingLicensesWhenAddingLicenses(String location) throws IOException {
+        Path mirrorLocation = tempDir.resolve(location);
+        try (FileSystemLicenseMirror mirror = FileSystemLicenseMirror.create(mirrorLocation)) {
+            mirror.put(LICENSE, ".txt", CONTENT, List.of(URL));
+        }
+        try (FileSystemLicenseMirror mirror = FileSystemLicenseMirror.create(mirrorLocation)) {
+            mirror.put("MIT", "", CONTENT, List.of());
+        }
+
+        try (FileSystemLicenseMirror mirror = FileSystemLicenseMirror.open(mirrorLocation)) {
+            assertThat(mirror.size()).isEqualTo(2);
+            assertThat(mirror.find(LICENSE, null)).isPresent();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"mirror", "mirror.zip"})
+    void shouldKeepLicensesWhoseNamesMapToSameFileName(String location) throws IOException {
+        Path mirrorLocation = tempDir.resolve(location);
+        byte[] otherContent = "GNU General Public License v2.0".getBytes(StandardCharsets.UTF_8);
+        try (FileSystemLicenseMirror mirror = FileSystemLicenseMirror.create(mirrorLocation)) {
+            mirror.put("GPL 2.0", ".txt", CONTENT, List.of());
+            mirror.put("GPL_2.0", ".txt", otherContent, List.of());
+            mirror.put("GPL 2.0", ".txt", CONTENT, List.of());
+        }
+
+        try (FileSystemLicenseMirror mirror = FileSystemLicenseMirror.open(mirrorLocation)) {
+            assertThat(mirror.size()).isEqualTo(2);
+            assertThat(mirror.find("GPL 2.0", null)).hasValueSatisfying(license -> assertThat(license.content()).isEqualTo(CONTENT));
+            assertThat(mirror.find("GPL_2.0", null)).hasValueSatisfying(license -> assertThat(license.content()).isEqualTo(otherContent));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", ".txt", ".html"})
+    void shouldFindUnindexedLicenseByFileName(String extension) throws IOException {
+        Files.write(tempDir.resolve("Apache_License_2.0" + extension), CONTENT);
+
+        try (FileSystemLicenseMirror mirror = FileSystemLicenseMirror.open(tempDir)) {
+            assertThat(mirror.find(LICENSE, URL)).hasValueSatisfying(license -> {
+                assertThat(license.extension()).isEqualTo(extension);
+                assertThat(license.content()).isEqualTo(CONTENT);
+            });
+        }
+    }
+
+}
@@ -20,30 +20,46 @@
 package de.medavis.lct.core.downloader;
 
 import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
 import org.apache.http.HttpHeaders;
 import org.apache.http.entity.ContentType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.ok;
 import static com.github.tomakehurst.wiremock.client.WireMock.okForContentType;
 import static com.github.tomakehurst.wiremock.client.WireMock.permanentRedirect;
 import static com.github.tomakehurst.wiremock.client.WireMock.serverError;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import de.medavis.lct.core.downloader.LicenseFileDownloader.Result;
+import de.medavis.lct.core.http.JavaHttpTransport;
+import de.medavis.lct.core.spdx.SpdxLicensePack;
+import de.medavis.lct.core.spdx.SpdxLicensePackWriter;
+
 @WireMockTest
 @ExtendWith(MockitoExtension.class)
 class LicenseFileDownloaderTest {
@@ -137,6 +153,59 @@ class LicenseFileDownloaderTest {
         verify(handlerMock, never()).save(any(), any(), any());
     }
 
+    @Test
+    void shouldPreferMirrorOverDownload() throws IOException {
+        stubFor(get(INITIAL_URL).willReturn(serverError()));
+        LicenseMirror mirror = (license, url) -> Optional.of(new MirroredLicense(".txt", DOWNLOAD_CONTENT.getBytes(StandardCharsets.UTF_8)));
+
+        new LicenseFileDownloader(JavaHttpTransport.shared(), mirror).downloadToFile(baseUrl + INITIAL_URL, LICENSE, handlerMock);
+
+        verifyDownload(LICENSE, ".txt", DOWNLOAD_CONTENT);
+    }
+
+    @Test
+    void shouldTakeSpdxLicenseFromPackWithoutDownload(@TempDir Path tempDir) throws IOException {
+        SpdxLicensePack pack = createPack(tempDir, LICENSE, DOWNLOAD_CONTENT);
+
+        var actual = new LicenseFileDownloader(JavaHttpTransport.shared(), LicenseMirror.none(), pack)
+                .downloadToFile("https://spdx.org/licenses/" + LICENSE + ".html", LICENSE, handlerMock);
+
+        assertThat(actual).isEqualTo(Result.FROM_SPDX_PACK);
+        verifyDownload(LICENSE, ".txt", DOWNLOAD_CONTENT);
+    }
+
+    @Test
+    void shouldPreferConfiguredDownloadUrlOverSpdxPack(@TempDir Path tempDir) throws IOException {
+        stubFor(get(INITIAL_URL).willReturn(okWithLengthAndType(DOWNLOAD_CONTENT, ContentType.TEXT_PLAIN.getMimeType())));
+        SpdxLicensePack pack = createPack(tempDir, LICENSE, "Text of the SPDX license list");
+
+        var actual = new LicenseFileDownloader(JavaHttpTransport.shared(), LicenseMirror.none(), pack).downloadToFile(baseUrl + INITIAL_URL, LICENSE, handlerMock);
+
+        assertThat(actual).isEqualTo(Result.DOWNLOADED);
+        verifyDownload(LICENSE, ".txt", DOWNLOAD_CONTENT);
+        WireMock.verify(1, getRequestedFor(urlEqualTo(INITIAL_URL)));
+    }
+
+    @Test
+    void shouldDownloadOnceForSeveralLicensesWithSameUrl() throws IOException {
+        stubFor(get(INITIAL_URL).willReturn(okWithLengthAndType(DOWNLOAD_CONTENT, ContentType.TEXT_PLAIN.getMimeType())));
+        lenient().when(handlerMock.isCached("cached")).thenReturn(true);
+
+        var actual = fileDownloader.downloadToFiles(baseUrl + INITIAL_URL, List.of(LICENSE, "alias", "cached"), handlerMock);
+
+        assertThat(actual).containsExactly(entry(LICENSE, Result.DOWNLOADED), entry("alias", Result.DOWNLOADED), entry("cached", Result.FROM_CACHE));
+        verifyDownload(LICENSE, ".txt", DOWNLOAD_CONTENT);
+        verifyDownload("alias", ".txt", DOWNLOAD_CONTENT);
+        WireMock.verify(1, getRequestedFor(urlEqualTo(INITIAL_URL)));
+    }
+
+    private static SpdxLicensePack createPack(Path tempDir, String license, String text) throws IOException {
+        Path textDirectory = Files.createDirectory(tempDir.resolve("text"));
+        Files.write(textDirectory.resolve(license + ".txt"), text.getBytes(StandardCharsets.UTF_8));
+        SpdxLicensePackWriter.write(textDirectory, "test", tempDir.resolve("spdx.pack"));
+        return SpdxLicensePack.open(tempDir.resolve("spdx.pack"));
+    }
+
     private void download() throws IOException {
         fileDownloader.downloadToFile(baseUrl + INITIAL_URL, LICENSE, handlerMock);
     }
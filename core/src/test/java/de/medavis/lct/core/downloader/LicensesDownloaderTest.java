@@ -23,10 +23,13 @@ import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableSet;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -41,6 +44,9 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 import de.medavis.lct.core.UserLogger;
+import de.medavis.lct.core.execution.TimeBudget;
+import de.medavis.lct.core.execution.TimeBudget.Work;
+import de.medavis.lct.core.http.HostUnavailableException;
 import de.medavis.lct.core.license.License;
 import de.medavis.lct.core.list.ComponentData;
 import de.medavis.lct.core.list.ComponentLister;
@@ -116,8 +122,60 @@ class LicensesDownloaderTest {
 
     }
 
+    @Test
+    void shouldReportFailedDownloadsByHost() throws IOException {
+        setup(component(configuredLicense("A", true, true), configuredLicense("B", true, true), configuredLicense("C", true, true)));
+        when(licenseFileDownloader.downloadToFiles(eq(BASE_URL + createUrl(DOWNLOAD_URL, "A")), any(), any())).thenThrow(new IOException("Timeout"));
+        when(licenseFileDownloader.downloadToFiles(eq(BASE_URL + createUrl(DOWNLOAD_URL, "B")), any(), any()))
+                .thenThrow(new HostUnavailableException("my-host"));
+
+        invokeDownload(false);
+
+        Mockito.verify(userLogger).error("Could not download %d of %d licenses:%n", 2, 3);
+        Mockito.verify(userLogger).error("  %s%s: %s%n", "my-host", " (requests skipped after repeated failures)", "A, B");
+    }
+
+    @Test
+    void shouldDownloadSameUrlOnlyOnce() throws IOException {
+        setup(
+                component(License.fromConfig("Apache-2.0", null, BASE_URL + "/apache")),
+                component(License.fromConfig("Apache 2", null, BASE_URL + "/apache"), License.fromConfig("ASL 2.0", BASE_URL + "/apache", null)));
+
+        invokeDownload(false);
+
+        Mockito.verify(licenseFileDownloader).downloadToFiles(eq(BASE_URL + "/apache"), eq(List.of("Apache-2.0", "Apache 2", "ASL 2.0")), any());
+        Mockito.verifyNoMoreInteractions(licenseFileDownloader);
+    }
+
+    @Test
+    void shouldCopyCachedLicensesInOneOperation() throws IOException {
+        setup(component(configuredLicense("A", true, true), configuredLicense("B", true, true), configuredLicense("C", true, true)));
+        LicenseFileHandler licenseFileHandler = Mockito.mock(LicenseFileHandler.class);
+        when(licenseFileHandler.findCached(any())).thenReturn(Set.of("A", "C"));
+
+        boolean complete = underTest.download(userLogger, new ByteArrayInputStream(new byte[0]), licenseFileHandler, false);
+
+        Assertions.assertThat(complete).isTrue();
+        Mockito.verify(licenseFileHandler).copyFromCache(Set.of("A", "C"));
+        verifyDownloaded(DOWNLOAD_URL, "B");
+        Mockito.verifyNoMoreInteractions(licenseFileDownloader);
+    }
+
+    @Test
+    void shouldSkipDownloadsWhenTimeBudgetIsExhausted() throws InterruptedException {
+        setup(component(configuredLicense("A", true, true), configuredLicense("B", true, true)));
+        TimeBudget timeBudget = TimeBudget.of(Duration.ofMillis(1));
+        Thread.sleep(10);
+
+        boolean complete = underTest.download(userLogger, new ByteArrayInputStream(new byte[0]), Mockito.mock(LicenseFileHandler.class), false, timeBudget);
+
+        Assertions.assertThat(complete).isFalse();
+        verifyNothingDownloaded();
+        Assertions.assertThat(timeBudget.getCutShort(Work.DOWNLOAD)).containsExactlyInAnyOrder("A", "B");
+    }
+
     private void setup(ComponentData... components) {
-        when(componentLister.listComponents(any())).thenReturn(Arrays.asList(components));
+        when(componentLister.listComponents(any(), any())).thenReturn(Arrays.asList(components));
         underTest = new LicensesDownloader(componentLister, licenseFileDownloader);
     }
 
@@ -163,7 +221,7 @@ class LicensesDownloaderTest {
 
     private void verifyDownloaded(String prefix, String... licenses) throws IOException {
         for (String license : licenses) {
-            Mockito.verify(licenseFileDownloader).downloadToFile(eq(BASE_URL + createUrl(prefix, license)), any(), any());
+            Mockito.verify(licenseFileDownloader).downloadToFiles(eq(BASE_URL + createUrl(prefix, license)), any(), any());
         }
     }
 
@@ -0,0 +1,74 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.downloader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ZipLicenseFileHandlerTest {
+
+    @Test
+    void shouldWriteLicensesAndIndexIntoArchive(@TempDir Path tempDir) throws IOException {
+        Path archive = tempDir.resolve("licenses.zip");
+
+        try (var underTest = new ZipLicenseFileHandler(Files.newOutputStream(archive))) {
+            underTest.save("MIT", ".txt", "MIT text".getBytes(StandardCharsets.UTF_8));
+            underTest.save("GPL/2.0", ".html", "GPL text".getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (var mirror = FileSystemLicenseMirror.open(archive)) {
+            assertThat(mirror.size()).isEqualTo(2);
+            assertThat(mirror.find("MIT", null)).hasValueSatisfying(license -> {
+                assertThat(license.extension()).isEqualTo(".txt");
+                assertThat(license.content()).asString(StandardCharsets.UTF_8).isEqualTo("MIT text");
+            });
+            assertThat(mirror.find("GPL/2.0", null)).hasValueSatisfying(license -> {
+                assertThat(license.extension()).isEqualTo(".html");
+                assertThat(license.content()).asString(StandardCharsets.UTF_8).isEqualTo("GPL text");
+            });
+        }
+    }
+
+    @Test
+    void shouldKeepLicensesWithSameFileName(@TempDir Path tempDir) throws IOException {
+        Path archive = tempDir.resolve("licenses.zip");
+
+        try (var underTest = new ZipLicenseFileHandler(Files.newOutputStream(archive))) {
+            underTest.save("GPL 2.0", ".txt", "first".getBytes(StandardCharsets.UTF_8));
+            underTest.save("GPL_2.0", ".txt", "second".getBytes(StandardCharsets.UTF_8));
+            underTest.copyFromCache("MIT");
+        }
+
+        try (var mirror = FileSystemLicenseMirror.open(archive)) {
+            assertThat(mirror.size()).isEqualTo(2);
+            assertThat(mirror.find("GPL 2.0", null)).hasValueSatisfying(
+                    license -> assertThat(license.content()).asString(StandardCharsets.UTF_8).isEqualTo("first"));
+            assertThat(mirror.find("GPL_2.0", null)).hasValueSatisfying(
+                    license -> assertThat(license.content()).asString(StandardCharsets.UTF_8).isEqualTo("second"));
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.execution;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExecutionContextTest {
+
+    private static final int THREADS = 3;
+
+    static List<ExecutionContext> contexts() {
+        return List.of(ExecutionContext.sequential(), ExecutionContext.platformThreads(THREADS), ExecutionContext.virtualThreads(THREADS));
+    }
+
+    @ParameterizedTest
+    @MethodSource("contexts")
+    void shouldReturnResultsInOrderOfItems(ExecutionContext underTest) {
+        try (underTest) {
+            List<Integer> items = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+            assertThat(underTest.map(items, item -> item * 2)).containsExactlyElementsOf(items.stream().map(item -> item * 2).collect(Collectors.toList()));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("contexts")
+    void shouldNotRunMoreTasksThanParallelism(ExecutionContext underTest) {
+        try (underTest) {
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+
+            underTest.map(IntStream.range(0, 20).boxed().collect(Collectors.toList()), item -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep();
+                return running.decrementAndGet();
+            });
+
+            assertThat(maxRunning.get()).isLessThanOrEqualTo(underTest.parallelism());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("contexts")
+    void shouldRunNestedTasksWithoutDeadlock(ExecutionContext underTest) {
+        try (underTest) {
+            List<Integer> items = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+
+            List<Integer> actual = underTest.map(items, item -> underTest.map(items, nested -> nested).stream().mapToInt(Integer::intValue).sum());
+
+            assertThat(actual).hasSize(10).containsOnly(45);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("contexts")
+    void shouldRethrowExceptionOfTask(ExecutionContext underTest) {
+        try (underTest) {
+            assertThatThrownBy(() -> underTest.map(List.of(1, 2, 3), item -> {
+                if (item == 2) {
+                    throw new IllegalArgumentException("Failure for " + item);
+                }
+                return item;
+            })).isInstanceOf(IllegalArgumentException.class).hasMessage("Failure for 2");
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("contexts")
+    void shouldCompleteSubmittedTask(ExecutionContext underTest) throws Exception {
+        try (underTest) {
+            List<Integer> items = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+
+            assertThat(underTest.submit(() -> underTest.map(items, item -> item * 2)).get(10, TimeUnit.SECONDS)).hasSize(10).contains(0, 18);
+            assertThat(underTest.submit(() -> {
+                throw new IOException("Failure");
+            })).failsWithin(10, TimeUnit.SECONDS).withThrowableOfType(ExecutionException.class).withCauseInstanceOf(IOException.class);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("contexts")
+    void shouldInterruptTasksWhenSubmittedTaskIsCancelled(ExecutionContext underTest) throws InterruptedException {
+        try (underTest) {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch interrupted = new CountDownLatch(1);
+            CompletableFuture<List<Integer>> future = underTest.submit(() -> underTest.map(List.of(1, 2), item -> {
+                started.countDown();
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    Thread.currentThread().interrupt();
+                }
+                return item;
+            }));
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+            future.cancel(true);
+
+            assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.execution;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+
+import de.medavis.lct.core.UserLogger;
+import de.medavis.lct.core.execution.TimeBudget.Work;
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.http.JavaHttpTransport;
+import de.medavis.lct.core.http.ResilientHttpTransport;
+
+@WireMockTest
+class TimeBudgetTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void shouldBeExhaustedWhenOnlyReserveIsLeft() {
+        var underTest = new TimeBudget(Duration.ofSeconds(100), Duration.ofSeconds(30), clock::get);
+
+        clock.set(Duration.ofSeconds(69).toNanos());
+        assertThat(underTest.isExhausted()).isFalse();
+
+        clock.set(Duration.ofSeconds(70).toNanos());
+        assertThat(underTest.isExhausted()).isTrue();
+    }
+
+    @Test
+    void shouldLeaveHalfOfReserveForRunningRequests() {
+        var underTest = new TimeBudget(Duration.ofSeconds(100), Duration.ofSeconds(30), clock::get);
+
+        clock.set(Duration.ofSeconds(80).toNanos());
+
+        assertThat(underTest.remaining()).contains(Duration.ofSeconds(5));
+        assertThat(TimeBudget.unlimited().remaining()).isEmpty();
+    }
+
+    @Test
+    void shouldCutOffRequestToSlowHostAtEndOfBudget(WireMockRuntimeInfo wiremock) {
+        stubFor(get("/slow").willReturn(ok().withFixedDelay(10_000)));
+        var underTest = TimeBudget.of(Duration.ofSeconds(2));
+        long start = System.nanoTime();
+
+        try (HttpTransport httpTransport = underTest.limit(new ResilientHttpTransport(new JavaHttpTransport()))) {
+            assertThatThrownBy(() -> httpTransport.getStatus(URI.create(wiremock.getHttpBaseUrl() + "/slow"))).isInstanceOf(HttpTimeoutException.class);
+        }
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2_000);
+    }
+
+    @Test
+    void shouldNeverExhaustUnlimitedBudget() {
+        assertThat(TimeBudget.unlimited().isExhausted()).isFalse();
+    }
+
+    @Test
+    void shouldRejectEmptyBudget() {
+        assertThatThrownBy(() -> TimeBudget.of(Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldReportWorkThatHasBeenCutShort() {
+        var underTest = TimeBudget.of(Duration.ofMinutes(5));
+        var userLogger = Mockito.mock(UserLogger.class);
+        underTest.cutShort(Work.DOWNLOAD, "MIT");
+        underTest.cutShort(Work.DOWNLOAD, "Apache-2.0");
+
+        underTest.report(userLogger);
+
+        assertThat(underTest.isCutShort()).isTrue();
+        Mockito.verify(userLogger).error("Time budget of %d seconds exhausted, the result is incomplete.%n", 300L);
+        Mockito.verify(userLogger).error("  %s (%d): %s%n", "Licenses not downloaded", 2, "Apache-2.0, MIT");
+    }
+
+    @Test
+    void shouldNotReportIfNothingHasBeenCutShort() {
+        var userLogger = Mockito.mock(UserLogger.class);
+
+        TimeBudget.of(Duration.ofMinutes(5)).report(userLogger);
+
+        Mockito.verify(userLogger, never()).error(any(), any());
+    }
+
+}
@@ -0,0 +1,77 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.http;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.medavis.lct.core.http.CircuitBreaker.State;
+
+class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker underTest = new CircuitBreaker(2, OPEN_DURATION, clock::get);
+
+    @Test
+    void shouldOpenAfterConsecutiveFailures() {
+        underTest.recordFailure();
+        assertThat(underTest.allowRequest()).isTrue();
+
+        underTest.recordFailure();
+
+        assertThat(underTest.state()).isEqualTo(State.OPEN);
+        assertThat(underTest.allowRequest()).isFalse();
+    }
+
+    @Test
+    void shouldAllowSingleTrialRequestAfterOpenDuration() {
+        open();
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        assertThat(underTest.allowRequest()).isTrue();
+        assertThat(underTest.allowRequest()).isFalse();
+
+        underTest.recordSuccess();
+        assertThat(underTest.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void shouldAllowAnotherTrialRequestAfterAbortedTrial() {
+        open();
+        clock.addAndGet(OPEN_DURATION.toNanos());
+        assertThat(underTest.allowRequest()).isTrue();
+
+        underTest.recordAborted();
+
+        assertThat(underTest.state()).isEqualTo(State.OPEN);
+        assertThat(underTest.allowRequest()).isTrue();
+    }
+
+    private void open() {
+        underTest.recordFailure();
+        underTest.recordFailure();
+    }
+
+}
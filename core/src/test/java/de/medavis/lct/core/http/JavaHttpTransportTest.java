@@ -0,0 +1,107 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.http;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.notFound;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@WireMockTest
+class JavaHttpTransportTest {
+
+    private static final String CONTENT = "Licensed under the Apache License";
+
+    private final JavaHttpTransport underTest = new JavaHttpTransport();
+
+    @AfterEach
+    void tearDown() {
+        underTest.close();
+    }
+
+    @Test
+    void shouldDecompressGzipResponse(WireMockRuntimeInfo wiremock) throws IOException {
+        stubFor(get("/gzip").withHeader("Accept-Encoding", containing("gzip"))
+                .willReturn(aResponse().withHeader("Content-Encoding", "gzip").withHeader("Content-Type", "text/plain").withBody(gzip(CONTENT))));
+
+        try (HttpTransportResponse response = underTest.get(URI.create(wiremock.getHttpBaseUrl() + "/gzip"))) {
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.contentType()).contains("text/plain");
+            assertThat(new String(response.body().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    void shouldReturnStatus(WireMockRuntimeInfo wiremock) throws IOException {
+        stubFor(get("/missing").willReturn(notFound()));
+
+        assertThat(underTest.getStatus(URI.create(wiremock.getHttpBaseUrl() + "/missing"))).isEqualTo(404);
+    }
+
+    @Test
+    void shouldOpenHttpUrl(WireMockRuntimeInfo wiremock) throws IOException {
+        stubFor(get("/config").willReturn(ok(CONTENT)));
+
+        try (InputStream input = underTest.openStream(new URL(wiremock.getHttpBaseUrl() + "/config"))) {
+            assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    void shouldFailToOpenUnsuccessfulHttpUrl(WireMockRuntimeInfo wiremock) {
+        stubFor(get("/config").willReturn(notFound()));
+
+        assertThatThrownBy(() -> underTest.openStream(new URL(wiremock.getHttpBaseUrl() + "/config")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("404");
+    }
+
+    @Test
+    void shouldOpenFileUrlDirectly() throws IOException {
+        try (InputStream input = underTest.openStream(getClass().getResource("/license/license-empty.json"))) {
+            assertThat(input.readAllBytes()).isNotEmpty();
+        }
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(result)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return result.toByteArray();
+    }
+
+}
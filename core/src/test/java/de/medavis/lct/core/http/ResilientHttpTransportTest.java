@@ -0,0 +1,181 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilientHttpTransportTest {
+
+    private static final URI DEAD_HOST = URI.create("https://dead.example.com/license");
+    private static final URI OTHER_HOST = URI.create("https://other.example.com/license");
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final ScriptedTransport delegate = new ScriptedTransport();
+
+    @Test
+    void shouldRetryServerErrorsAndTimeouts() throws IOException {
+        delegate.respond(503).fail().respond(200);
+        var underTest = create(new RetryPolicy(3, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(60)), 10);
+
+        assertThat(underTest.getStatus(DEAD_HOST)).isEqualTo(200);
+        assertThat(delegate.requests).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotRetryClientErrors() throws IOException {
+        delegate.respond(404);
+        var underTest = create(new RetryPolicy(3, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(60)), 10);
+
+        assertThat(underTest.getStatus(DEAD_HOST)).isEqualTo(404);
+        assertThat(delegate.requests).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnLastResponseWhenAttemptsAreExhausted() throws IOException {
+        delegate.respond(500).respond(502);
+        var underTest = create(new RetryPolicy(2, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(60)), 10);
+
+        try (HttpTransportResponse response = underTest.get(DEAD_HOST)) {
+            assertThat(response.statusCode()).isEqualTo(502);
+        }
+    }
+
+    @Test
+    void shouldNotRetryAfterDeadline() {
+        delegate.fail().respond(200);
+        var underTest = create(new RetryPolicy(3, Duration.ofSeconds(10), Duration.ofSeconds(10), Duration.ofSeconds(1)), 10);
+
+        assertThatThrownBy(() -> underTest.getStatus(DEAD_HOST)).isInstanceOf(HttpTimeoutException.class);
+        assertThat(delegate.requests).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailFastAfterRepeatedFailuresOfHost() throws IOException {
+        delegate.fail().fail().respond(200);
+        var underTest = create(RetryPolicy.NO_RETRY, 2);
+
+        assertThatThrownBy(() -> underTest.getStatus(DEAD_HOST)).isInstanceOf(HttpTimeoutException.class);
+        assertThatThrownBy(() -> underTest.getStatus(DEAD_HOST)).isInstanceOf(HttpTimeoutException.class);
+        assertThatThrownBy(() -> underTest.getStatus(DEAD_HOST))
+                .isInstanceOf(HostUnavailableException.class)
+                .hasMessageContaining("dead.example.com");
+        assertThat(delegate.requests).isEqualTo(2);
+
+        assertThat(underTest.getStatus(OTHER_HOST)).isEqualTo(200);
+    }
+
+    @Test
+    void shouldTryAgainAfterOpenDuration() throws IOException {
+        delegate.fail().respond(200).respond(200);
+        var underTest = create(RetryPolicy.NO_RETRY, 1);
+        assertThatThrownBy(() -> underTest.getStatus(DEAD_HOST)).isInstanceOf(HttpTimeoutException.class);
+
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        assertThat(underTest.getStatus(DEAD_HOST)).isEqualTo(200);
+        assertThat(underTest.getStatus(DEAD_HOST)).isEqualTo(200);
+    }
+
+    @Test
+    void shouldTryAgainAfterAbortedTrialRequest() throws IOException {
+        delegate.fail().abort().respond(200);
+        var underTest = create(RetryPolicy.NO_RETRY, 1);
+        assertThatThrownBy(() -> underTest.getStatus(DEAD_HOST)).isInstanceOf(HttpTimeoutException.class);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        assertThatThrownBy(() -> underTest.getStatus(DEAD_HOST)).isInstanceOf(InterruptedIOException.class);
+
+        assertThat(underTest.getStatus(DEAD_HOST)).isEqualTo(200);
+    }
+
+    @Test
+    void shouldNotBlockHostWhenNoTimeIsLeftForTrialRequest() throws IOException {
+        delegate.fail().respond(200);
+        var underTest = create(RetryPolicy.NO_RETRY, 1);
+        assertThatThrownBy(() -> underTest.getStatus(DEAD_HOST)).isInstanceOf(HttpTimeoutException.class);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        assertThatThrownBy(() -> underTest.getStatus(DEAD_HOST, Duration.ZERO)).isInstanceOf(HttpTimeoutException.class);
+
+        assertThat(underTest.getStatus(DEAD_HOST)).isEqualTo(200);
+        assertThat(delegate.requests).isEqualTo(2);
+    }
+
+    private ResilientHttpTransport create(RetryPolicy retryPolicy, int failureThreshold) {
+        return new ResilientHttpTransport(delegate, retryPolicy, failureThreshold, OPEN_DURATION, clock::get);
+    }
+
+    private static class ScriptedTransport implements HttpTransport {
+
+        private final Deque<Integer> script = new ArrayDeque<>();
+        private int requests;
+
+        ScriptedTransport respond(int statusCode) {
+            script.add(statusCode);
+            return this;
+        }
+
+        ScriptedTransport fail() {
+            script.add(-1);
+            return this;
+        }
+
+        ScriptedTransport abort() {
+            script.add(-2);
+            return this;
+        }
+
+        @Override
+        public HttpTransportResponse get(URI uri) throws IOException {
+            return new HttpTransportResponse(getStatus(uri), null, new ByteArrayInputStream(new byte[0]));
+        }
+
+        @Override
+        public int getStatus(URI uri) throws IOException {
+            requests++;
+            int statusCode = script.isEmpty() ? 200 : script.poll();
+            if (statusCode == -2) {
+                throw new InterruptedIOException("request aborted");
+            }
+            if (statusCode < 0) {
+                throw new HttpTimeoutException("request timed out");
+            }
+            return statusCode;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.license;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LicenseTest {
+
+    @Test
+    void shouldShareInstanceOfEqualLicenses() {
+        License first = License.dynamic("MIT", "https://opensource.org/licenses/MIT");
+        License second = License.dynamic("MIT", "https://opensource.org/licenses/MIT", null);
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void shouldDistinguishConfiguredAndDynamicLicenses() {
+        License configured = License.fromConfig("MIT", "https://opensource.org/licenses/MIT", null);
+        License dynamic = License.dynamic("MIT", "https://opensource.org/licenses/MIT", null);
+
+        assertThat(configured)
+                .isNotSameAs(dynamic)
+                .isNotEqualTo(dynamic);
+    }
+
+    @Test
+    void shouldKeepEqualsAndHashCodeConsistent() {
+        License first = License.fromConfig("LGPL", "https://my.lgpl.link", "https://www.gnu.org/licenses/old-licenses/lgpl-2.1.txt");
+        License second = License.fromConfig("LGPL", "https://my.lgpl.link", "https://www.gnu.org/licenses/old-licenses/lgpl-2.1.txt");
+
+        assertThat(first).isEqualTo(second).hasSameHashCodeAs(second);
+    }
+
+}
@@ -27,11 +27,18 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import de.medavis.lct.core.license.LicenseLoader;
@@ -39,6 +46,9 @@ import de.medavis.lct.core.license.LicenseMappingLoader;
 import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
 import de.medavis.lct.core.Configuration;
 import de.medavis.lct.core.asset.AssetLoader;
+import de.medavis.lct.core.asset.Component;
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.execution.TimeBudget;
 import de.medavis.lct.core.license.License;
 
 class ComponentListerTest {
@@ -203,19 +213,105 @@ class ComponentListerTest {
                 );
     }
 
+    @Test
+    void shouldListSameComponentsInParallel() {
+        assertThat(executeTest("metadata-mergeLogback", "license-lgpl", "licensemapping-lgpl", "test-bom-1.5", 4))
+                .containsExactlyElementsOf(executeTest("metadata-mergeLogback", "license-lgpl", "licensemapping-lgpl", "test-bom-1.5", 1));
+    }
+
+    @Test
+    void shouldNotResolveUrlsOfIgnoredComponents() {
+        AssetLoader assetLoader = spy(new AssetLoader());
+
+        executeTest("metadata-ignoreLogback", "license-empty", "licensemapping-empty", "test-bom", assetLoader);
+
+        assertThat(captureComponentsWithResolvedUrl(assetLoader)).containsExactly("slf4j-api");
+    }
+
+    @Test
+    void shouldNotResolveUrlsOverriddenByMetadata() {
+        AssetLoader assetLoader = spy(new AssetLoader());
+
+        executeTest("metadata-overwriteSlf4jUrl", "license-empty", "licensemapping-empty", "test-bom", assetLoader);
+
+        assertThat(captureComponentsWithResolvedUrl(assetLoader)).containsExactlyInAnyOrder("logback-classic", "logback-core");
+    }
+
+    @Test
+    void shouldIndexRuleOfEveryComponent() {
+        ComponentIndex index = createComponentLister("metadata-analysis", "license-empty", "licensemapping-empty", new AssetLoader(),
+                ExecutionContext.sequential()).indexComponents(getResourceStream("asset", "test-bom", "json"), TimeBudget.unlimited());
+
+        assertThat(index.getEntries())
+                .extracting(ComponentIndex.Entry::getName, ComponentIndex.Entry::getExportName, ComponentIndex.Entry::getRule,
+                        ComponentIndex.Entry::getLicenseRule)
+                .containsExactlyInAnyOrder(
+                        tuple("logback-classic", "Logback", 0, -1),
+                        tuple("logback-core", "Logback", 0, 1),
+                        tuple("slf4j-api", "org.slf4j.slf4j-api", -1, -1));
+        assertThat(index.getRuleHits()).containsExactly(2, 1, 0);
+        assertThat(index.getComponents())
+                .containsExactlyElementsOf(executeTest("metadata-analysis", "license-empty", "licensemapping-empty", "test-bom"));
+    }
+
+    @Test
+    void shouldLoadConfigurationOnceUntilReloaded() {
+        URL metadataUrl = getResourceURL("metadata", "metadata-mergeLogback", "json");
+        Configuration configuration = Mockito.mock(Configuration.class);
+        when(configuration.getComponentMetadataUrl()).thenReturn(Optional.of(metadataUrl));
+        ComponentMetaDataLoader componentMetaDataLoader = spy(new ComponentMetaDataLoader());
+        ComponentLister underTest = new ComponentLister(new AssetLoader(), componentMetaDataLoader, new LicenseLoader(), new LicenseMappingLoader(),
+                configuration);
+
+        underTest.listComponents(getResourceStream("asset", "test-bom", "json"));
+        underTest.listComponents(getResourceStream("asset", "test-bom", "json"));
+        underTest.reloadConfiguration(metadataUrl);
+        underTest.listComponents(getResourceStream("asset", "test-bom", "json"));
+
+        verify(componentMetaDataLoader, times(2)).load(metadataUrl);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<String> captureComponentsWithResolvedUrl(AssetLoader assetLoader) {
+        ArgumentCaptor<Collection<Component>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(assetLoader).resolveUrls(captor.capture(), any());
+        return captor.getValue().stream().map(Component::name).collect(Collectors.toList());
+    }
+
     private Collection<ComponentData> executeTest(String metadataFile, String licenseFile, String licenseMappingFile, String bomFile) {
+        return executeTest(metadataFile, licenseFile, licenseMappingFile, bomFile, 1);
+    }
+
+    private Collection<ComponentData> executeTest(String metadataFile, String licenseFile, String licenseMappingFile, String bomFile, int threads) {
+        try (ExecutionContext executionContext = ExecutionContext.platformThreads(threads)) {
+            return executeTest(metadataFile, licenseFile, licenseMappingFile, bomFile, new AssetLoader(false, executionContext), executionContext);
+        }
+    }
+
+    private Collection<ComponentData> executeTest(String metadataFile, String licenseFile, String licenseMappingFile, String bomFile, AssetLoader assetLoader) {
+        return executeTest(metadataFile, licenseFile, licenseMappingFile, bomFile, assetLoader, ExecutionContext.sequential());
+    }
+
+    private Collection<ComponentData> executeTest(String metadataFile, String licenseFile, String licenseMappingFile, String bomFile, AssetLoader assetLoader,
+            ExecutionContext executionContext) {
+        return createComponentLister(metadataFile, licenseFile, licenseMappingFile, assetLoader, executionContext)
+                .listComponents(getResourceStream("asset", bomFile, "json"));
+    }
+
+    private ComponentLister createComponentLister(String metadataFile, String licenseFile, String licenseMappingFile, AssetLoader assetLoader,
+            ExecutionContext executionContext) {
         Configuration configuration = Mockito.mock(Configuration.class);
         when(configuration.getComponentMetadataUrl()).thenReturn(Optional.of(getResourceURL("metadata", metadataFile, "json")));
         when(configuration.getLicensesUrl()).thenReturn(Optional.of(getResourceURL("license", licenseFile, "json")));
         when(configuration.getLicenseMappingsUrl()).thenReturn(Optional.of(getResourceURL("license", licenseMappingFile, "json")));
 
-        ComponentLister componentLister = new ComponentLister(
-                new AssetLoader(),
+        return new ComponentLister(
+                assetLoader,
                 new ComponentMetaDataLoader(),
                 new LicenseLoader(),
                 new LicenseMappingLoader(),
-                configuration);
-        return componentLister.listComponents(getResourceStream("asset", bomFile, "json"));
+                configuration,
+                executionContext);
     }
 
     private URL getResourceURL(String directory, String filename, String extension) {
@@ -0,0 +1,77 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.list;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.medavis.lct.core.license.License;
+
+class ComponentTableTest {
+
+    private static final License MIT = License.dynamic("MIT", "https://opensource.org/licenses/MIT");
+    private static final License EPL = License.dynamic("EPL-1.0", null);
+
+    private final ComponentTable underTest = new ComponentTable();
+
+    @Test
+    void shouldMergeRowsWithSameName() {
+        underTest.add("Logback", "1.2.11", "https://github.com/ceki/logback", ImmutableSet.of(EPL), ImmutableSet.of("Copyright (c) 2015"));
+        underTest.add("Logback", "1.2.12", "https://logback.qos.ch", ImmutableSet.of(MIT, EPL), ImmutableSet.of("Guaranteed Log4Shell-free"));
+
+        assertThat(underTest.toComponentData()).containsExactly(
+                new ComponentData("Logback", "1.2.11", "https://github.com/ceki/logback", ImmutableSet.of(EPL, MIT),
+                        ImmutableSet.of("Copyright (c) 2015", "Guaranteed Log4Shell-free")));
+    }
+
+    @Test
+    void shouldSortCaseInsensitivelyByName() {
+        underTest.add("slf4j", "1.7.32", null, ImmutableSet.of(MIT), Collections.emptySet());
+        underTest.add("Logback", "1.2.11", null, ImmutableSet.of(EPL), Collections.emptySet());
+        underTest.add("apache-commons", "1.0", null, Collections.emptySet(), Collections.emptySet());
+
+        assertThat(underTest.toComponentData())
+                .extracting(ComponentData::getName)
+                .containsExactly("apache-commons", "Logback", "slf4j");
+    }
+
+    @Test
+    void shouldCollectSameTableInParallelAndSequentially() {
+        List<Integer> rows = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+
+        List<ComponentData> sequential = rows.stream().collect(ComponentTable.collector(ComponentTableTest::addRow)).toComponentData();
+        List<ComponentData> parallel = rows.parallelStream().collect(ComponentTable.collector(ComponentTableTest::addRow)).toComponentData();
+
+        assertThat(parallel).hasSize(100).isEqualTo(sequential);
+        assertThat(parallel.get(0).getVersion()).isEqualTo("0");
+        assertThat(parallel.get(0).getAttributionNotices()).containsExactlyElementsOf(sequential.get(0).getAttributionNotices());
+    }
+
+    private static void addRow(ComponentTable table, int row) {
+        table.add("component-" + (row % 100), String.valueOf(row), null, ImmutableSet.of(row % 2 == 0 ? MIT : EPL), ImmutableSet.of("Notice " + row));
+    }
+
+}
@@ -55,4 +55,15 @@ class ComponentMetaDataLoaderTest {
                 new ComponentMetadata(null, "my\\.name", false, null, null, null, Collections.emptySet(), Collections.emptySet())
         );
     }
+
+    @Test
+    void shouldReportAllInvalidPatterns() {
+        final URL metadataUrl = getClass().getResource("/metadata/metadata-invalidPattern.json");
+
+        Assertions.assertThatThrownBy(() -> underTest.load(metadataUrl))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Rule 2: groupMatch 'my\\.group(' is not a valid pattern")
+                .hasMessageContaining("Rule 3: nameMatch '[invalid' is not a valid pattern")
+                .hasMessageNotContaining("Rule 1");
+    }
 }
@@ -0,0 +1,53 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.metadata;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.medavis.lct.core.metadata.MetadataRuleChecker.RuleCheck;
+
+class MetadataRuleCheckerTest {
+
+    private final MetadataRuleChecker underTest = new MetadataRuleChecker(Duration.ofMillis(50));
+
+    @Test
+    void shouldReportUnsafeRules() {
+        List<RuleCheck> actual = underTest.check(List.of(rule("org\\.apache\\..*", "commons-.*"), rule(null, "(.*a){20}")),
+                MetadataRuleChecker.defaultSamples());
+
+        assertThat(actual).hasSize(2);
+        assertThat(actual.get(0).isUnsafe()).isFalse();
+        assertThat(actual.get(1).getIndex()).isEqualTo(1);
+        assertThat(actual.get(1).getDescription()).isEqualTo("Rule 2 (groupMatch '', nameMatch '(.*a){20}')");
+        assertThat(actual.get(1).isTimedOut()).isTrue();
+        assertThat(actual.get(1).getRisks()).containsExactly("nameMatch: nested quantifier in (.*a){20}");
+        assertThat(actual.get(1).getMaxNanos()).isEqualTo(Duration.ofMillis(50).toNanos());
+    }
+
+    private static ComponentMetadata rule(String groupMatch, String nameMatch) {
+        return new ComponentMetadata(groupMatch, nameMatch, false, null, null, null, Collections.emptySet(), Collections.emptySet());
+    }
+
+}
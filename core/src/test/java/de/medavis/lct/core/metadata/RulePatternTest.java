@@ -0,0 +1,66 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.metadata;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RulePatternTest {
+
+    @Test
+    void shouldRejectInvalidPattern() {
+        assertThatThrownBy(() -> RulePattern.compile("a(b"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("'a(b' is not a valid pattern");
+    }
+
+    @Test
+    void shouldFindRisks() {
+        assertThat(RulePattern.compile("(a+)+b").findRisks()).containsExactly("nested quantifier in (a+)+");
+        assertThat(RulePattern.compile("(a|ab)*c").findRisks()).containsExactly("quantified alternation in (a|ab)*");
+        assertThat(RulePattern.compile("(.*a){20}").findRisks()).containsExactly("nested quantifier in (.*a){20}");
+        assertThat(RulePattern.compile("(a+){1}b").findRisks()).isEmpty();
+        assertThat(RulePattern.compile("org\\.(apache|eclipse)\\..*").findRisks()).isEmpty();
+        assertThat(RulePattern.compile("(?>a+)+b").findRisks()).isEmpty();
+        assertThat(RulePattern.compile("(a++)+b").findRisks()).isEmpty();
+        assertThat(RulePattern.compile("[(a+)+]").findRisks()).isEmpty();
+    }
+
+    @Test
+    void shouldAbortCatastrophicBacktracking() {
+        RulePattern pattern = RulePattern.compile("(.*a){20}");
+
+        assertThatThrownBy(() -> pattern.matches("a".repeat(40) + "!", Duration.ofMillis(50)))
+                .isInstanceOf(MatchTimeoutException.class)
+                .hasMessageContaining("(.*a){20}");
+    }
+
+    @Test
+    void shouldMatchWithinTimeout() {
+        RulePattern pattern = RulePattern.compile("commons-.*");
+
+        assertThat(pattern.matches("commons-lang3")).isTrue();
+        assertThat(pattern.matches("guava")).isFalse();
+    }
+
+}
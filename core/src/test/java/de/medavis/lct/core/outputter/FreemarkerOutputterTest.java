@@ -31,6 +31,7 @@ import com.github.tomakehurst.wiremock.junit5.WireMockTest;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.Resources;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -54,6 +55,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import de.medavis.lct.core.execution.ExecutionContext;
 import de.medavis.lct.core.license.License;
 import de.medavis.lct.core.list.ComponentData;
 
@@ -238,5 +240,21 @@ class FreemarkerOutputterTest {
             assertThatThrownBy(() -> output(Collections.emptyList(), output, wiremock.getHttpBaseUrl() + templateRelativeUrl))
                     .isInstanceOf(IOException.class);
         }
+
+        @Test
+        void toSeveralOutputs(@TempDir Path tempDir) throws IOException {
+            Path template = tempDir.resolve("input.ftlh");
+            FileUtils.copyURLToFile(getClass().getResource(TEST_TEMPLATE_NAME), template.toFile());
+            StringWriter customOutput = new StringWriter();
+            StringWriter defaultOutput = new StringWriter();
+
+            try (ExecutionContext executionContext = ExecutionContext.platformThreads(2)) {
+                underTest.outputAll(Collections.emptyList(), List.of(new FreemarkerOutputter.Output(template.toUri().toURL().toString(), customOutput),
+                        new FreemarkerOutputter.Output(null, defaultOutput)), executionContext);
+            }
+
+            assertThat(customOutput.toString()).contains(TEST_TEMPLATE_CONTENT_PART);
+            assertThat(defaultOutput.toString()).contains("<html").doesNotContain(TEST_TEMPLATE_CONTENT_PART);
+        }
     }
 }
@@ -0,0 +1,87 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.spdx;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpdxLicensePackTest {
+
+    private static final String MIT = "MIT License\n\nPermission is hereby granted, free of charge, to any person obtaining a copy";
+    private static final String APACHE = "Apache License\nVersion 2.0, January 2004\n";
+
+    @TempDir
+    Path tempDir;
+
+    private SpdxLicensePack underTest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path textDirectory = Files.createDirectory(tempDir.resolve("text"));
+        Files.write(textDirectory.resolve("MIT.txt"), MIT.getBytes(StandardCharsets.UTF_8));
+        Files.write(textDirectory.resolve("Apache-2.0.txt"), APACHE.getBytes(StandardCharsets.UTF_8));
+        Files.write(textDirectory.resolve("deprecated_GPL-2.0.txt"), "GNU GENERAL PUBLIC LICENSE".getBytes(StandardCharsets.UTF_8));
+        Files.write(textDirectory.resolve("README.md"), "Not a license".getBytes(StandardCharsets.UTF_8));
+        Path pack = tempDir.resolve("spdx.pack");
+
+        assertThat(SpdxLicensePackWriter.write(textDirectory, "3.25.0", pack)).isEqualTo(3);
+
+        underTest = SpdxLicensePack.open(pack);
+    }
+
+    @Test
+    void shouldReadMetadata() {
+        assertThat(underTest.version()).isEqualTo("3.25.0");
+        assertThat(underTest.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldFindTextByIdIgnoringCase() {
+        assertThat(underTest.getText("MIT")).contains(MIT);
+        assertThat(underTest.getText("apache-2.0")).contains(APACHE);
+        assertThat(underTest.getText("GPL-2.0")).contains("GNU GENERAL PUBLIC LICENSE");
+        assertThat(underTest.getText("Custom")).isEmpty();
+    }
+
+    @Test
+    void shouldFindLicenseBySpdxUrl() {
+        assertThat(underTest.find("Apache License 2.0", "https://spdx.org/licenses/Apache-2.0.html"))
+                .hasValueSatisfying(license -> {
+                    assertThat(license.extension()).isEqualTo(".txt");
+                    assertThat(new String(license.content(), StandardCharsets.UTF_8)).isEqualTo(APACHE);
+                });
+        assertThat(underTest.find("Apache License 2.0", "https://www.apache.org/licenses/LICENSE-2.0")).isEmpty();
+    }
+
+    @Test
+    void shouldFindLicenseByIdOnlyWithoutOtherUrl() {
+        assertThat(underTest.find("MIT", null)).isPresent();
+        assertThat(underTest.find("MIT", "https://spdx.org/licenses/MIT.html")).isPresent();
+        assertThat(underTest.find("MIT", "https://example.com/my-mit.txt")).isEmpty();
+    }
+
+}
@@ -0,0 +1,88 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.urlchecker;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.http.HttpTransportResponse;
+
+class CachingHttpUrlCheckerTest {
+
+    private static final String URL = "https://example.org/project";
+
+    private final UrlAvailabilityCache cache = new UrlAvailabilityCache(Duration.ofHours(24));
+
+    @Test
+    void shouldCacheStatusResult() {
+        CachingHttpUrlChecker underTest = new CachingHttpUrlChecker(new StatusTransport(404), ExecutionContext.sequential(), cache);
+
+        assertThat(underTest.isUrlAvailable(URL)).isFalse();
+
+        assertThat(cache.get(URL)).contains(false);
+    }
+
+    @Test
+    void shouldNotCacheAbortedCheck() {
+        CachingHttpUrlChecker underTest = new CachingHttpUrlChecker(new StatusTransport(-1), ExecutionContext.sequential(), cache);
+
+        assertThat(underTest.isUrlAvailable(URL)).isFalse();
+
+        assertThat(cache.get(URL)).isEmpty();
+    }
+
+    /**
+     * Returns a fixed status code, or fails like an aborted request if it is negative.
+     */
+    private static final class StatusTransport implements HttpTransport {
+
+        private final int status;
+
+        private StatusTransport(int status) {
+            this.status = status;
+        }
+
+        @Override
+        public HttpTransportResponse get(URI uri) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getStatus(URI uri) throws IOException {
+            if (status < 0) {
+                throw new InterruptedIOException("Request has been aborted");
+            }
+            return status;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
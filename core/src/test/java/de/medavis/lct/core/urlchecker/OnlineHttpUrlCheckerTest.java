@@ -0,0 +1,57 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.urlchecker;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.execution.TimeBudget;
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.http.JavaHttpTransport;
+
+@WireMockTest
+class OnlineHttpUrlCheckerTest {
+
+    @Test
+    void shouldOmitUrlWhoseCheckIsCutOffByTimeBudget(WireMockRuntimeInfo wiremock) {
+        stubFor(get("/fast").willReturn(ok()));
+        stubFor(get("/slow").willReturn(ok().withFixedDelay(10_000)));
+        String fast = wiremock.getHttpBaseUrl() + "/fast";
+        String slow = wiremock.getHttpBaseUrl() + "/slow";
+        TimeBudget timeBudget = TimeBudget.of(Duration.ofSeconds(2));
+
+        try (HttpTransport httpTransport = timeBudget.limit(new JavaHttpTransport())) {
+            var underTest = new OnlineHttpUrlChecker(httpTransport, ExecutionContext.sequential());
+
+            assertThat(underTest.checkAvailability(List.of(fast, slow), timeBudget)).containsExactly(entry(fast, true));
+        }
+    }
+
+}
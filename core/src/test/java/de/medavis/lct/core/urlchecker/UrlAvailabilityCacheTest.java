@@ -0,0 +1,126 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.urlchecker;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UrlAvailabilityCacheTest {
+
+    private static final String URL = "https://example.org/project";
+
+    private final MutableClock clock = new MutableClock();
+    private final UrlAvailabilityCache underTest = new UrlAvailabilityCache(Duration.ofHours(24), clock);
+
+    @Test
+    void shouldReturnAvailabilityUntilEntryExpires() {
+        assertThat(underTest.get(URL)).isEmpty();
+        underTest.put(URL, true, Duration.ofMillis(100));
+
+        clock.advance(Duration.ofHours(23));
+        assertThat(underTest.get(URL)).contains(true);
+
+        clock.advance(Duration.ofHours(1));
+        assertThat(underTest.get(URL)).isEmpty();
+        assertThat(underTest.stats(10)).satisfies(stats -> {
+            assertThat(stats.getHits()).isEqualTo(1);
+            assertThat(stats.getMisses()).isEqualTo(2);
+            assertThat(stats.getHitRate()).isEqualTo(33);
+            assertThat(stats.getEntries()).isEqualTo(1);
+            assertThat(stats.getStaleEntries()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void shouldExpireUnavailableUrlsEarlier() {
+        underTest.put(URL, false, Duration.ofMillis(100));
+
+        clock.advance(UrlAvailabilityCache.MAX_NEGATIVE_TIME_TO_LIVE.minusMinutes(1));
+        assertThat(underTest.get(URL)).contains(false);
+
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(underTest.get(URL)).isEmpty();
+    }
+
+    @Test
+    void shouldRefreshOnlyRecentlyRequestedUrlsBeforeTheyExpire() {
+        underTest.put(URL, true, Duration.ofMillis(100));
+        underTest.get(URL);
+        clock.advance(Duration.ofHours(20));
+
+        assertThat(underTest.urlsToRefresh(Duration.ofHours(2), Duration.ofDays(7))).isEmpty();
+        clock.advance(Duration.ofHours(3));
+        assertThat(underTest.urlsToRefresh(Duration.ofHours(2), Duration.ofDays(7))).containsExactly(URL);
+        assertThat(underTest.urlsToRefresh(Duration.ofHours(2), Duration.ofHours(1))).isEmpty();
+    }
+
+    @Test
+    void shouldEvictUnusedUrls() {
+        underTest.put(URL, true, Duration.ofMillis(100));
+        clock.advance(Duration.ofDays(8));
+
+        assertThat(underTest.evictUnused(Duration.ofDays(7))).isEqualTo(1);
+        assertThat(underTest.stats(10).getEntries()).isZero();
+    }
+
+    @Test
+    void shouldOrderHostsByAverageCheckTime() {
+        underTest.put("https://fast.org/a", true, Duration.ofMillis(10));
+        underTest.put("https://slow.org/a", true, Duration.ofMillis(900));
+        underTest.put("https://slow.org/b", false, Duration.ofMillis(1100));
+
+        assertThat(underTest.stats(1).getSlowestHosts()).singleElement().satisfies(host -> {
+            assertThat(host.getHost()).isEqualTo("slow.org");
+            assertThat(host.getProbes()).isEqualTo(2);
+            assertThat(host.getAverageMillis()).isEqualTo(1000);
+        });
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+}
@@ -0,0 +1,372 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.comply;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.AbortException;
+import hudson.EnvVars;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.Util;
+import hudson.model.AbstractProject;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.tasks.BuildStepDescriptor;
+import hudson.tasks.Builder;
+import hudson.util.FormValidation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import jenkins.tasks.SimpleBuildStep;
+import jenkins.util.BuildListenerAdapter;
+import org.apache.commons.io.FilenameUtils;
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.verb.POST;
+
+import de.medavis.lct.core.Configuration;
+import de.medavis.lct.core.analysis.AnalysisMode;
+import de.medavis.lct.core.analysis.AnalysisReport;
+import de.medavis.lct.core.comply.ComplianceResult;
+import de.medavis.lct.core.comply.ComplianceTasks;
+import de.medavis.lct.core.downloader.LicenseFileHandler;
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.execution.TimeBudget;
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.outputter.FreemarkerOutputter.Output;
+import de.medavis.lct.jenkins.config.LCTGlobalConfiguration;
+import de.medavis.lct.jenkins.create.CreateManifestBuilder;
+import de.medavis.lct.jenkins.download.CachingZipLicenseFileHandler;
+import de.medavis.lct.jenkins.download.JenkinsLicenseFileHandler;
+import de.medavis.lct.jenkins.download.JenkinsLicenseMirror;
+import de.medavis.lct.jenkins.util.AsyncWork;
+import de.medavis.lct.jenkins.util.BuildBomCache;
+import de.medavis.lct.jenkins.util.ExecutionContextFactory;
+import de.medavis.lct.jenkins.util.HttpTransportFactory;
+import de.medavis.lct.jenkins.util.JenkinsLogger;
+import de.medavis.lct.jenkins.util.UrlValidator;
+
+/**
+ * Creates the manifest, downloads the licenses and analyzes the components of a BOM in one step, so that the BOM and the configuration are only processed
+ * once. Each of the outputs is optional.
+ */
+public class ComplianceBuilder extends Builder implements SimpleBuildStep {
+
+    private final String inputPath;
+    private String manifestPath;
+    private String templateUrl;
+    private boolean ignoreUnavailableUrl;
+    private String licensesPath;
+    private boolean archive;
+    private boolean failOnDynamicLicense;
+    private String licenseMirror;
+    private String analysisModes;
+    private String reportPath;
+    private String configurationProfile;
+    private int threads = ExecutionContextFactory.DEFAULT_THREADS;
+    private int timeBudget;
+
+    @DataBoundConstructor
+    public ComplianceBuilder(@NonNull String inputPath) {
+        this.inputPath = inputPath;
+    }
+
+    public String getInputPath() {
+        return inputPath;
+    }
+
+    public String getManifestPath() {
+        return manifestPath;
+    }
+
+    public String getTemplateUrl() {
+        return templateUrl;
+    }
+
+    public boolean isIgnoreUnavailableUrl() {
+        return ignoreUnavailableUrl;
+    }
+
+    public String getLicensesPath() {
+        return licensesPath;
+    }
+
+    public boolean isArchive() {
+        return archive;
+    }
+
+    public boolean isFailOnDynamicLicense() {
+        return failOnDynamicLicense;
+    }
+
+    public String getLicenseMirror() {
+        return licenseMirror;
+    }
+
+    public String getAnalysisModes() {
+        return analysisModes;
+    }
+
+    public String getReportPath() {
+        return reportPath;
+    }
+
+    public String getConfigurationProfile() {
+        return configurationProfile;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getTimeBudget() {
+        return timeBudget;
+    }
+
+    @DataBoundSetter
+    public void setManifestPath(String manifestPath) {
+        this.manifestPath = Util.fixEmptyAndTrim(manifestPath);
+    }
+
+    @DataBoundSetter
+    public void setTemplateUrl(String templateUrl) {
+        this.templateUrl = Util.fixEmptyAndTrim(templateUrl);
+    }
+
+    @DataBoundSetter
+    public void setIgnoreUnavailableUrl(boolean ignoreUnavailableUrl) {
+        this.ignoreUnavailableUrl = ignoreUnavailableUrl;
+    }
+
+    @DataBoundSetter
+    public void setLicensesPath(String licensesPath) {
+        this.licensesPath = Util.fixEmptyAndTrim(licensesPath);
+    }
+
+    @DataBoundSetter
+    public void setArchive(boolean archive) {
+        this.archive = archive;
+    }
+
+    @DataBoundSetter
+    public void setFailOnDynamicLicense(boolean failOnDynamicLicense) {
+        this.failOnDynamicLicense = failOnDynamicLicense;
+    }
+
+    @DataBoundSetter
+    public void setLicenseMirror(String licenseMirror) {
+        this.licenseMirror = Util.fixEmptyAndTrim(licenseMirror);
+    }
+
+    @DataBoundSetter
+    public void setAnalysisModes(String analysisModes) {
+        this.analysisModes = Util.fixEmptyAndTrim(analysisModes);
+    }
+
+    @DataBoundSetter
+    public void setReportPath(String reportPath) {
+        this.reportPath = Util.fixEmptyAndTrim(reportPath);
+    }
+
+    @DataBoundSetter
+    public void setConfigurationProfile(String configurationProfile) {
+        this.configurationProfile = configurationProfile;
+    }
+
+    @DataBoundSetter
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    @DataBoundSetter
+    public void setTimeBudget(int timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+
+    @Override
+    public void perform(@NonNull Run<?, ?> run, @NonNull FilePath workspace, @NonNull EnvVars env, @NonNull Launcher launcher, @NonNull TaskListener listener)
+            throws AbortException, InterruptedException {
+        AsyncWork.await(start(run, workspace, launcher, listener));
+    }
+
+    /**
+     * Start the compliance run without blocking the calling thread. Cancelling the returned future aborts all URL checks and downloads.
+     */
+    CompletableFuture<Void> start(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener) {
+        final ExecutionContext executionContext = ExecutionContextFactory.create(threads);
+        final HttpTransport httpTransport = HttpTransportFactory.create();
+        CompletableFuture<Void> future = executionContext.submit(() -> {
+            comply(run, workspace, launcher, listener, executionContext, httpTransport);
+            return null;
+        });
+        future.whenComplete((result, e) -> {
+            httpTransport.close();
+            executionContext.close();
+        });
+        return future;
+    }
+
+    private void comply(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener, ExecutionContext executionContext,
+            HttpTransport httpTransport) throws AbortException, InterruptedException {
+        final JenkinsLogger logger = new JenkinsLogger(listener);
+        final TimeBudget budget = ExecutionContextFactory.createTimeBudget(timeBudget);
+        final Configuration configuration = LCTGlobalConfiguration.getConfigurationByProfile(configurationProfile);
+        final Set<AnalysisMode> modes = parseAnalysisModes(analysisModes);
+        ComplianceResult result;
+        try (JenkinsLicenseMirror mirror = JenkinsLicenseMirror.open(workspace, licenseMirror, logger);
+                CachingZipLicenseFileHandler archiveFileHandler = licensesPath != null && archive
+                        ? new CachingZipLicenseFileHandler(workspace, licensesPath, LCTGlobalConfiguration.getCacheLimits()) : null;
+                JenkinsLicenseFileHandler workspaceFileHandler = licensesPath != null && !archive
+                        ? new JenkinsLicenseFileHandler(workspace, licensesPath, LCTGlobalConfiguration.getCacheLimits()) : null;
+                InputStream bomStream = workspace.child(inputPath).read()) {
+            // Analysis modes treating unavailable URLs as missing need the URLs to be checked online as well
+            boolean checkUrls = ignoreUnavailableUrl || modes.stream().anyMatch(AnalysisMode::isOnlineCheckRequired);
+            var runner = ComplianceBuilderFactory.getComplianceRunner(configuration, checkUrls, executionContext, budget.limit(httpTransport), mirror,
+                    BuildBomCache.of(run));
+            logger.info("Checking compliance of components in %s.%n", inputPath);
+            LicenseFileHandler licenseFileHandler = archiveFileHandler != null ? archiveFileHandler : workspaceFileHandler;
+            // The manifest is rendered in memory and only written once the run succeeded, so that a failed run does not leave an empty manifest
+            StringWriter manifest = manifestPath != null ? new StringWriter() : null;
+            List<Output> manifests = manifest != null ? List.of(new Output(templateUrl, manifest)) : Collections.emptyList();
+            result = runner.run(logger, bomStream, new ComplianceTasks(manifests, licenseFileHandler, failOnDynamicLicense, modes), budget);
+            if (manifest != null) {
+                workspace.child(manifestPath).write(manifest.toString(), StandardCharsets.UTF_8.name());
+            }
+        } catch (IOException e) {
+            throw new AbortException("Could not check compliance: " + e.getMessage());
+        }
+        try {
+            if (manifestPath != null) {
+                String archiveFilename = CreateManifestBuilder.ARCHIVE_FILE_NAME + "." + FilenameUtils.getExtension(manifestPath);
+                run.pickArtifactManager().archive(workspace, launcher, new BuildListenerAdapter(listener), Collections.singletonMap(archiveFilename, manifestPath));
+            }
+            writeReports(workspace, result.getReports(), logger);
+        } catch (IOException e) {
+            throw new AbortException("Could not write compliance results: " + e.getMessage());
+        }
+        ExecutionContextFactory.reportTimeBudget(budget, run, logger);
+    }
+
+    private void writeReports(FilePath workspace, List<AnalysisReport> reports, JenkinsLogger logger) throws IOException, InterruptedException {
+        StringWriter text = new StringWriter();
+        for (AnalysisReport report : reports) {
+            report.write(text);
+        }
+        if (!reports.isEmpty()) {
+            logger.info("%s", text);
+        }
+        if (reportPath != null) {
+            workspace.child(reportPath).write(text.toString(), StandardCharsets.UTF_8.name());
+        }
+    }
+
+    /**
+     * @param value comma-separated names of {@link AnalysisMode}s, case does not matter
+     */
+    static Set<AnalysisMode> parseAnalysisModes(String value) {
+        if (Util.fixEmptyAndTrim(value) == null) {
+            return Collections.emptySet();
+        }
+        Set<AnalysisMode> modes = new LinkedHashSet<>();
+        for (String name : value.split(",")) {
+            String trimmed = name.trim().toUpperCase(Locale.ROOT);
+            if (!trimmed.isEmpty()) {
+                try {
+                    modes.add(AnalysisMode.valueOf(trimmed));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown analysis mode " + name.trim() + ", valid modes are " + validModes(), e);
+                }
+            }
+        }
+        return modes;
+    }
+
+    private static String validModes() {
+        return Arrays.stream(AnalysisMode.values()).map(AnalysisMode::name).collect(Collectors.joining(", "));
+    }
+
+    @Symbol("licenseCompliance")
+    @Extension
+    public static final class DescriptorImpl extends BuildStepDescriptor<Builder> {
+
+        @POST
+        public FormValidation doCheckConfigurationProfile(@QueryParameter String value) {
+            if (Util.fixEmptyAndTrim(value) != null && !LCTGlobalConfiguration.checkConfigurationProfile(value)) {
+                return FormValidation.error(Messages.ComplianceBuilder_DescriptorImpl_error_profileNotFound());
+            }
+            return FormValidation.ok();
+        }
+
+        @POST
+        public FormValidation doCheckInputPath(@QueryParameter String value) {
+            return FormValidation.validateRequired(value);
+        }
+
+        @POST
+        public FormValidation doCheckTemplateUrl(@QueryParameter String value) {
+            return UrlValidator.validate(value);
+        }
+
+        @POST
+        public FormValidation doCheckAnalysisModes(@QueryParameter String value) {
+            try {
+                parseAnalysisModes(value);
+                return FormValidation.ok();
+            } catch (IllegalArgumentException e) {
+                return FormValidation.error(e.getMessage());
+            }
+        }
+
+        @POST
+        public FormValidation doCheckThreads(@QueryParameter String value) {
+            return ExecutionContextFactory.validateThreads(value);
+        }
+
+        @POST
+        public FormValidation doCheckTimeBudget(@QueryParameter String value) {
+            return ExecutionContextFactory.validateTimeBudget(value);
+        }
+
+        @Override
+        public boolean isApplicable(Class<? extends AbstractProject> jobType) {
+            return true;
+        }
+
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.ComplianceBuilder_DescriptorImpl_displayName();
+        }
+
+    }
+
+}
@@ -0,0 +1,82 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.comply;
+
+import de.medavis.lct.core.Configuration;
+import de.medavis.lct.core.analysis.ComponentAnalyzer;
+import de.medavis.lct.core.asset.AssetLoader;
+import de.medavis.lct.core.asset.BomCache;
+import de.medavis.lct.core.comply.ComplianceRunner;
+import de.medavis.lct.core.downloader.LicenseFileDownloader;
+import de.medavis.lct.core.downloader.LicenseMirror;
+import de.medavis.lct.core.downloader.LicensesDownloader;
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.license.LicenseLoader;
+import de.medavis.lct.core.license.LicenseMappingLoader;
+import de.medavis.lct.core.list.ComponentLister;
+import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
+import de.medavis.lct.core.outputter.FreemarkerOutputter;
+import de.medavis.lct.jenkins.urlcache.UrlHealthCache;
+
+// TODO Try to use dependency injection (maybe using ExtensionFinder, GuiceFinder?)
+class ComplianceBuilderFactory {
+
+    private static ComplianceRunnerFactory complianceRunnerFactory = (configuration, ignoreUnavailableUrl, executionContext, httpTransport, licenseMirror,
+            bomCache) -> {
+        var componentLister = new ComponentLister(
+                new AssetLoader(UrlHealthCache.urlChecker(ignoreUnavailableUrl, httpTransport, executionContext), executionContext, bomCache),
+                new ComponentMetaDataLoader(httpTransport),
+                new LicenseLoader(httpTransport),
+                new LicenseMappingLoader(httpTransport),
+                configuration,
+                executionContext);
+        return new ComplianceRunner(
+                componentLister,
+                new FreemarkerOutputter(),
+                new LicensesDownloader(componentLister, new LicenseFileDownloader(httpTransport, licenseMirror), executionContext),
+                new ComponentAnalyzer(),
+                executionContext);
+    };
+
+    private ComplianceBuilderFactory() {
+    }
+
+    public static ComplianceRunner getComplianceRunner(Configuration configuration, boolean ignoreUnavailableUrl, ExecutionContext executionContext,
+            HttpTransport httpTransport, LicenseMirror licenseMirror, BomCache bomCache) {
+        return complianceRunnerFactory.create(configuration, ignoreUnavailableUrl, executionContext, httpTransport, licenseMirror, bomCache);
+    }
+
+    /**
+     * Should only be used for tests
+     */
+    static void setComplianceRunnerFactory(ComplianceRunnerFactory complianceRunnerFactory) {
+        ComplianceBuilderFactory.complianceRunnerFactory = complianceRunnerFactory;
+    }
+
+    @FunctionalInterface
+    interface ComplianceRunnerFactory {
+
+        ComplianceRunner create(Configuration configuration, boolean ignoreUnavailableUrl, ExecutionContext executionContext, HttpTransport httpTransport,
+                LicenseMirror licenseMirror, BomCache bomCache);
+
+    }
+
+}
@@ -12,7 +12,9 @@ import hudson.model.Descriptor;
 import hudson.util.FormValidation;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
+import jenkins.model.Jenkins;
 import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.verb.POST;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -123,8 +125,14 @@ public class ConfigurationProfile extends AbstractDescribableImpl<ConfigurationP
             return FormValidation.ok();
         }
 
+        /**
+         * Besides the URL, the metadata is loaded and its rules are checked for invalid, slow or risky patterns.
+         */
+        @POST
         public FormValidation doCheckComponentMetadata(@QueryParameter String value) {
-            return UrlValidator.validate(value);
+            // The metadata is loaded from the controller, so this is restricted like the global configuration itself
+            Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+            return MetadataRuleValidation.validate(value);
         }
 
         public FormValidation doCheckLicenses(@QueryParameter String value) {
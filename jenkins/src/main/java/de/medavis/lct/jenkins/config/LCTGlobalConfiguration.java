@@ -25,8 +25,12 @@ import java.util.function.Predicate;
 
 import hudson.Extension;
 import hudson.model.PersistentDescriptor;
+import hudson.util.FormValidation;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.verb.POST;
 
 import de.medavis.lct.core.Configuration;
+import de.medavis.lct.core.cache.CacheLimits;
 
 @Extension
 public class LCTGlobalConfiguration extends jenkins.model.GlobalConfiguration implements PersistentDescriptor {
@@ -50,7 +54,14 @@ public class LCTGlobalConfiguration extends jenkins.model.GlobalConfiguration im
         }
     }
 
+    public static CacheLimits getCacheLimits() {
+        var configuration = jenkins.model.GlobalConfiguration.all().getInstance(LCTGlobalConfiguration.class);
+        return configuration != null ? CacheLimits.of(configuration.getCacheMaxSize(), configuration.getCacheMaxAge()) : CacheLimits.DEFAULT;
+    }
+
     private List<ConfigurationProfile> profiles = new ArrayList<>();
+    private long cacheMaxSize = CacheLimits.DEFAULT_MAX_SIZE_MB;
+    private long cacheMaxAge = CacheLimits.DEFAULT_MAX_AGE_DAYS;
 
     public LCTGlobalConfiguration() {
         load();
@@ -65,4 +76,32 @@ public class LCTGlobalConfiguration extends jenkins.model.GlobalConfiguration im
         save();
     }
 
+    public long getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    public void setCacheMaxSize(final long cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+        save();
+    }
+
+    public long getCacheMaxAge() {
+        return cacheMaxAge;
+    }
+
+    public void setCacheMaxAge(final long cacheMaxAge) {
+        this.cacheMaxAge = cacheMaxAge;
+        save();
+    }
+
+    @POST
+    public FormValidation doCheckCacheMaxSize(@QueryParameter String value) {
+        return FormValidation.validateNonNegativeInteger(value);
+    }
+
+    @POST
+    public FormValidation doCheckCacheMaxAge(@QueryParameter String value) {
+        return FormValidation.validateNonNegativeInteger(value);
+    }
+
 }
\ No newline at end of file
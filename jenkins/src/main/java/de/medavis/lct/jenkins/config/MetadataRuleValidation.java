@@ -0,0 +1,83 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.config;
+
+import com.google.common.base.Strings;
+import hudson.util.FormValidation;
+import hudson.util.FormValidation.Kind;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
+import de.medavis.lct.core.metadata.MetadataRuleChecker;
+import de.medavis.lct.core.metadata.MetadataRuleChecker.RuleCheck;
+import de.medavis.lct.jenkins.util.HttpTransportFactory;
+import de.medavis.lct.jenkins.util.UrlValidator;
+
+/**
+ * Loads component metadata and benchmarks its rules, so that invalid or risky patterns are reported while editing the profile instead of failing builds.
+ */
+class MetadataRuleValidation {
+
+    private static final int MAX_REPORTED_RULES = 5;
+
+    private MetadataRuleValidation() {
+    }
+
+    static FormValidation validate(String value) {
+        FormValidation urlValidation = UrlValidator.validate(value);
+        if (urlValidation.kind != Kind.OK || Strings.isNullOrEmpty(value)) {
+            return urlValidation;
+        }
+
+        List<RuleCheck> checks;
+        try (HttpTransport httpTransport = HttpTransportFactory.create()) {
+            var rules = new ArrayList<>(new ComponentMetaDataLoader(httpTransport).load(new URL(value)));
+            checks = new MetadataRuleChecker().check(rules, MetadataRuleChecker.defaultSamples());
+        } catch (Exception e) {
+            return FormValidation.error(e.getMessage());
+        }
+
+        String timedOut = describe(checks.stream().filter(RuleCheck::isTimedOut).collect(Collectors.toList()));
+        if (!timedOut.isEmpty()) {
+            return FormValidation.error(Messages.ConfigurationProfile_error_matchTimedOut(timedOut));
+        }
+        String risky = describe(checks.stream().filter(RuleCheck::isUnsafe).collect(Collectors.toList()));
+        if (!risky.isEmpty()) {
+            return FormValidation.warning(Messages.ConfigurationProfile_warning_riskyPatterns(risky));
+        }
+        return checks.stream()
+                .max(Comparator.comparingLong(RuleCheck::getMaxNanos))
+                .map(slowest -> FormValidation.ok(Messages.ConfigurationProfile_ok_rulesChecked(checks.size(), slowest.getDescription(),
+                        TimeUnit.NANOSECONDS.toMicros(slowest.getMaxNanos()))))
+                .orElse(FormValidation.ok());
+    }
+
+    private static String describe(List<RuleCheck> checks) {
+        String description = checks.stream().limit(MAX_REPORTED_RULES).map(RuleCheck::getDescription).collect(Collectors.joining(", "));
+        return checks.size() > MAX_REPORTED_RULES ? description + ", ..." : description;
+    }
+
+}
@@ -37,13 +37,15 @@ import java.io.InputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import jenkins.tasks.SimpleBuildStep;
 import jenkins.util.BuildListenerAdapter;
 import org.apache.commons.io.FilenameUtils;
-import org.jenkinsci.Symbol;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
@@ -52,9 +54,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.medavis.lct.core.Configuration;
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.execution.TimeBudget;
+import de.medavis.lct.core.http.HttpTransport;
 import de.medavis.lct.core.list.ComponentData;
+import de.medavis.lct.core.outputter.FreemarkerOutputter.Output;
 import de.medavis.lct.jenkins.config.LCTGlobalConfiguration;
+import de.medavis.lct.jenkins.list.ComponentListCache;
+import de.medavis.lct.jenkins.util.AsyncWork;
+import de.medavis.lct.jenkins.util.BuildBomCache;
+import de.medavis.lct.jenkins.util.ExecutionContextFactory;
+import de.medavis.lct.jenkins.util.HttpTransportFactory;
 import de.medavis.lct.jenkins.util.JenkinsLogger;
+import de.medavis.lct.jenkins.util.ResultCache;
 import de.medavis.lct.jenkins.util.UrlValidator;
 
 
@@ -67,8 +79,11 @@ public class CreateManifestBuilder extends Builder implements SimpleBuildStep {
     private final String inputPath;
     private final String outputPath;
     private String templateUrl;
+    private List<ManifestOutput> additionalOutputs = new ArrayList<>();
     private boolean ignoreUnavailableUrl;
     private String configurationProfile;
+    private int threads = ExecutionContextFactory.DEFAULT_THREADS;
+    private int timeBudget;
 
     @DataBoundConstructor
     public CreateManifestBuilder(@NonNull String inputPath, @NonNull String outputPath) {
@@ -88,6 +103,10 @@ public class CreateManifestBuilder extends Builder implements SimpleBuildStep {
         return templateUrl;
     }
 
+    public List<ManifestOutput> getAdditionalOutputs() {
+        return additionalOutputs;
+    }
+
     public boolean isIgnoreUnavailableUrl() {
         return ignoreUnavailableUrl;
     }
@@ -96,11 +115,24 @@ public class CreateManifestBuilder extends Builder implements SimpleBuildStep {
         return configurationProfile;
     }
 
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getTimeBudget() {
+        return timeBudget;
+    }
+
     @DataBoundSetter
     public void setTemplateUrl(String templateUrl) {
         this.templateUrl = templateUrl;
     }
 
+    @DataBoundSetter
+    public void setAdditionalOutputs(List<ManifestOutput> additionalOutputs) {
+        this.additionalOutputs = additionalOutputs != null ? additionalOutputs : new ArrayList<>();
+    }
+
     @DataBoundSetter
     public void setIgnoreUnavailableUrl(final boolean ignoreUnavailableUrl) {
         this.ignoreUnavailableUrl = ignoreUnavailableUrl;
@@ -111,36 +143,173 @@ public class CreateManifestBuilder extends Builder implements SimpleBuildStep {
         this.configurationProfile = configurationProfile;
     }
 
+    @DataBoundSetter
+    public void setThreads(final int threads) {
+        this.threads = threads;
+    }
+
+    @DataBoundSetter
+    public void setTimeBudget(final int timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+
+    /**
+     * Configurations saved before additional outputs were supported do not contain the field, and XStream does not run field initializers.
+     */
+    protected Object readResolve() {
+        if (additionalOutputs == null) {
+            additionalOutputs = new ArrayList<>();
+        }
+        return this;
+    }
+
     @Override
     public void perform(@NonNull Run<?, ?> run, @NonNull FilePath workspace, @NonNull EnvVars env, @NonNull Launcher launcher, @NonNull TaskListener listener)
             throws AbortException, InterruptedException {
+        AsyncWork.await(start(run, workspace, launcher, listener));
+    }
+
+    /**
+     * Start creating the manifest without blocking the calling thread. Cancelling the returned future aborts all URL checks and configuration fetches.
+     */
+    CompletableFuture<Void> start(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener) {
         final Configuration configuration = LCTGlobalConfiguration.getConfigurationByProfile(configurationProfile);
-        var componentLister = CreateManifestBuilderFactory.getComponentLister(configuration, ignoreUnavailableUrl);
-        var outputter = CreateManifestBuilderFactory.getOutputterFactory();
+        final ExecutionContext executionContext = ExecutionContextFactory.create(threads);
+        final HttpTransport httpTransport = HttpTransportFactory.create();
+        CompletableFuture<Void> future = executionContext.submit(() -> {
+            createManifest(run, workspace, launcher, listener, configuration, executionContext, httpTransport);
+            return null;
+        });
+        future.whenComplete((result, e) -> {
+            httpTransport.close();
+            executionContext.close();
+        });
+        return future;
+    }
 
+    private void createManifest(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener, Configuration configuration,
+            ExecutionContext executionContext, HttpTransport httpTransport) throws AbortException, InterruptedException {
+        final TimeBudget budget = ExecutionContextFactory.createTimeBudget(timeBudget);
+        // Fail before the outputs are written if they cannot be archived
+        getArchiveFiles();
         try {
+            var componentLister = CreateManifestBuilderFactory.getComponentLister(configuration, ignoreUnavailableUrl, executionContext,
+                    budget.limit(httpTransport), BuildBomCache.of(run));
             final JenkinsLogger logger = new JenkinsLogger(listener);
             logger.info("Writing component manifest from '%s' to '%s'.%n", inputPath, outputPath);
-            try (InputStream bomStream = workspace.child(inputPath).read()) {
-                List<ComponentData> components = componentLister.listComponents(bomStream);
-                try (Writer manifestWriter = new OutputStreamWriter(workspace.child(outputPath).write(), StandardCharsets.UTF_8)) {
-                    outputter.output(components, manifestWriter, templateUrl);
+            for (ManifestOutput output : additionalOutputs) {
+                logger.info("Writing additional output to '%s'.%n", output.getOutputPath());
+            }
+            FilePath bom = workspace.child(inputPath);
+            List<ManifestOutput> outputs = getAllOutputs();
+            String bomHash = ResultCache.sha256(bom);
+            List<String> resultKeys = getResultKeys(bomHash, configuration, outputs, httpTransport);
+            if (resultKeys != null && restoreAll(workspace, outputs, resultKeys)) {
+                logger.info("Reusing the component manifest of an earlier build with the same BOM, configuration and options.%n");
+                archiveOutputs(run, workspace, launcher, listener);
+                return;
+            }
+            String cacheKey = ComponentListCache.key(bom, configurationProfile, ignoreUnavailableUrl);
+            List<ComponentData> components = ComponentListCache.get(run, cacheKey).orElse(null);
+            if (components == null) {
+                try (InputStream bomStream = bom.read()) {
+                    components = componentLister.listComponents(bomStream, budget);
+                }
+                if (!budget.isCutShort()) {
+                    ComponentListCache.put(run, cacheKey, components);
+                }
+            }
+            writeOutputs(workspace, outputs, components, executionContext);
+            archiveOutputs(run, workspace, launcher, listener);
+            if (resultKeys != null && !budget.isCutShort()) {
+                for (int i = 0; i < outputs.size(); i++) {
+                    ResultCache.store(resultKeys.get(i), workspace.child(outputs.get(i).getOutputPath()));
                 }
-                archiveOutput(run, workspace, launcher, listener);
             }
+            ExecutionContextFactory.reportTimeBudget(budget, run, logger);
         } catch (IOException e) {
             log.error("Could not create manifest.", e);
             throw new AbortException("Could not create component manifest: " + e.getMessage());
         }
     }
 
-    private void archiveOutput(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener) throws IOException, InterruptedException {
-        String archiveFilename = ARCHIVE_FILE_NAME + "." + FilenameUtils.getExtension(outputPath);
-        Map<String, String> file = Collections.singletonMap(archiveFilename, outputPath);
-        run.pickArtifactManager().archive(workspace, launcher, new BuildListenerAdapter(listener), file);
+    private List<ManifestOutput> getAllOutputs() {
+        List<ManifestOutput> outputs = new ArrayList<>();
+        ManifestOutput primary = new ManifestOutput(outputPath);
+        primary.setTemplateUrl(templateUrl);
+        outputs.add(primary);
+        outputs.addAll(additionalOutputs);
+        return outputs;
     }
 
-    @Symbol("componentManifest")
+    /**
+     * @return the keys of the outputs in the {@link ResultCache}, or <code>null</code> if they cannot be cached because the configuration or a template
+     * could not be fetched
+     */
+    private List<String> getResultKeys(String bomHash, Configuration configuration, List<ManifestOutput> outputs, HttpTransport httpTransport) {
+        List<String> resultKeys = new ArrayList<>();
+        for (ManifestOutput output : outputs) {
+            Optional<String> templateHash = ResultCache.contentHash(httpTransport, output.getTemplateUrl());
+            Optional<String> key = templateHash.flatMap(hash -> ResultCache.key(bomHash, configuration, httpTransport, "manifest", output.getTemplateUrl(),
+                    hash, ignoreUnavailableUrl, FilenameUtils.getExtension(output.getOutputPath())));
+            if (key.isEmpty()) {
+                return null;
+            }
+            resultKeys.add(key.get());
+        }
+        return resultKeys;
+    }
+
+    private boolean restoreAll(FilePath workspace, List<ManifestOutput> outputs, List<String> resultKeys) throws IOException, InterruptedException {
+        for (int i = 0; i < outputs.size(); i++) {
+            if (!ResultCache.restore(resultKeys.get(i), workspace.child(outputs.get(i).getOutputPath()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeOutputs(FilePath workspace, List<ManifestOutput> outputs, List<ComponentData> components, ExecutionContext executionContext)
+            throws IOException, InterruptedException {
+        var outputter = CreateManifestBuilderFactory.getOutputterFactory();
+        List<Writer> writers = new ArrayList<>();
+        try {
+            List<Output> targets = new ArrayList<>();
+            for (ManifestOutput output : outputs) {
+                Writer writer = new OutputStreamWriter(workspace.child(output.getOutputPath()).write(), StandardCharsets.UTF_8);
+                writers.add(writer);
+                targets.add(new Output(output.getTemplateUrl(), writer));
+            }
+            outputter.outputAll(components, targets, executionContext);
+        } finally {
+            for (Writer writer : writers) {
+                writer.close();
+            }
+        }
+    }
+
+    private void archiveOutputs(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener) throws IOException, InterruptedException {
+        run.pickArtifactManager().archive(workspace, launcher, new BuildListenerAdapter(listener), getArchiveFiles());
+    }
+
+    /**
+     * @return workspace path by archive name
+     * @throws AbortException if two outputs would be archived under the same name
+     */
+    private Map<String, String> getArchiveFiles() throws AbortException {
+        Map<String, String> files = new HashMap<>();
+        files.put(ARCHIVE_FILE_NAME + "." + FilenameUtils.getExtension(outputPath), outputPath);
+        for (ManifestOutput output : additionalOutputs) {
+            String previous = files.putIfAbsent(FilenameUtils.getName(output.getOutputPath()), output.getOutputPath());
+            if (previous != null) {
+                throw new AbortException(String.format("Outputs '%s' and '%s' would be archived under the same name '%s'.", previous, output.getOutputPath(),
+                        FilenameUtils.getName(output.getOutputPath())));
+            }
+        }
+        return files;
+    }
+
+    // No symbol: in pipelines, componentManifest is the asynchronous CreateManifestStep
     @Extension
     public static final class DescriptorImpl extends BuildStepDescriptor<Builder> {
 
@@ -167,6 +336,16 @@ public class CreateManifestBuilder extends Builder implements SimpleBuildStep {
             return UrlValidator.validate(value);
         }
 
+        @POST
+        public FormValidation doCheckThreads(@QueryParameter String value) {
+            return ExecutionContextFactory.validateThreads(value);
+        }
+
+        @POST
+        public FormValidation doCheckTimeBudget(@QueryParameter String value) {
+            return ExecutionContextFactory.validateTimeBudget(value);
+        }
+
         @Override
         public boolean isApplicable(Class<? extends AbstractProject> jobType) {
             return true;
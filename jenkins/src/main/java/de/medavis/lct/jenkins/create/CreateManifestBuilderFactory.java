@@ -19,34 +19,39 @@
  */
 package de.medavis.lct.jenkins.create;
 
-import java.util.function.BiFunction;
-import java.util.function.Function;
 import java.util.function.Supplier;
 
 import de.medavis.lct.core.license.LicenseLoader;
 import de.medavis.lct.core.license.LicenseMappingLoader;
 import de.medavis.lct.core.Configuration;
 import de.medavis.lct.core.asset.AssetLoader;
+import de.medavis.lct.core.asset.BomCache;
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.http.HttpTransport;
 import de.medavis.lct.core.list.ComponentLister;
 import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
 import de.medavis.lct.core.outputter.FreemarkerOutputter;
+import de.medavis.lct.jenkins.urlcache.UrlHealthCache;
 
 // TODO Try to use dependency injection (maybe using ExtensionFinder, GuiceFinder?)
 class CreateManifestBuilderFactory {
 
-    private static BiFunction<Configuration, Boolean, ComponentLister> componentListerFactory = (configuration, ignoreUnavailableUrl) -> new ComponentLister(
-            new AssetLoader(ignoreUnavailableUrl),
-            new ComponentMetaDataLoader(),
-            new LicenseLoader(),
-            new LicenseMappingLoader(),
-            configuration);
+    private static ComponentListerFactory componentListerFactory = (configuration, ignoreUnavailableUrl, executionContext, httpTransport,
+            bomCache) -> new ComponentLister(
+            new AssetLoader(UrlHealthCache.urlChecker(ignoreUnavailableUrl, httpTransport, executionContext), executionContext, bomCache),
+            new ComponentMetaDataLoader(httpTransport),
+            new LicenseLoader(httpTransport),
+            new LicenseMappingLoader(httpTransport),
+            configuration,
+            executionContext);
     private static Supplier<FreemarkerOutputter> outputterFactory = FreemarkerOutputter::new;
 
     private CreateManifestBuilderFactory() {
     }
 
-    public static ComponentLister getComponentLister(Configuration configuration, final boolean ignoreUnavailableUrl) {
-        return componentListerFactory.apply(configuration, ignoreUnavailableUrl);
+    public static ComponentLister getComponentLister(Configuration configuration, final boolean ignoreUnavailableUrl, ExecutionContext executionContext,
+            HttpTransport httpTransport, BomCache bomCache) {
+        return componentListerFactory.create(configuration, ignoreUnavailableUrl, executionContext, httpTransport, bomCache);
     }
 
     public static FreemarkerOutputter getOutputterFactory() {
@@ -56,7 +61,7 @@ class CreateManifestBuilderFactory {
     /**
      * Should only be used for tests
      */
-    static void setComponentListerFactory(BiFunction<Configuration, Boolean, ComponentLister> componentListerFactory) {
+    static void setComponentListerFactory(ComponentListerFactory componentListerFactory) {
         CreateManifestBuilderFactory.componentListerFactory = componentListerFactory;
     }
 
@@ -67,4 +72,12 @@ class CreateManifestBuilderFactory {
         CreateManifestBuilderFactory.outputterFactory = outputterFactory;
     }
 
+    @FunctionalInterface
+    interface ComponentListerFactory {
+
+        ComponentLister create(Configuration configuration, boolean ignoreUnavailableUrl, ExecutionContext executionContext, HttpTransport httpTransport,
+                BomCache bomCache);
+
+    }
+
 }
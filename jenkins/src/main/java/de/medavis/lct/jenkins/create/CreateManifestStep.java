@@ -0,0 +1,140 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.create;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import java.util.List;
+import java.util.Set;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import de.medavis.lct.jenkins.util.AsyncStepExecution;
+
+/**
+ * Pipeline variant of {@link CreateManifestBuilder} with the same parameters. It runs asynchronously, so it does not block a thread while URLs are checked
+ * and configurations are fetched, and it aborts these requests as soon as the build is aborted.
+ */
+public class CreateManifestStep extends Step {
+
+    private final CreateManifestBuilder builder;
+
+    @DataBoundConstructor
+    public CreateManifestStep(@NonNull String inputPath, @NonNull String outputPath) {
+        this.builder = new CreateManifestBuilder(inputPath, outputPath);
+    }
+
+    public String getInputPath() {
+        return builder.getInputPath();
+    }
+
+    public String getOutputPath() {
+        return builder.getOutputPath();
+    }
+
+    public String getTemplateUrl() {
+        return builder.getTemplateUrl();
+    }
+
+    public List<ManifestOutput> getAdditionalOutputs() {
+        return builder.getAdditionalOutputs();
+    }
+
+    public boolean isIgnoreUnavailableUrl() {
+        return builder.isIgnoreUnavailableUrl();
+    }
+
+    public String getConfigurationProfile() {
+        return builder.getConfigurationProfile();
+    }
+
+    public int getThreads() {
+        return builder.getThreads();
+    }
+
+    public int getTimeBudget() {
+        return builder.getTimeBudget();
+    }
+
+    @DataBoundSetter
+    public void setTemplateUrl(String templateUrl) {
+        builder.setTemplateUrl(templateUrl);
+    }
+
+    @DataBoundSetter
+    public void setAdditionalOutputs(List<ManifestOutput> additionalOutputs) {
+        builder.setAdditionalOutputs(additionalOutputs);
+    }
+
+    @DataBoundSetter
+    public void setIgnoreUnavailableUrl(final boolean ignoreUnavailableUrl) {
+        builder.setIgnoreUnavailableUrl(ignoreUnavailableUrl);
+    }
+
+    @DataBoundSetter
+    public void setConfigurationProfile(final String configurationProfile) {
+        builder.setConfigurationProfile(configurationProfile);
+    }
+
+    @DataBoundSetter
+    public void setThreads(final int threads) {
+        builder.setThreads(threads);
+    }
+
+    @DataBoundSetter
+    public void setTimeBudget(final int timeBudget) {
+        builder.setTimeBudget(timeBudget);
+    }
+
+    @Override
+    public StepExecution start(StepContext context) {
+        return new AsyncStepExecution(context, builder::start);
+    }
+
+    @Extension
+    public static final class DescriptorImpl extends StepDescriptor {
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return Set.of(Run.class, FilePath.class, Launcher.class, TaskListener.class);
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "componentManifest";
+        }
+
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.CreateManifestBuilder_DescriptorImpl_displayName();
+        }
+
+    }
+
+}
@@ -0,0 +1,83 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.create;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import hudson.util.FormValidation;
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.verb.POST;
+
+import de.medavis.lct.jenkins.util.UrlValidator;
+
+/**
+ * An additional file rendered by {@link CreateManifestBuilder} from the same component listing as its primary output.
+ */
+public class ManifestOutput extends AbstractDescribableImpl<ManifestOutput> {
+
+    private final String outputPath;
+    private String templateUrl;
+
+    @DataBoundConstructor
+    public ManifestOutput(@NonNull String outputPath) {
+        this.outputPath = outputPath;
+    }
+
+    public String getOutputPath() {
+        return outputPath;
+    }
+
+    public String getTemplateUrl() {
+        return templateUrl;
+    }
+
+    @DataBoundSetter
+    public void setTemplateUrl(String templateUrl) {
+        this.templateUrl = templateUrl;
+    }
+
+    @Symbol("output")
+    @Extension
+    public static final class DescriptorImpl extends Descriptor<ManifestOutput> {
+
+        @POST
+        public FormValidation doCheckOutputPath(@QueryParameter String value) {
+            return FormValidation.validateRequired(value);
+        }
+
+        @POST
+        public FormValidation doCheckTemplateUrl(@QueryParameter String value) {
+            return UrlValidator.validate(value);
+        }
+
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.ManifestOutput_DescriptorImpl_displayName();
+        }
+
+    }
+
+}
@@ -0,0 +1,80 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.download;
+
+import hudson.FilePath;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import de.medavis.lct.core.cache.CacheLimits;
+import de.medavis.lct.core.downloader.LicenseFileHandler;
+import de.medavis.lct.core.downloader.ZipLicenseFileHandler;
+
+/**
+ * Streams license files into a ZIP archive in the workspace, like {@link ZipLicenseFileHandler}, and keeps them in the license cache of the workspace, like
+ * {@link JenkinsLicenseFileHandler}. Cached licenses are read from the cache into the archive instead of being obtained again.
+ */
+public class CachingZipLicenseFileHandler implements LicenseFileHandler, Closeable {
+
+    private final JenkinsLicenseFileHandler cache;
+    private final ZipLicenseFileHandler archive;
+
+    public CachingZipLicenseFileHandler(FilePath workspace, String outputPath, CacheLimits cacheLimits) throws IOException, InterruptedException {
+        this.cache = new JenkinsLicenseFileHandler(workspace, null, cacheLimits);
+        this.archive = new ZipLicenseFileHandler(workspace.child(outputPath).write());
+    }
+
+    @Override
+    public boolean isCached(String license) throws IOException {
+        return cache.isCached(license);
+    }
+
+    @Override
+    public Set<String> findCached(Collection<String> licenses) throws IOException {
+        return cache.findCached(licenses);
+    }
+
+    @Override
+    public void save(String license, String extension, byte[] content) throws IOException {
+        cache.save(license, extension, content);
+        archive.save(license, extension, content);
+    }
+
+    @Override
+    public void copyFromCache(String license) throws IOException {
+        copyFromCache(List.of(license));
+    }
+
+    @Override
+    public void copyFromCache(Collection<String> licenses) throws IOException {
+        cache.copyFromCache(licenses, archive);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (cache) {
+            archive.close();
+        }
+    }
+
+}
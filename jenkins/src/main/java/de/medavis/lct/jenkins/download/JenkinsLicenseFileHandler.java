@@ -20,75 +20,293 @@
 package de.medavis.lct.jenkins.download;
 
 import hudson.FilePath;
+import hudson.remoting.VirtualChannel;
+import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.util.Optional;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
+import jenkins.MasterToSlaveFileCallable;
 import org.apache.commons.io.FilenameUtils;
 
+import de.medavis.lct.core.cache.CacheLimits;
+import de.medavis.lct.core.downloader.FileMaterializer;
 import de.medavis.lct.core.downloader.LicenseFileHandler;
 
-class JenkinsLicenseFileHandler implements LicenseFileHandler {
+/**
+ * Saves license files in the workspace and keeps them in a cache folder of the workspace. The cache is scanned only once, and cached files are hardlinked
+ * (or copied, if that is not possible) into the output folder in one operation on the agent, so that there are no remote calls per cached license.
+ * <p>
+ * The cache index is updated and the cache is pruned when the handler is closed.
+ * <p>
+ * Without output folder, files are only kept in the cache, and cached files can be passed to another handler with
+ * {@link #copyFromCache(Collection, LicenseFileHandler)}.
+ */
+public class JenkinsLicenseFileHandler implements LicenseFileHandler, Closeable {
 
-    private static final String CACHE_PATH = ".lct/cache/licenses";
+    static final String CACHE_PATH = ".lct/cache/licenses";
 
     private final FilePath workspace;
     private final String outputPath;
+    private final CacheLimits cacheLimits;
+    private final Set<String> usedFiles = ConcurrentHashMap.newKeySet();
+    private final Set<String> writtenFiles = ConcurrentHashMap.newKeySet();
+    private Map<String, String> cachedFiles;
 
     public JenkinsLicenseFileHandler(FilePath workspace, String outputPath) {
+        this(workspace, outputPath, CacheLimits.DEFAULT);
+    }
+
+    /**
+     * @param outputPath Output folder relative to the workspace, or <code>null</code> to only keep files in the cache
+     */
+    public JenkinsLicenseFileHandler(FilePath workspace, String outputPath, CacheLimits cacheLimits) {
         this.workspace = workspace;
         this.outputPath = outputPath;
+        this.cacheLimits = cacheLimits;
     }
 
     @Override
     public boolean isCached(String license) throws IOException {
-        return getCachedFile(license).isPresent();
+        return getCachedFiles().containsKey(toKey(license));
     }
 
     @Override
-    public void save(String license, String extension, byte[] content) throws IOException {
-        writeFile(outputPath, license, extension, content);
-        writeFile(CACHE_PATH, license, extension, content);
+    public Set<String> findCached(Collection<String> licenses) throws IOException {
+        Map<String, String> cached = getCachedFiles();
+        Set<String> result = new LinkedHashSet<>();
+        for (String license : licenses) {
+            if (cached.containsKey(toKey(license))) {
+                result.add(license);
+            }
+        }
+        return result;
     }
 
-    private void writeFile(String targetPath, String license, String extension, byte[] content) throws IOException {
-        final FilePath target = workspace.child(targetPath);
-        try (OutputStream outputStream = target.child(license + extension).write()) {
-            outputStream.write(content);
+    @Override
+    public void save(String license, String extension, byte[] content) throws IOException {
+        String file = license + extension;
+        try {
+            workspace.act(new SaveToCache(CACHE_PATH, outputPath, file, content));
         } catch (InterruptedException e) {
             throw rethrowAsIOException(e);
         }
+        getCachedFiles().put(toKey(license), file);
+        writtenFiles.add(file);
     }
 
     @Override
     public void copyFromCache(String license) throws IOException {
-        try {
-            Optional<FilePath> cachedFile = getCachedFile(license);
-            if (cachedFile.isPresent()) {
-                cachedFile.get().copyTo(workspace.child(outputPath).child(cachedFile.get().getName()));
+        copyFromCache(List.of(license));
+    }
+
+    @Override
+    public void copyFromCache(Collection<String> licenses) throws IOException {
+        Map<String, String> cached = getCachedFiles();
+        List<String> files = new ArrayList<>();
+        for (String license : licenses) {
+            String file = cached.get(toKey(license));
+            if (file != null) {
+                files.add(file);
             }
+        }
+        if (files.isEmpty()) {
+            return;
+        }
+        try {
+            workspace.act(new CopyFromCache(CACHE_PATH, outputPath, files));
         } catch (InterruptedException e) {
             throw rethrowAsIOException(e);
         }
+        usedFiles.addAll(files);
     }
 
-    private Optional<FilePath> getCachedFile(String license) throws IOException {
-        try {
-            if (!workspace.child(CACHE_PATH).exists()) {
-                return Optional.empty();
+    /**
+     * Read the cached files of <code>licenses</code> in one remote call and save them with <code>target</code> instead of the output folder.
+     */
+    public void copyFromCache(Collection<String> licenses, LicenseFileHandler target) throws IOException {
+        Map<String, String> cached = getCachedFiles();
+        Map<String, String> files = new LinkedHashMap<>();
+        for (String license : licenses) {
+            String file = cached.get(toKey(license));
+            if (file != null) {
+                files.put(license, file);
             }
+        }
+        if (files.isEmpty()) {
+            return;
+        }
+        Map<String, byte[]> contents;
+        try {
+            contents = workspace.act(new ReadFromCache(CACHE_PATH, files.values()));
+        } catch (InterruptedException e) {
+            throw rethrowAsIOException(e);
+        }
+        for (Map.Entry<String, String> file : files.entrySet()) {
+            String extension = FilenameUtils.getExtension(file.getValue());
+            target.save(file.getKey(), extension.isEmpty() ? "" : "." + extension, contents.get(file.getValue()));
+        }
+        usedFiles.addAll(files.values());
+    }
 
-            FilePath[] matches = workspace.child(CACHE_PATH).list(license + "*");
-            return Stream.of(matches)
-                    .filter(file -> FilenameUtils.removeExtension(file.getName()).equalsIgnoreCase(license))
-                    .findFirst();
+    @Override
+    public void close() throws IOException {
+        if (usedFiles.isEmpty() && writtenFiles.isEmpty()) {
+            return;
+        }
+        try {
+            workspace.act(new MaintainLicenseCache(CACHE_PATH, usedFiles, writtenFiles, cacheLimits));
         } catch (InterruptedException e) {
             throw rethrowAsIOException(e);
         }
     }
 
+    /**
+     * @return cached file names by license, see {@link #toKey(String)}. The cache is scanned on first access.
+     */
+    private synchronized Map<String, String> getCachedFiles() throws IOException {
+        if (cachedFiles == null) {
+            try {
+                cachedFiles = new ConcurrentHashMap<>(workspace.act(new ScanCache(CACHE_PATH)));
+            } catch (InterruptedException e) {
+                throw rethrowAsIOException(e);
+            }
+        }
+        return cachedFiles;
+    }
+
+    private static String toKey(String license) {
+        return license.toLowerCase(Locale.ROOT);
+    }
+
     private IOException rethrowAsIOException(InterruptedException e) {
         Thread.currentThread().interrupt();
         return new IOException("Thread has been interrupted.", e);
     }
+
+    /**
+     * Lists the cache folder on the agent. Files are mapped by their name without extension.
+     */
+    private static final class ScanCache extends MasterToSlaveFileCallable<HashMap<String, String>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String cachePath;
+
+        ScanCache(String cachePath) {
+            this.cachePath = cachePath;
+        }
+
+        @Override
+        public HashMap<String, String> invoke(File workspace, VirtualChannel channel) throws IOException {
+            HashMap<String, String> result = new HashMap<>();
+            Path cache = workspace.toPath().resolve(cachePath);
+            if (!Files.isDirectory(cache)) {
+                return result;
+            }
+            try (Stream<Path> files = Files.list(cache)) {
+                files.filter(Files::isRegularFile)
+                        .map(file -> file.getFileName().toString())
+                        .filter(name -> !name.startsWith("."))
+                        .sorted()
+                        .forEach(name -> result.putIfAbsent(toKey(FilenameUtils.removeExtension(name)), name));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Writes a file into the cache folder and materializes it in the output folder, if any, on the agent.
+     */
+    private static final class SaveToCache extends MasterToSlaveFileCallable<Void> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String cachePath;
+        private final String outputPath;
+        private final String file;
+        private final byte[] content;
+
+        SaveToCache(String cachePath, String outputPath, String file, byte[] content) {
+            this.cachePath = cachePath;
+            this.outputPath = outputPath;
+            this.file = file;
+            this.content = content;
+        }
+
+        @Override
+        public Void invoke(File workspace, VirtualChannel channel) throws IOException {
+            Path cachedFile = workspace.toPath().resolve(cachePath).resolve(file);
+            FileMaterializer.write(cachedFile, content);
+            if (outputPath != null) {
+                FileMaterializer.linkOrCopy(cachedFile, workspace.toPath().resolve(outputPath).resolve(file));
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Materializes files from the cache folder in the output folder on the agent.
+     */
+    private static final class CopyFromCache extends MasterToSlaveFileCallable<Void> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String cachePath;
+        private final String outputPath;
+        private final ArrayList<String> files;
+
+        CopyFromCache(String cachePath, String outputPath, List<String> files) {
+            this.cachePath = cachePath;
+            this.outputPath = outputPath;
+            this.files = new ArrayList<>(files);
+        }
+
+        @Override
+        public Void invoke(File workspace, VirtualChannel channel) throws IOException {
+            Path cache = workspace.toPath().resolve(cachePath);
+            Path output = workspace.toPath().resolve(outputPath);
+            for (String file : files) {
+                FileMaterializer.linkOrCopy(cache.resolve(file), output.resolve(file));
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Reads files from the cache folder on the agent.
+     */
+    private static final class ReadFromCache extends MasterToSlaveFileCallable<HashMap<String, byte[]>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String cachePath;
+        private final ArrayList<String> files;
+
+        ReadFromCache(String cachePath, Collection<String> files) {
+            this.cachePath = cachePath;
+            this.files = new ArrayList<>(files);
+        }
+
+        @Override
+        public HashMap<String, byte[]> invoke(File workspace, VirtualChannel channel) throws IOException {
+            Path cache = workspace.toPath().resolve(cachePath);
+            HashMap<String, byte[]> result = new HashMap<>();
+            for (String file : files) {
+                result.put(file, Files.readAllBytes(cache.resolve(file)));
+            }
+            return result;
+        }
+    }
 }
@@ -0,0 +1,98 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.download;
+
+import hudson.FilePath;
+import hudson.Util;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+import de.medavis.lct.core.UserLogger;
+import de.medavis.lct.core.downloader.FileSystemLicenseMirror;
+import de.medavis.lct.core.downloader.LicenseMirror;
+import de.medavis.lct.core.downloader.MirroredLicense;
+
+/**
+ * License mirror from the workspace. Since licenses are downloaded on the controller, a mirror on a remote agent is copied to a temporary directory on the
+ * controller first.
+ */
+public class JenkinsLicenseMirror implements LicenseMirror, Closeable {
+
+    private final LicenseMirror delegate;
+    private final Path temporaryCopy;
+
+    private JenkinsLicenseMirror(LicenseMirror delegate, Path temporaryCopy) {
+        this.delegate = delegate;
+        this.temporaryCopy = temporaryCopy;
+    }
+
+    public static JenkinsLicenseMirror open(FilePath workspace, String mirrorPath, UserLogger logger) throws IOException, InterruptedException {
+        if (mirrorPath == null) {
+            return new JenkinsLicenseMirror(LicenseMirror.none(), null);
+        }
+        FilePath mirror = workspace.child(mirrorPath);
+        if (!mirror.exists()) {
+            throw new IOException("License mirror " + mirrorPath + " does not exist");
+        }
+        logger.info("Using license mirror %s.%n", mirrorPath);
+        if (!mirror.isRemote()) {
+            return new JenkinsLicenseMirror(FileSystemLicenseMirror.open(Paths.get(mirror.getRemote())), null);
+        }
+
+        Path temporaryCopy = Files.createTempDirectory("lct-mirror");
+        try {
+            Path localMirror;
+            if (mirror.isDirectory()) {
+                localMirror = temporaryCopy;
+                mirror.copyRecursiveTo(new FilePath(temporaryCopy.toFile()));
+            } else {
+                localMirror = temporaryCopy.resolve(mirror.getName());
+                mirror.copyTo(new FilePath(localMirror.toFile()));
+            }
+            return new JenkinsLicenseMirror(FileSystemLicenseMirror.open(localMirror), temporaryCopy);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            Util.deleteRecursive(temporaryCopy.toFile());
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<MirroredLicense> find(String license, String url) throws IOException {
+        return delegate.find(license, url);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (delegate instanceof Closeable) {
+                ((Closeable) delegate).close();
+            }
+        } finally {
+            if (temporaryCopy != null) {
+                Util.deleteRecursive(temporaryCopy.toFile());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.download;
+
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.Computer;
+import hudson.model.Job;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.model.TopLevelItem;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jenkins.model.Jenkins;
+
+import de.medavis.lct.core.cache.CacheLimits;
+import de.medavis.lct.jenkins.config.LCTGlobalConfiguration;
+
+/**
+ * Prunes the license caches in the workspaces of all jobs on all online nodes once a day, so that caches of jobs which are no longer built do not grow
+ * stale.
+ */
+@Extension
+public class LicenseCacheCleanup extends AsyncPeriodicWork {
+
+    public LicenseCacheCleanup() {
+        super("License Compliance Tool cache cleanup");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return TimeUnit.DAYS.toMillis(1);
+    }
+
+    @Override
+    protected void execute(TaskListener listener) throws InterruptedException {
+        CacheLimits limits = LCTGlobalConfiguration.getCacheLimits();
+        Jenkins jenkins = Jenkins.get();
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(jenkins);
+        nodes.addAll(jenkins.getNodes());
+        for (Node node : nodes) {
+            Computer computer = node.toComputer();
+            if (computer == null || computer.isOffline()) {
+                continue;
+            }
+            for (Job<?, ?> job : jenkins.allItems(Job.class)) {
+                if (job instanceof TopLevelItem) {
+                    pruneCache(node, node.getWorkspaceFor((TopLevelItem) job), limits, listener);
+                }
+            }
+        }
+    }
+
+    private void pruneCache(Node node, FilePath workspace, CacheLimits limits, TaskListener listener) throws InterruptedException {
+        if (workspace == null) {
+            return;
+        }
+        try {
+            List<String> removed = workspace.act(new MaintainLicenseCache(JenkinsLicenseFileHandler.CACHE_PATH, List.of(), List.of(), limits));
+            if (!removed.isEmpty()) {
+                listener.getLogger().printf("Removed %d files from license cache in %s on %s.%n", removed.size(), workspace.getRemote(), node.getDisplayName());
+            }
+        } catch (IOException e) {
+            listener.error("Could not prune license cache in %s on %s: %s", workspace.getRemote(), node.getDisplayName(), e.getMessage());
+        }
+    }
+}
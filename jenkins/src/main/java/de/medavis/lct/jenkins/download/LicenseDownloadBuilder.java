@@ -33,15 +33,25 @@ import hudson.tasks.BuildStepDescriptor;
 import hudson.tasks.Builder;
 import hudson.util.FormValidation;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import jenkins.tasks.SimpleBuildStep;
-import org.jenkinsci.Symbol;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
 import org.kohsuke.stapler.verb.POST;
 
+import de.medavis.lct.core.Configuration;
+import de.medavis.lct.core.downloader.LicenseFileHandler;
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.execution.TimeBudget;
+import de.medavis.lct.core.http.HttpTransport;
 import de.medavis.lct.jenkins.config.LCTGlobalConfiguration;
+import de.medavis.lct.jenkins.util.AsyncWork;
+import de.medavis.lct.jenkins.util.BuildBomCache;
+import de.medavis.lct.jenkins.util.ExecutionContextFactory;
+import de.medavis.lct.jenkins.util.HttpTransportFactory;
 import de.medavis.lct.jenkins.util.JenkinsLogger;
+import de.medavis.lct.jenkins.util.ResultCache;
 
 public class LicenseDownloadBuilder extends Builder implements SimpleBuildStep {
 
@@ -49,6 +59,10 @@ public class LicenseDownloadBuilder extends Builder implements SimpleBuildStep {
     private final String outputPath;
     private boolean failOnDynamicLicense;
     private String configurationProfile;
+    private int threads = ExecutionContextFactory.DEFAULT_THREADS;
+    private int timeBudget;
+    private String licenseMirror;
+    private boolean archive;
 
     @DataBoundConstructor
     public LicenseDownloadBuilder(@NonNull String inputPath, @NonNull String outputPath) {
@@ -72,6 +86,22 @@ public class LicenseDownloadBuilder extends Builder implements SimpleBuildStep {
         return configurationProfile;
     }
 
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getTimeBudget() {
+        return timeBudget;
+    }
+
+    public String getLicenseMirror() {
+        return licenseMirror;
+    }
+
+    public boolean isArchive() {
+        return archive;
+    }
+
     @DataBoundSetter
     public void setFailOnDynamicLicense(boolean failOnDynamicLicense) {
         this.failOnDynamicLicense = failOnDynamicLicense;
@@ -82,21 +112,101 @@ public class LicenseDownloadBuilder extends Builder implements SimpleBuildStep {
         this.configurationProfile = configurationProfile;
     }
 
+    @DataBoundSetter
+    public void setThreads(final int threads) {
+        this.threads = threads;
+    }
+
+    @DataBoundSetter
+    public void setArchive(final boolean archive) {
+        this.archive = archive;
+    }
+
+    @DataBoundSetter
+    public void setTimeBudget(final int timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+
+    @DataBoundSetter
+    public void setLicenseMirror(final String licenseMirror) {
+        this.licenseMirror = Util.fixEmptyAndTrim(licenseMirror);
+    }
+
     @Override
     public void perform(@NonNull Run<?, ?> run, @NonNull FilePath workspace, @NonNull EnvVars env, @NonNull Launcher launcher, @NonNull TaskListener listener)
             throws AbortException, InterruptedException {
-         var licenseDownloader = LicenseDownloadBuilderFactory.getLicensesDownloader(LCTGlobalConfiguration.getConfigurationByProfile(configurationProfile));
+        AsyncWork.await(start(run, workspace, launcher, listener));
+    }
 
+    /**
+     * Start downloading the licenses without blocking the calling thread. Cancelling the returned future aborts all URL checks and downloads.
+     */
+    CompletableFuture<Void> start(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener) {
+        final ExecutionContext executionContext = ExecutionContextFactory.create(threads);
+        final HttpTransport httpTransport = HttpTransportFactory.create();
+        CompletableFuture<Void> future = executionContext.submit(() -> {
+            downloadLicenses(run, workspace, listener, executionContext, httpTransport);
+            return null;
+        });
+        future.whenComplete((result, e) -> {
+            httpTransport.close();
+            executionContext.close();
+        });
+        return future;
+    }
+
+    private void downloadLicenses(Run<?, ?> run, FilePath workspace, TaskListener listener, ExecutionContext executionContext, HttpTransport httpTransport)
+            throws AbortException, InterruptedException {
+        final JenkinsLogger logger = new JenkinsLogger(listener);
+        final TimeBudget budget = ExecutionContextFactory.createTimeBudget(timeBudget);
+        final Configuration configuration = LCTGlobalConfiguration.getConfigurationByProfile(configurationProfile);
         try {
-            final JenkinsLogger logger = new JenkinsLogger(listener);
-            logger.info("Downloading licenses from components in %s to %s.%n", inputPath, outputPath);
-            licenseDownloader.download(logger, workspace.child(inputPath).read(), new JenkinsLicenseFileHandler(workspace, outputPath), failOnDynamicLicense);
+            String resultKey = archive ? getArchiveResultKey(workspace, configuration, httpTransport) : null;
+            if (resultKey != null && ResultCache.restore(resultKey, workspace.child(outputPath))) {
+                logger.info("Reusing the license archive of an earlier build with the same BOM, configuration and options.%n");
+                return;
+            }
+            boolean complete;
+            try (JenkinsLicenseMirror mirror = JenkinsLicenseMirror.open(workspace, licenseMirror, logger);
+                    // The archive is streamed to the agent in a single transfer instead of one remote call per license file
+                    CachingZipLicenseFileHandler archiveFileHandler = archive
+                            ? new CachingZipLicenseFileHandler(workspace, outputPath, LCTGlobalConfiguration.getCacheLimits())
+                            : null;
+                    JenkinsLicenseFileHandler workspaceFileHandler = archive ? null
+                            : new JenkinsLicenseFileHandler(workspace, outputPath, LCTGlobalConfiguration.getCacheLimits())) {
+                var licenseDownloader = LicenseDownloadBuilderFactory.getLicensesDownloader(configuration, executionContext, budget.limit(httpTransport),
+                        mirror, BuildBomCache.of(run));
+                logger.info("Downloading licenses from components in %s to %s.%n", inputPath, outputPath);
+                LicenseFileHandler licenseFileHandler = archiveFileHandler != null ? archiveFileHandler : workspaceFileHandler;
+                complete = licenseDownloader.download(logger, workspace.child(inputPath).read(), licenseFileHandler, failOnDynamicLicense, budget);
+            }
+            if (resultKey != null && complete) {
+                ResultCache.store(resultKey, workspace.child(outputPath));
+            }
+            ExecutionContextFactory.reportTimeBudget(budget, run, logger);
         } catch (IOException e) {
             throw new AbortException("Could not download licenses: " + e.getMessage());
         }
     }
 
-    @Symbol("downloadLicenses")
+    /**
+     * @return the key of the license archive in the {@link ResultCache}, or <code>null</code> if it cannot be cached because the license mirror is a
+     * directory or the configuration could not be fetched
+     */
+    private String getArchiveResultKey(FilePath workspace, Configuration configuration, HttpTransport httpTransport) throws IOException, InterruptedException {
+        String mirrorHash = "";
+        if (licenseMirror != null) {
+            FilePath mirror = workspace.child(licenseMirror);
+            if (mirror.isDirectory()) {
+                return null;
+            }
+            mirrorHash = mirror.exists() ? ResultCache.sha256(mirror) : "missing";
+        }
+        return ResultCache.key(ResultCache.sha256(workspace.child(inputPath)), configuration, httpTransport, "licenses", failOnDynamicLicense, mirrorHash)
+                .orElse(null);
+    }
+
+    // No symbol: in pipelines, downloadLicenses is the asynchronous LicenseDownloadStep
     @Extension
     public static final class DescriptorImpl extends BuildStepDescriptor<Builder> {
 
@@ -129,5 +239,15 @@ public class LicenseDownloadBuilder extends Builder implements SimpleBuildStep {
             return FormValidation.validateRequired(value);
         }
 
+        @POST
+        public FormValidation doCheckThreads(@QueryParameter String value) {
+            return ExecutionContextFactory.validateThreads(value);
+        }
+
+        @POST
+        public FormValidation doCheckTimeBudget(@QueryParameter String value) {
+            return ExecutionContextFactory.validateTimeBudget(value);
+        }
+
     }
 }
@@ -19,12 +19,14 @@
  */
 package de.medavis.lct.jenkins.download;
 
-import java.util.function.Function;
-
 import de.medavis.lct.core.Configuration;
 import de.medavis.lct.core.asset.AssetLoader;
+import de.medavis.lct.core.asset.BomCache;
 import de.medavis.lct.core.downloader.LicenseFileDownloader;
+import de.medavis.lct.core.downloader.LicenseMirror;
 import de.medavis.lct.core.downloader.LicensesDownloader;
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.http.HttpTransport;
 import de.medavis.lct.core.license.LicenseLoader;
 import de.medavis.lct.core.license.LicenseMappingLoader;
 import de.medavis.lct.core.list.ComponentLister;
@@ -33,28 +35,40 @@ import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
 // TODO Try to use dependency injection (maybe using ExtensionFinder, GuiceFinder?)
 class LicenseDownloadBuilderFactory {
 
-    private static Function<Configuration, LicensesDownloader> licensesDownloaderFactory = configuration -> new LicensesDownloader(
+    private static LicensesDownloaderFactory licensesDownloaderFactory = (configuration, executionContext, httpTransport, licenseMirror,
+            bomCache) -> new LicensesDownloader(
             new ComponentLister(
-                    new AssetLoader(),
-                    new ComponentMetaDataLoader(),
-                    new LicenseLoader(),
-                    new LicenseMappingLoader(),
-                    configuration),
-            new LicenseFileDownloader()
+                    new AssetLoader(false, executionContext, httpTransport, bomCache),
+                    new ComponentMetaDataLoader(httpTransport),
+                    new LicenseLoader(httpTransport),
+                    new LicenseMappingLoader(httpTransport),
+                    configuration,
+                    executionContext),
+            new LicenseFileDownloader(httpTransport, licenseMirror),
+            executionContext
     );
 
     private LicenseDownloadBuilderFactory() {
     }
 
-    public static LicensesDownloader getLicensesDownloader(Configuration configuration) {
-        return licensesDownloaderFactory.apply(configuration);
+    public static LicensesDownloader getLicensesDownloader(Configuration configuration, ExecutionContext executionContext, HttpTransport httpTransport,
+            LicenseMirror licenseMirror, BomCache bomCache) {
+        return licensesDownloaderFactory.create(configuration, executionContext, httpTransport, licenseMirror, bomCache);
     }
 
     /**
      * Should only be used for tests
      */
-    static void setLicensesDownloaderFactory(Function<Configuration, LicensesDownloader> licensesDownloaderFactory) {
+    static void setLicensesDownloaderFactory(LicensesDownloaderFactory licensesDownloaderFactory) {
         LicenseDownloadBuilderFactory.licensesDownloaderFactory = licensesDownloaderFactory;
     }
 
+    @FunctionalInterface
+    interface LicensesDownloaderFactory {
+
+        LicensesDownloader create(Configuration configuration, ExecutionContext executionContext, HttpTransport httpTransport, LicenseMirror licenseMirror,
+                BomCache bomCache);
+
+    }
+
 }
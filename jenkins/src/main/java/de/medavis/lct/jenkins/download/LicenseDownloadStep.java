@@ -0,0 +1,139 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.download;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import java.util.Set;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import de.medavis.lct.jenkins.util.AsyncStepExecution;
+
+/**
+ * Pipeline variant of {@link LicenseDownloadBuilder} with the same parameters. It runs asynchronously, so it does not block a thread while licenses are
+ * downloaded, and it aborts running downloads as soon as the build is aborted.
+ */
+public class LicenseDownloadStep extends Step {
+
+    private final LicenseDownloadBuilder builder;
+
+    @DataBoundConstructor
+    public LicenseDownloadStep(@NonNull String inputPath, @NonNull String outputPath) {
+        this.builder = new LicenseDownloadBuilder(inputPath, outputPath);
+    }
+
+    public String getInputPath() {
+        return builder.getInputPath();
+    }
+
+    public String getOutputPath() {
+        return builder.getOutputPath();
+    }
+
+    public boolean isFailOnDynamicLicense() {
+        return builder.isFailOnDynamicLicense();
+    }
+
+    public String getConfigurationProfile() {
+        return builder.getConfigurationProfile();
+    }
+
+    public int getThreads() {
+        return builder.getThreads();
+    }
+
+    public int getTimeBudget() {
+        return builder.getTimeBudget();
+    }
+
+    public String getLicenseMirror() {
+        return builder.getLicenseMirror();
+    }
+
+    public boolean isArchive() {
+        return builder.isArchive();
+    }
+
+    @DataBoundSetter
+    public void setFailOnDynamicLicense(boolean failOnDynamicLicense) {
+        builder.setFailOnDynamicLicense(failOnDynamicLicense);
+    }
+
+    @DataBoundSetter
+    public void setConfigurationProfile(String configurationProfile) {
+        builder.setConfigurationProfile(configurationProfile);
+    }
+
+    @DataBoundSetter
+    public void setThreads(final int threads) {
+        builder.setThreads(threads);
+    }
+
+    @DataBoundSetter
+    public void setTimeBudget(final int timeBudget) {
+        builder.setTimeBudget(timeBudget);
+    }
+
+    @DataBoundSetter
+    public void setLicenseMirror(final String licenseMirror) {
+        builder.setLicenseMirror(licenseMirror);
+    }
+
+    @DataBoundSetter
+    public void setArchive(final boolean archive) {
+        builder.setArchive(archive);
+    }
+
+    @Override
+    public StepExecution start(StepContext context) {
+        return new AsyncStepExecution(context, (run, workspace, launcher, listener) -> builder.start(run, workspace, listener));
+    }
+
+    @Extension
+    public static final class DescriptorImpl extends StepDescriptor {
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return Set.of(Run.class, FilePath.class, TaskListener.class);
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "downloadLicenses";
+        }
+
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.LicenseDownloadBuilder_DescriptorImpl_displayName();
+        }
+
+    }
+
+}
@@ -0,0 +1,71 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.download;
+
+import hudson.remoting.VirtualChannel;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import jenkins.MasterToSlaveFileCallable;
+
+import de.medavis.lct.core.cache.CacheLimits;
+import de.medavis.lct.core.cache.LicenseCache;
+
+/**
+ * Updates the index of the license cache in a workspace and prunes the cache, on the agent. Returns the names of the removed files.
+ */
+class MaintainLicenseCache extends MasterToSlaveFileCallable<ArrayList<String>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String cachePath;
+    private final ArrayList<String> usedFiles;
+    private final ArrayList<String> writtenFiles;
+    private final CacheLimits limits;
+
+    /**
+     * @param usedFiles    Files that have been taken from the cache.
+     * @param writtenFiles Files that have been written to the cache directory without updating the index.
+     */
+    MaintainLicenseCache(String cachePath, Collection<String> usedFiles, Collection<String> writtenFiles, CacheLimits limits) {
+        this.cachePath = cachePath;
+        this.usedFiles = new ArrayList<>(usedFiles);
+        this.writtenFiles = new ArrayList<>(writtenFiles);
+        this.limits = limits;
+    }
+
+    @Override
+    public ArrayList<String> invoke(File workspace, VirtualChannel channel) throws IOException {
+        Path cacheDirectory = workspace.toPath().resolve(cachePath);
+        if (!Files.isDirectory(cacheDirectory)) {
+            return new ArrayList<>();
+        }
+        try (LicenseCache cache = LicenseCache.open(cacheDirectory)) {
+            usedFiles.forEach(cache::touch);
+            for (String file : writtenFiles) {
+                cache.refresh(file);
+            }
+            return new ArrayList<>(cache.prune(limits));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.list;
+
+import hudson.FilePath;
+import hudson.Util;
+import hudson.model.InvisibleAction;
+import hudson.model.Run;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.medavis.lct.core.list.ComponentData;
+
+/**
+ * Keeps the component lists created during a build, so that later steps of the same build do not parse the BOM and fetch the configuration again. Lists
+ * are keyed by BOM path and content, configuration profile and URL handling, and are only kept in memory, i.e. not after a restart of Jenkins.
+ */
+public class ComponentListCache extends InvisibleAction {
+
+    private transient Map<String, List<ComponentData>> components;
+
+    public static Optional<List<ComponentData>> get(Run<?, ?> run, String key) {
+        return Optional.ofNullable(forRun(run).getComponents().get(key));
+    }
+
+    public static void put(Run<?, ?> run, String key, List<ComponentData> components) {
+        forRun(run).getComponents().put(key, List.copyOf(components));
+    }
+
+    /**
+     * Create the cache key for a component list. The digest of the BOM is computed on the agent, so the BOM is not transferred for a cache hit.
+     */
+    public static String key(FilePath bom, String configurationProfile, boolean ignoreUnavailableUrl) throws IOException, InterruptedException {
+        return String.join("|", bom.getRemote(), bom.digest(), String.valueOf(Util.fixEmptyAndTrim(configurationProfile)), String.valueOf(ignoreUnavailableUrl));
+    }
+
+    private static synchronized ComponentListCache forRun(Run<?, ?> run) {
+        ComponentListCache cache = run.getAction(ComponentListCache.class);
+        if (cache == null) {
+            cache = new ComponentListCache();
+            run.addAction(cache);
+        }
+        return cache;
+    }
+
+    private synchronized Map<String, List<ComponentData>> getComponents() {
+        if (components == null) {
+            components = new ConcurrentHashMap<>();
+        }
+        return components;
+    }
+
+}
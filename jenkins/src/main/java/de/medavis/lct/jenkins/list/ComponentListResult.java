@@ -0,0 +1,104 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.list;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import de.medavis.lct.core.license.License;
+import de.medavis.lct.core.list.ComponentData;
+
+/**
+ * Converts component lists into the result of the {@code listComponents} step. The result only consists of maps, lists, strings, numbers and booleans, so it
+ * can be kept in the program state of a pipeline and used in sandboxed scripts:
+ * <ul>
+ *     <li>{@code total}: number of components</li>
+ *     <li>{@code offset}: index of the first returned component</li>
+ *     <li>{@code truncated}: whether there are components after the returned ones</li>
+ *     <li>{@code licenses}, {@code dynamicLicenses}: sorted names of all (dynamic) licenses of all components</li>
+ *     <li>{@code components}: list of components with {@code name}, {@code version}, {@code url}, {@code dynamic} and {@code licenses} (each with
+ *     {@code name}, {@code url} and {@code dynamic}); missing in summaries</li>
+ * </ul>
+ */
+final class ComponentListResult {
+
+    private ComponentListResult() {
+    }
+
+    /**
+     * @param limit Maximum number of returned components, 0 for all.
+     */
+    static Map<String, Object> of(List<ComponentData> components, int offset, int limit, boolean summary) {
+        int from = Math.min(Math.max(offset, 0), components.size());
+        int to = limit > 0 ? Math.min(from + limit, components.size()) : components.size();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", components.size());
+        result.put("offset", from);
+        result.put("truncated", to < components.size());
+        result.put("licenses", licenseNames(components, false));
+        result.put("dynamicLicenses", licenseNames(components, true));
+        if (!summary) {
+            List<Map<String, Object>> page = new ArrayList<>(to - from);
+            for (ComponentData component : components.subList(from, to)) {
+                page.add(toMap(component));
+            }
+            result.put("components", page);
+        }
+        return result;
+    }
+
+    private static List<String> licenseNames(Collection<ComponentData> components, boolean dynamicOnly) {
+        TreeSet<String> names = new TreeSet<>();
+        for (ComponentData component : components) {
+            for (License license : component.getLicenses()) {
+                if (!dynamicOnly || license.isDynamic()) {
+                    names.add(license.getName());
+                }
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    private static Map<String, Object> toMap(ComponentData component) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("name", component.getName());
+        result.put("version", component.getVersion());
+        result.put("url", component.getUrl());
+        List<Map<String, Object>> licenses = new ArrayList<>(component.getLicenses().size());
+        boolean dynamic = false;
+        for (License license : component.getLicenses()) {
+            Map<String, Object> licenseMap = new LinkedHashMap<>();
+            licenseMap.put("name", license.getName());
+            licenseMap.put("url", license.getUrl());
+            licenseMap.put("dynamic", license.isDynamic());
+            licenses.add(licenseMap);
+            dynamic |= license.isDynamic();
+        }
+        result.put("licenses", licenses);
+        result.put("dynamic", dynamic);
+        return result;
+    }
+
+}
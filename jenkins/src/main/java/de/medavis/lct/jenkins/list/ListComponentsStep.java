@@ -0,0 +1,246 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.list;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Util;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.util.FormValidation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.jenkinsci.Symbol;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.verb.POST;
+
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.execution.TimeBudget;
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.list.ComponentData;
+import de.medavis.lct.jenkins.config.LCTGlobalConfiguration;
+import de.medavis.lct.jenkins.util.AsyncStepExecution;
+import de.medavis.lct.jenkins.util.BuildBomCache;
+import de.medavis.lct.jenkins.util.ExecutionContextFactory;
+import de.medavis.lct.jenkins.util.HttpTransportFactory;
+import de.medavis.lct.jenkins.util.JenkinsLogger;
+
+/**
+ * Pipeline step which returns the components of a BOM, see {@link ComponentListResult} for the structure of the result. Component lists are cached per
+ * build, see {@link ComponentListCache}.
+ */
+public class ListComponentsStep extends Step {
+
+    public static final int DEFAULT_LIMIT = 500;
+
+    private final String inputPath;
+    private boolean ignoreUnavailableUrl;
+    private String configurationProfile;
+    private int threads = ExecutionContextFactory.DEFAULT_THREADS;
+    private int timeBudget;
+    private int offset;
+    private int limit = DEFAULT_LIMIT;
+    private boolean summary;
+
+    @DataBoundConstructor
+    public ListComponentsStep(@NonNull String inputPath) {
+        this.inputPath = inputPath;
+    }
+
+    public String getInputPath() {
+        return inputPath;
+    }
+
+    public boolean isIgnoreUnavailableUrl() {
+        return ignoreUnavailableUrl;
+    }
+
+    public String getConfigurationProfile() {
+        return configurationProfile;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getTimeBudget() {
+        return timeBudget;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean isSummary() {
+        return summary;
+    }
+
+    @DataBoundSetter
+    public void setIgnoreUnavailableUrl(final boolean ignoreUnavailableUrl) {
+        this.ignoreUnavailableUrl = ignoreUnavailableUrl;
+    }
+
+    @DataBoundSetter
+    public void setConfigurationProfile(final String configurationProfile) {
+        this.configurationProfile = Util.fixEmptyAndTrim(configurationProfile);
+    }
+
+    @DataBoundSetter
+    public void setThreads(final int threads) {
+        this.threads = threads;
+    }
+
+    @DataBoundSetter
+    public void setTimeBudget(final int timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+
+    @DataBoundSetter
+    public void setOffset(final int offset) {
+        this.offset = offset;
+    }
+
+    @DataBoundSetter
+    public void setLimit(final int limit) {
+        this.limit = limit;
+    }
+
+    @DataBoundSetter
+    public void setSummary(final boolean summary) {
+        this.summary = summary;
+    }
+
+    @Override
+    public StepExecution start(StepContext context) {
+        return new AsyncStepExecution(context, (run, workspace, launcher, listener) -> start(run, workspace, listener));
+    }
+
+    private CompletableFuture<Map<String, Object>> start(Run<?, ?> run, FilePath workspace, TaskListener listener) {
+        final ExecutionContext executionContext = ExecutionContextFactory.create(threads);
+        final HttpTransport httpTransport = HttpTransportFactory.create();
+        CompletableFuture<Map<String, Object>> future = executionContext.submit(() -> {
+            try {
+                FilePath bom = workspace.child(inputPath);
+                String cacheKey = ComponentListCache.key(bom, configurationProfile, ignoreUnavailableUrl);
+                Optional<List<ComponentData>> cached = ComponentListCache.get(run, cacheKey);
+                List<ComponentData> components = cached.isPresent() ? cached.get()
+                        : listComponents(run, bom, cacheKey, new JenkinsLogger(listener), executionContext, httpTransport);
+                return ComponentListResult.of(components, offset, limit, summary);
+            } catch (IOException e) {
+                throw new AbortException("Could not list components: " + e.getMessage());
+            }
+        });
+        future.whenComplete((result, e) -> {
+            httpTransport.close();
+            executionContext.close();
+        });
+        return future;
+    }
+
+    private List<ComponentData> listComponents(Run<?, ?> run, FilePath bom, String cacheKey, JenkinsLogger logger, ExecutionContext executionContext,
+            HttpTransport httpTransport) throws IOException, InterruptedException {
+        final TimeBudget budget = ExecutionContextFactory.createTimeBudget(timeBudget);
+        try (InputStream bomStream = bom.read()) {
+            var componentLister = ListComponentsStepFactory.getComponentLister(LCTGlobalConfiguration.getConfigurationByProfile(configurationProfile),
+                    ignoreUnavailableUrl, executionContext, budget.limit(httpTransport), BuildBomCache.of(run));
+            logger.info("Listing components from '%s'.%n", inputPath);
+            List<ComponentData> components = componentLister.listComponents(bomStream, budget);
+            if (budget.isCutShort()) {
+                ExecutionContextFactory.reportTimeBudget(budget, run, logger);
+            } else {
+                ComponentListCache.put(run, cacheKey, components);
+            }
+            return components;
+        }
+    }
+
+    @Symbol("listComponents")
+    @Extension
+    public static final class DescriptorImpl extends StepDescriptor {
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return Set.of(Run.class, FilePath.class, TaskListener.class);
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "listComponents";
+        }
+
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.ListComponentsStep_DescriptorImpl_displayName();
+        }
+
+        @POST
+        public FormValidation doCheckConfigurationProfile(@QueryParameter String value) {
+            if (Util.fixEmptyAndTrim(value) != null && !LCTGlobalConfiguration.checkConfigurationProfile(value)) {
+                return FormValidation.error(Messages.ListComponentsStep_DescriptorImpl_error_profileNotFound());
+            }
+            return FormValidation.ok();
+        }
+
+        @POST
+        public FormValidation doCheckInputPath(@QueryParameter String value) {
+            return FormValidation.validateRequired(value);
+        }
+
+        @POST
+        public FormValidation doCheckThreads(@QueryParameter String value) {
+            return ExecutionContextFactory.validateThreads(value);
+        }
+
+        @POST
+        public FormValidation doCheckTimeBudget(@QueryParameter String value) {
+            return ExecutionContextFactory.validateTimeBudget(value);
+        }
+
+        @POST
+        public FormValidation doCheckOffset(@QueryParameter String value) {
+            return FormValidation.validateNonNegativeInteger(value);
+        }
+
+        @POST
+        public FormValidation doCheckLimit(@QueryParameter String value) {
+            return FormValidation.validateNonNegativeInteger(value);
+        }
+
+    }
+
+}
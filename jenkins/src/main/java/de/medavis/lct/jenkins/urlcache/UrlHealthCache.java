@@ -0,0 +1,56 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.urlcache;
+
+import java.time.Duration;
+
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.urlchecker.CachingHttpUrlChecker;
+import de.medavis.lct.core.urlchecker.HttpUrlChecker;
+import de.medavis.lct.core.urlchecker.UrlAvailabilityCache;
+
+/**
+ * URL availability cache shared by all builds of the controller. Entries are kept for a day, unavailable URLs for 15 minutes, and refreshed by
+ * {@link UrlHealthRefresh} before they expire if they have been used within a week.
+ */
+public final class UrlHealthCache {
+
+    static final Duration TIME_TO_LIVE = Duration.ofHours(24);
+    static final Duration REFRESH_AHEAD = Duration.ofHours(2);
+    static final Duration RECENTLY_USED = Duration.ofDays(7);
+
+    private static final UrlAvailabilityCache CACHE = new UrlAvailabilityCache(TIME_TO_LIVE);
+
+    private UrlHealthCache() {
+    }
+
+    public static UrlAvailabilityCache get() {
+        return CACHE;
+    }
+
+    /**
+     * @return a checker using the shared cache if <code>checkUrlAvailability</code> is set, otherwise a checker which accepts all URLs
+     */
+    public static HttpUrlChecker urlChecker(boolean checkUrlAvailability, HttpTransport httpTransport, ExecutionContext executionContext) {
+        return checkUrlAvailability ? new CachingHttpUrlChecker(httpTransport, executionContext, CACHE) : url -> true;
+    }
+
+}
@@ -0,0 +1,85 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.urlcache;
+
+import hudson.Extension;
+import hudson.model.ManagementLink;
+import hudson.security.Permission;
+import java.io.IOException;
+import jenkins.model.Jenkins;
+import org.kohsuke.stapler.StaplerResponse;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
+import de.medavis.lct.core.urlchecker.UrlCacheStats;
+
+/**
+ * Administration page showing the state of the {@link UrlHealthCache}.
+ */
+@Extension
+public class UrlHealthLink extends ManagementLink {
+
+    private static final int SLOWEST_HOSTS = 10;
+
+    @Override
+    public String getIconFileName() {
+        return "symbol-analytics";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return Messages.UrlHealthLink_displayName();
+    }
+
+    @Override
+    public String getDescription() {
+        return Messages.UrlHealthLink_description();
+    }
+
+    @Override
+    public String getUrlName() {
+        return "lct-url-health";
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        return Jenkins.ADMINISTER;
+    }
+
+    @Override
+    public Category getCategory() {
+        return Category.STATUS;
+    }
+
+    public UrlCacheStats getStats() {
+        return UrlHealthCache.get().stats(SLOWEST_HOSTS);
+    }
+
+    public long getTimeToLiveHours() {
+        return UrlHealthCache.TIME_TO_LIVE.toHours();
+    }
+
+    @RequirePOST
+    public void doClear(StaplerResponse response) throws IOException {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+        UrlHealthCache.get().clear();
+        response.sendRedirect(".");
+    }
+
+}
@@ -0,0 +1,65 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.urlcache;
+
+import hudson.Extension;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.urlchecker.CachingHttpUrlChecker;
+import de.medavis.lct.jenkins.util.ExecutionContextFactory;
+import de.medavis.lct.jenkins.util.HttpTransportFactory;
+
+/**
+ * Checks URLs of the {@link UrlHealthCache} again before they expire, so that builds take their availability from the cache instead of waiting for the
+ * network. URLs which have not been used for a while are removed from the cache.
+ */
+@Extension
+public class UrlHealthRefresh extends AsyncPeriodicWork {
+
+    public UrlHealthRefresh() {
+        super("License Compliance Tool URL health refresh");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return TimeUnit.HOURS.toMillis(1);
+    }
+
+    @Override
+    protected void execute(TaskListener listener) {
+        var cache = UrlHealthCache.get();
+        int evicted = cache.evictUnused(UrlHealthCache.RECENTLY_USED);
+        List<String> urls = cache.urlsToRefresh(UrlHealthCache.REFRESH_AHEAD, UrlHealthCache.RECENTLY_USED);
+        if (!urls.isEmpty()) {
+            try (ExecutionContext executionContext = ExecutionContextFactory.create(ExecutionContextFactory.DEFAULT_THREADS);
+                    HttpTransport httpTransport = HttpTransportFactory.create()) {
+                var urlChecker = new CachingHttpUrlChecker(httpTransport, executionContext, cache);
+                executionContext.map(urls, urlChecker::refresh);
+            }
+        }
+        listener.getLogger().printf("Refreshed %d URLs, removed %d unused URLs.%n", urls.size(), evicted);
+    }
+
+}
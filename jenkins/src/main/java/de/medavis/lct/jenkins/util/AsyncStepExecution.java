@@ -0,0 +1,88 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.util;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.AbortException;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+
+/**
+ * Runs the work of a pipeline step asynchronously, so that no thread is blocked while it waits for the network. When the build is aborted, the work is
+ * cancelled, which interrupts its running tasks and HTTP requests.
+ * <p>
+ * The work cannot be resumed after a restart of Jenkins, the step fails in that case.
+ */
+public class AsyncStepExecution extends StepExecution {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Work work;
+    private transient CompletableFuture<?> future;
+
+    public AsyncStepExecution(StepContext context, Work work) {
+        super(context);
+        this.work = work;
+    }
+
+    @Override
+    public boolean start() throws Exception {
+        StepContext context = getContext();
+        future = work.start(context.get(Run.class), context.get(FilePath.class), context.get(Launcher.class), context.get(TaskListener.class));
+        future.whenComplete((result, e) -> {
+            if (e == null) {
+                context.onSuccess(result);
+            } else if (!future.isCancelled()) {
+                context.onFailure(AsyncWork.unwrap(e));
+            }
+        });
+        return false;
+    }
+
+    @Override
+    public void stop(@NonNull Throwable cause) throws Exception {
+        if (future != null) {
+            future.cancel(true);
+        }
+        getContext().onFailure(cause);
+    }
+
+    @Override
+    public void onResume() {
+        getContext().onFailure(new AbortException("The step has been interrupted by a restart of Jenkins."));
+    }
+
+    @FunctionalInterface
+    public interface Work {
+
+        /**
+         * Start the work without blocking the calling thread.
+         */
+        CompletableFuture<?> start(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener) throws IOException, InterruptedException;
+
+    }
+
+}
@@ -0,0 +1,76 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.util;
+
+import hudson.AbortException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Helpers for build steps whose work runs asynchronously, see {@link de.medavis.lct.core.execution.ExecutionContext#submit(java.util.concurrent.Callable)}.
+ */
+public final class AsyncWork {
+
+    private AsyncWork() {
+    }
+
+    /**
+     * Wait for the work of a build step. If the waiting thread is interrupted, e.g. because the build has been aborted, the work is cancelled.
+     */
+    public static void await(Future<?> future) throws AbortException, InterruptedException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof AbortException) {
+                throw (AbortException) cause;
+            }
+            if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new AbortException(cause.getMessage());
+        } catch (CancellationException e) {
+            throw new InterruptedException("Build step has been cancelled.");
+        }
+    }
+
+    /**
+     * @return the exception which has been thrown by the work of a build step
+     */
+    public static Throwable unwrap(Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+}
@@ -0,0 +1,39 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.util;
+
+import hudson.model.Run;
+
+import de.medavis.lct.core.asset.BomCache;
+
+public class BuildBomCache {
+
+    private BuildBomCache() {
+    }
+
+    /**
+     * Parsed BOMs are kept in the directory of the build on the controller, where BOMs are parsed, so that several steps of a build which process the same
+     * BOM only parse it once. The cache is removed together with the build.
+     */
+    public static BomCache of(Run<?, ?> run) {
+        return BomCache.inDirectory(run.getRootDir().toPath().resolve("lct-bom-cache"));
+    }
+
+}
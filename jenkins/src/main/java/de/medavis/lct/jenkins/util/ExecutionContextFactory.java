@@ -0,0 +1,73 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.util;
+
+import hudson.model.Result;
+import hudson.model.Run;
+import hudson.util.FormValidation;
+import java.time.Duration;
+
+import de.medavis.lct.core.UserLogger;
+import de.medavis.lct.core.execution.ExecutionContext;
+import de.medavis.lct.core.execution.TimeBudget;
+
+public class ExecutionContextFactory {
+
+    /**
+     * Default number of concurrent tasks per build step. Kept low so that build steps do not starve other work in the Jenkins JVM.
+     */
+    public static final int DEFAULT_THREADS = 4;
+
+    private ExecutionContextFactory() {
+    }
+
+    /**
+     * @param threads Maximum number of concurrent tasks. Values less than 1 (e.g. from configurations saved by older versions) select the default.
+     */
+    public static ExecutionContext create(int threads) {
+        return ExecutionContext.virtualThreads(threads > 0 ? threads : DEFAULT_THREADS);
+    }
+
+    public static FormValidation validateThreads(String value) {
+        return FormValidation.validatePositiveInteger(value);
+    }
+
+    /**
+     * @param seconds Time budget of a build step. Values less than 1 select an unlimited budget.
+     */
+    public static TimeBudget createTimeBudget(int seconds) {
+        return seconds > 0 ? TimeBudget.of(Duration.ofSeconds(seconds)) : TimeBudget.unlimited();
+    }
+
+    public static FormValidation validateTimeBudget(String value) {
+        return FormValidation.validateNonNegativeInteger(value);
+    }
+
+    /**
+     * Report work that has been cut short because the time budget was exhausted, and mark the build as unstable in that case.
+     */
+    public static void reportTimeBudget(TimeBudget timeBudget, Run<?, ?> run, UserLogger logger) {
+        if (timeBudget.isCutShort()) {
+            timeBudget.report(logger);
+            run.setResult(Result.UNSTABLE);
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.util;
+
+import hudson.ProxyConfiguration;
+import hudson.Util;
+import hudson.util.Secret;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.PasswordAuthentication;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.util.List;
+import jenkins.model.Jenkins;
+
+import de.medavis.lct.core.http.HttpTransport;
+import de.medavis.lct.core.http.JavaHttpTransport;
+import de.medavis.lct.core.http.ResilientHttpTransport;
+
+public class HttpTransportFactory {
+
+    private HttpTransportFactory() {
+    }
+
+    /**
+     * Create a transport that uses the proxy and its credentials from the Jenkins proxy configuration. Changes to the proxy configuration are picked up by
+     * subsequent requests. Failed requests are retried, and requests to hosts that keep failing are skipped for a while.
+     */
+    public static HttpTransport create() {
+        return new ResilientHttpTransport(new JavaHttpTransport(JavaHttpTransport.DEFAULT_CONNECT_TIMEOUT, JavaHttpTransport.DEFAULT_REQUEST_TIMEOUT,
+                new JenkinsProxySelector(), new JenkinsProxyAuthenticator()));
+    }
+
+    private static class JenkinsProxySelector extends ProxySelector {
+
+        @Override
+        public List<Proxy> select(URI uri) {
+            ProxyConfiguration proxyConfiguration = Jenkins.get().getProxy();
+            return List.of(proxyConfiguration != null ? proxyConfiguration.createProxy(uri.getHost()) : Proxy.NO_PROXY);
+        }
+
+        @Override
+        public void connectFailed(URI uri, SocketAddress sa, IOException ioe) {
+            // Nothing to do, there is no alternative proxy
+        }
+    }
+
+    private static class JenkinsProxyAuthenticator extends Authenticator {
+
+        @Override
+        protected PasswordAuthentication getPasswordAuthentication() {
+            ProxyConfiguration proxyConfiguration = Jenkins.get().getProxy();
+            if (getRequestorType() != RequestorType.PROXY || proxyConfiguration == null || Util.fixEmpty(proxyConfiguration.getUserName()) == null) {
+                return null;
+            }
+            return new PasswordAuthentication(proxyConfiguration.getUserName(), Secret.toString(proxyConfiguration.getSecretPassword()).toCharArray());
+        }
+    }
+
+}
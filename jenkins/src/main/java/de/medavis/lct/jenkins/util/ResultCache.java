@@ -0,0 +1,212 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.util;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import hudson.FilePath;
+import hudson.PluginWrapper;
+import hudson.remoting.VirtualChannel;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import jenkins.MasterToSlaveFileCallable;
+import jenkins.model.Jenkins;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.medavis.lct.core.Configuration;
+import de.medavis.lct.core.http.HttpTransport;
+
+/**
+ * Content-addressed cache of build step results on the controller, shared by all jobs and branches. A result is stored under a key derived from everything
+ * it depends on, e.g. the hash of the BOM, the configuration profile and the options of the build step, so that a later build with the same key can reuse
+ * it instead of creating it again.
+ * <p>
+ * The configured component metadata, licenses, license mappings and templates are part of the key with their content, so that changes are picked up
+ * immediately even if their URL stays the same. Results are kept for at most a day, and at most {@value #MAX_ENTRIES} results are kept.
+ */
+public final class ResultCache {
+
+    static final Duration MAX_AGE = Duration.ofDays(1);
+    static final int MAX_ENTRIES = 200;
+
+    private static final Logger log = LoggerFactory.getLogger(ResultCache.class);
+
+    private ResultCache() {
+    }
+
+    /**
+     * Create a key from the hash of the BOM, the content of the configuration and further parts, e.g. the kind of result, the {@link #contentHash content
+     * hash} of the template and the options of the build step. The configured component metadata, licenses and license mappings are fetched with
+     * <code>httpTransport</code>.
+     *
+     * @return the key, or empty if a configured resource could not be fetched, in which case no result must be reused or stored
+     */
+    public static Optional<String> key(String bomHash, Configuration configuration, HttpTransport httpTransport, Object... parts) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        putString(hasher, getPluginVersion());
+        putString(hasher, bomHash);
+        for (Optional<URL> url : List.of(configuration.getComponentMetadataUrl(), configuration.getLicensesUrl(), configuration.getLicenseMappingsUrl())) {
+            Optional<String> contentHash = url.isPresent() ? contentHash(httpTransport, url.get()) : Optional.of("");
+            if (contentHash.isEmpty()) {
+                return Optional.empty();
+            }
+            putString(hasher, url.map(Object::toString).orElse(""));
+            putString(hasher, contentHash.get());
+        }
+        for (Object part : parts) {
+            putString(hasher, String.valueOf(part));
+        }
+        return Optional.of(hasher.hash().toString());
+    }
+
+    /**
+     * Compute the SHA-256 hash of the content at <code>url</code>, or of the bundled default if <code>url</code> is <code>null</code>. The bundled default
+     * only changes with the plugin version, which is part of every key.
+     *
+     * @return the hash, or empty if the content could not be fetched
+     */
+    public static Optional<String> contentHash(HttpTransport httpTransport, String url) {
+        if (url == null) {
+            return Optional.of("default");
+        }
+        try {
+            return contentHash(httpTransport, new URL(url));
+        } catch (MalformedURLException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<String> contentHash(HttpTransport httpTransport, URL url) {
+        try (InputStream content = httpTransport.openStream(url)) {
+            return Optional.of(Hashing.sha256().hashBytes(content.readAllBytes()).toString());
+        } catch (IOException e) {
+            log.debug("Could not fetch {}, results depending on it are not reused.", url, e);
+            return Optional.empty();
+        }
+    }
+
+    private static String getPluginVersion() {
+        PluginWrapper plugin = Jenkins.get().getPluginManager().whichPlugin(ResultCache.class);
+        return plugin != null ? plugin.getVersion() : "";
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compute the SHA-256 hash of <code>file</code> on the agent.
+     */
+    public static String sha256(FilePath file) throws IOException, InterruptedException {
+        return file.act(new Sha256());
+    }
+
+    /**
+     * Copy the result stored under <code>key</code> to <code>target</code>.
+     *
+     * @return whether a result has been found
+     */
+    public static boolean restore(String key, FilePath target) throws IOException, InterruptedException {
+        Path entry = getDirectory().resolve(key);
+        if (!Files.isRegularFile(entry) || isExpired(entry)) {
+            return false;
+        }
+        try (InputStream content = Files.newInputStream(entry)) {
+            target.copyFrom(content);
+        }
+        return true;
+    }
+
+    /**
+     * Store <code>source</code> as result under <code>key</code>. Failures are only logged, since the cache is an optimization.
+     */
+    public static void store(String key, FilePath source) throws InterruptedException {
+        try {
+            Path directory = Files.createDirectories(getDirectory());
+            Path temporaryFile = Files.createTempFile(directory, key, ".tmp");
+            try {
+                source.copyTo(new FilePath(temporaryFile.toFile()));
+                Files.move(temporaryFile, directory.resolve(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+            prune(directory);
+        } catch (IOException e) {
+            log.warn("Could not store result {} in cache.", key, e);
+        }
+    }
+
+    private static void prune(Path directory) throws IOException {
+        List<Path> entries;
+        try (Stream<Path> files = Files.list(directory)) {
+            entries = files.filter(file -> !file.getFileName().toString().endsWith(".tmp"))
+                    .sorted(Comparator.comparing(ResultCache::lastModified).reversed())
+                    .collect(Collectors.toList());
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            if (i >= MAX_ENTRIES || isExpired(entries.get(i))) {
+                Files.deleteIfExists(entries.get(i));
+            }
+        }
+    }
+
+    private static boolean isExpired(Path entry) {
+        return lastModified(entry).toInstant().isBefore(Instant.now().minus(MAX_AGE));
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static Path getDirectory() {
+        return Jenkins.get().getRootDir().toPath().resolve("lct").resolve("result-cache");
+    }
+
+    private static final class Sha256 extends MasterToSlaveFileCallable<String> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String invoke(File file, VirtualChannel channel) throws IOException {
+            return com.google.common.io.Files.asByteSource(file).hash(Hashing.sha256()).toString();
+        }
+    }
+
+}
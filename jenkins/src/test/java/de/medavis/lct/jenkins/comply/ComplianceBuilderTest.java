@@ -0,0 +1,115 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.comply;
+
+import hudson.FilePath;
+import hudson.model.FreeStyleProject;
+import java.util.List;
+import java.util.Set;
+import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mock.Strictness;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.medavis.lct.core.analysis.AnalysisMode;
+import de.medavis.lct.core.analysis.AnalysisReport;
+import de.medavis.lct.core.comply.ComplianceResult;
+import de.medavis.lct.core.comply.ComplianceRunner;
+import de.medavis.lct.core.comply.ComplianceTasks;
+
+@ExtendWith(MockitoExtension.class)
+@WithJenkins
+class ComplianceBuilderTest {
+
+    private static final String INPUT_PATH = "input.bom";
+
+    @Mock(strictness = Strictness.LENIENT)
+    private ComplianceRunner runnerMock;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ComplianceBuilderFactory.setComplianceRunnerFactory((configuration, ignoreUnavailableUrl, executionContext, httpTransport, licenseMirror, bomCache) -> runnerMock);
+        when(runnerMock.run(any(), any(), any(), any())).thenReturn(
+                new ComplianceResult(List.of(), List.of(new AnalysisReport(AnalysisMode.MISSING_URL, List.of("without-url"))), true));
+    }
+
+    @Test
+    void testConfigRoundtrip(JenkinsRule jenkins) throws Exception {
+        FreeStyleProject project = jenkins.createFreeStyleProject();
+        final ComplianceBuilder builder = new ComplianceBuilder(INPUT_PATH);
+        builder.setManifestPath("manifest.html");
+        builder.setTemplateUrl("file://template.ftl");
+        builder.setIgnoreUnavailableUrl(true);
+        builder.setLicensesPath("licenses.zip");
+        builder.setArchive(true);
+        builder.setFailOnDynamicLicense(true);
+        builder.setLicenseMirror("mirror.zip");
+        builder.setAnalysisModes("MISSING_URL");
+        builder.setReportPath("report.txt");
+        builder.setConfigurationProfile("default");
+        builder.setThreads(2);
+        builder.setTimeBudget(600);
+        project.getBuildersList().add(builder);
+        project = jenkins.configRoundtrip(project);
+
+        jenkins.assertEqualDataBoundBeans(builder, project.getBuildersList().get(0));
+    }
+
+    @Test
+    void shouldRunRequestedTasksOnceAndWriteReports(JenkinsRule jenkins) throws Exception {
+        WorkflowJob job = jenkins.createProject(WorkflowJob.class, "test-compliance");
+        job.setDefinition(new CpsFlowDefinition("node { writeFile(file: 'input.bom', text: 'SBOM'); "
+                + "licenseCompliance inputPath: 'input.bom', licensesPath: 'licenses', analysisModes: 'missing_url', reportPath: 'report.txt' }", true));
+
+        WorkflowRun run = jenkins.buildAndAssertSuccess(job);
+
+        ArgumentCaptor<ComplianceTasks> tasks = ArgumentCaptor.forClass(ComplianceTasks.class);
+        verify(runnerMock).run(any(), any(), tasks.capture(), any());
+        assertThat(tasks.getValue().openManifests()).isEmpty();
+        assertThat(tasks.getValue().getLicenseFileHandler()).isNotNull();
+        assertThat(tasks.getValue().getAnalysisModes()).containsExactly(AnalysisMode.MISSING_URL);
+        jenkins.assertLogContains("Detected 1 components without URL", run);
+        FilePath report = jenkins.jenkins.getWorkspaceFor(job).child("report.txt");
+        assertThat(report.readToString()).contains("without-url");
+    }
+
+    @Test
+    void shouldRejectUnknownAnalysisMode() {
+        assertThat(ComplianceBuilder.parseAnalysisModes(" missing_url, ")).isEqualTo(Set.of(AnalysisMode.MISSING_URL));
+        assertThatThrownBy(() -> ComplianceBuilder.parseAnalysisModes("MISSING_URL,UNKNOWN"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("UNKNOWN");
+    }
+
+}
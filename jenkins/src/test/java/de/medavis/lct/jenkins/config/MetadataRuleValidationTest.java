@@ -0,0 +1,75 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.config;
+
+import hudson.util.FormValidation;
+import hudson.util.FormValidation.Kind;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@WithJenkins
+class MetadataRuleValidationTest {
+
+    @Test
+    void shouldAcceptSafeRules(JenkinsRule jenkins, @TempDir Path tempDir) throws IOException {
+        FormValidation actual = validate(tempDir, "[{\"groupMatch\": \"org\\\\.apache\\\\..*\", \"nameMatch\": \"commons-.*\"}]");
+
+        assertThat(actual.kind).isEqualTo(Kind.OK);
+        assertThat(actual.getMessage()).contains("1 rules checked");
+    }
+
+    @Test
+    void shouldRejectInvalidPattern(JenkinsRule jenkins, @TempDir Path tempDir) throws IOException {
+        FormValidation actual = validate(tempDir, "[{\"nameMatch\": \"commons-(\"}]");
+
+        assertThat(actual.kind).isEqualTo(Kind.ERROR);
+        assertThat(actual.getMessage()).contains("Rule 1: nameMatch");
+    }
+
+    @Test
+    void shouldRejectRuleWhichTimesOut(JenkinsRule jenkins, @TempDir Path tempDir) throws IOException {
+        FormValidation actual = validate(tempDir, "[{\"nameMatch\": \"(.*a){20}\"}]");
+
+        assertThat(actual.kind).isEqualTo(Kind.ERROR);
+        assertThat(actual.getMessage()).contains("Rule 1");
+    }
+
+    @Test
+    void shouldWarnAboutRiskyPattern(JenkinsRule jenkins, @TempDir Path tempDir) throws IOException {
+        FormValidation actual = validate(tempDir, "[{\"nameMatch\": \"(commons|common)+-lang\"}]");
+
+        assertThat(actual.kind).isEqualTo(Kind.WARNING);
+    }
+
+    private static FormValidation validate(Path tempDir, String metadata) throws IOException {
+        Path metadataFile = tempDir.resolve("metadata.json");
+        Files.write(metadataFile, metadata.getBytes(StandardCharsets.UTF_8));
+        return MetadataRuleValidation.validate(metadataFile.toUri().toString());
+    }
+
+}
@@ -20,14 +20,23 @@
 package de.medavis.lct.jenkins.create;
 
 import com.google.common.io.Resources;
+import hudson.model.FreeStyleBuild;
 import hudson.model.FreeStyleProject;
 import hudson.model.Label;
+import hudson.model.Result;
 import hudson.model.Run.Artifact;
 import java.io.IOException;
-import java.io.Writer;
+import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
 import jenkins.util.VirtualFile;
 import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
 import org.jenkinsci.plugins.workflow.job.WorkflowJob;
@@ -35,6 +44,7 @@ import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.jvnet.hudson.test.JenkinsRule;
 import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
 import org.mockito.Mock;
@@ -45,12 +55,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 
 import de.medavis.lct.core.list.ComponentData;
 import de.medavis.lct.core.list.ComponentLister;
 import de.medavis.lct.core.outputter.FreemarkerOutputter;
+import de.medavis.lct.core.outputter.FreemarkerOutputter.Output;
 import de.medavis.lct.util.InputStreamContentArgumentMatcher;
 
 @ExtendWith(MockitoExtension.class)
@@ -75,15 +89,17 @@ class CreateManifestBuilderTest {
 
     @BeforeEach
     public void setUp() throws IOException {
-        CreateManifestBuilderFactory.setComponentListerFactory((configuration, ignoreUnavailableUrl) -> componentListerMock);
-        when(componentListerMock.listComponents(argThat(new InputStreamContentArgumentMatcher(FAKE_SBOM)))).thenReturn(COMPONENT_LIST);
+        CreateManifestBuilderFactory.setComponentListerFactory((configuration, ignoreUnavailableUrl, executionContext, httpTransport, bomCache) -> componentListerMock);
+        when(componentListerMock.listComponents(argThat(new InputStreamContentArgumentMatcher(FAKE_SBOM)), any())).thenReturn(COMPONENT_LIST);
 
         CreateManifestBuilderFactory.setOutputterFactory(() -> outputterMock);
         doAnswer(invocation -> {
-            Writer writer = invocation.getArgument(1, Writer.class);
-            writer.write(FAKE_MANIFEST);
+            List<Output> outputs = invocation.getArgument(1);
+            for (Output output : outputs) {
+                output.getWriter().write(FAKE_MANIFEST);
+            }
             return null;
-        }).when(outputterMock).output(any(), any(), any());
+        }).when(outputterMock).outputAll(any(), any(), any());
     }
 
     @Test
@@ -91,14 +107,32 @@ class CreateManifestBuilderTest {
         FreeStyleProject project = jenkins.createFreeStyleProject();
         final CreateManifestBuilder builder = new CreateManifestBuilder(INPUT_PATH, OUTPUT_PATH);
         builder.setTemplateUrl(TEMPLATE_URL);
+        ManifestOutput notice = new ManifestOutput("NOTICE.txt");
+        notice.setTemplateUrl(TEMPLATE_URL);
+        builder.setAdditionalOutputs(List.of(notice));
         builder.setIgnoreUnavailableUrl(true);
         builder.setConfigurationProfile(CONFIGURATION_PROFILE);
+        builder.setTimeBudget(600);
         project.getBuildersList().add(builder);
         project = jenkins.configRoundtrip(project);
 
         jenkins.assertEqualDataBoundBeans(builder, project.getBuildersList().get(0));
     }
 
+    @Test
+    void shouldBuildWithConfigurationSavedBeforeAdditionalOutputs(JenkinsRule jenkins) throws Exception {
+        FreeStyleProject project = jenkins.createFreeStyleProject();
+        try (InputStream config = getClass().getResourceAsStream("freestyleConfigWithoutAdditionalOutputs.xml")) {
+            project.updateByXml((Source) new StreamSource(config));
+        }
+        jenkins.jenkins.getWorkspaceFor(project).child(INPUT_PATH).write(FAKE_SBOM, StandardCharsets.UTF_8.name());
+
+        FreeStyleBuild build = jenkins.buildAndAssertSuccess(project);
+
+        assertThat(project.getBuildersList().get(CreateManifestBuilder.class).getAdditionalOutputs()).isEmpty();
+        assertThat(build.getArtifacts()).extracting(Artifact::getFileName).containsExactly(ARCHIVE_FILENAME);
+    }
+
     @Test
     void testScriptedPipelineBuild(JenkinsRule jenkins) throws Exception {
         runAndAssertPipelineJob(jenkins, "scriptedPipeline.groovy");
@@ -109,6 +143,92 @@ class CreateManifestBuilderTest {
         runAndAssertPipelineJob(jenkins, "declarativePipeline.groovy");
     }
 
+    @Test
+    void shouldReuseManifestOfEarlierBuildWithSameBomAndConfiguration(JenkinsRule jenkins, @TempDir Path templateDirectory) throws Exception {
+        Path template = Files.writeString(templateDirectory.resolve("template.ftl"), "template");
+        WorkflowJob first = createJobWithTemplate(jenkins, "first", template);
+        WorkflowJob second = createJobWithTemplate(jenkins, "second", template);
+
+        jenkins.buildAndAssertSuccess(first);
+        WorkflowRun run = jenkins.buildAndAssertSuccess(second);
+
+        jenkins.assertLogContains("Reusing the component manifest of an earlier build", run);
+        assertThat(run.getArtifactManager().root().child(ARCHIVE_FILENAME).open()).hasContent(FAKE_MANIFEST);
+        verify(componentListerMock, times(1)).listComponents(any(), any());
+    }
+
+    @Test
+    void shouldNotReuseManifestWhenTemplateHasChanged(JenkinsRule jenkins, @TempDir Path templateDirectory) throws Exception {
+        Path template = Files.writeString(templateDirectory.resolve("template.ftl"), "template");
+        WorkflowJob job = createJobWithTemplate(jenkins, "test-changed-template", template);
+
+        jenkins.buildAndAssertSuccess(job);
+        Files.writeString(template, "changed template");
+        WorkflowRun run = jenkins.buildAndAssertSuccess(job);
+
+        jenkins.assertLogNotContains("Reusing the component manifest of an earlier build", run);
+        verify(componentListerMock, times(2)).listComponents(any(), any());
+    }
+
+    private WorkflowJob createJobWithTemplate(JenkinsRule jenkins, String name, Path template) throws IOException {
+        WorkflowJob job = jenkins.createProject(WorkflowJob.class, name);
+        job.setDefinition(new CpsFlowDefinition("node { writeFile(file: 'input.bom', text: '" + FAKE_SBOM + "'); "
+                + "componentManifest inputPath: 'input.bom', outputPath: 'output.html', templateUrl: '" + template.toUri() + "' }", true));
+        return job;
+    }
+
+    @Test
+    void shouldRenderAdditionalOutputsFromSameListing(JenkinsRule jenkins) throws Exception {
+        WorkflowJob job = jenkins.createProject(WorkflowJob.class, "test-additional-outputs");
+        job.setDefinition(new CpsFlowDefinition("node { writeFile(file: 'input.bom', text: '" + FAKE_SBOM + "'); "
+                + "componentManifest inputPath: 'input.bom', outputPath: 'output.html', additionalOutputs: [output(outputPath: 'NOTICE.txt')] }", true));
+
+        WorkflowRun run = jenkins.buildAndAssertSuccess(job);
+
+        assertThat(run.getArtifacts()).extracting(Artifact::getFileName).containsExactlyInAnyOrder(ARCHIVE_FILENAME, "NOTICE.txt");
+        assertThat(run.getArtifactManager().root().child("NOTICE.txt").open()).hasContent(FAKE_MANIFEST);
+        verify(componentListerMock, times(1)).listComponents(any(), any());
+    }
+
+    @Test
+    void shouldRejectOutputsWithSameArchiveName(JenkinsRule jenkins) throws Exception {
+        WorkflowJob job = jenkins.createProject(WorkflowJob.class, "test-duplicate-outputs");
+        job.setDefinition(new CpsFlowDefinition("node { writeFile(file: 'input.bom', text: '" + FAKE_SBOM + "'); "
+                + "componentManifest inputPath: 'input.bom', outputPath: 'output.html', "
+                + "additionalOutputs: [output(outputPath: 'en/NOTICE.txt'), output(outputPath: 'de/NOTICE.txt')] }", true));
+
+        WorkflowRun run = jenkins.buildAndAssertStatus(Result.FAILURE, job);
+
+        jenkins.assertLogContains("Outputs 'en/NOTICE.txt' and 'de/NOTICE.txt' would be archived under the same name 'NOTICE.txt'.", run);
+        verify(componentListerMock, never()).listComponents(any(), any());
+    }
+
+    @Test
+    void shouldInterruptListingWhenBuildIsAborted(JenkinsRule jenkins) throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(componentListerMock.listComponents(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return COMPONENT_LIST;
+        });
+        WorkflowJob job = jenkins.createProject(WorkflowJob.class, "test-aborted-pipeline");
+        job.setDefinition(new CpsFlowDefinition(
+                "node { writeFile(file: 'input.bom', text: 'SBOM'); componentManifest inputPath: 'input.bom', outputPath: 'output.html' }", true));
+
+        WorkflowRun run = job.scheduleBuild2(0).waitForStart();
+        assertThat(started.await(30, TimeUnit.SECONDS)).isTrue();
+        run.doStop();
+
+        jenkins.assertBuildStatus(Result.ABORTED, jenkins.waitForCompletion(run));
+        assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
     private void runAndAssertPipelineJob(JenkinsRule jenkins, String pipelineFile) throws Exception {
         String agentLabel = "any";
         jenkins.createOnlineSlave(Label.get(agentLabel));
@@ -0,0 +1,69 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.download;
+
+import hudson.FilePath;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.medavis.lct.core.cache.CacheLimits;
+
+class CachingZipLicenseFileHandlerTest {
+
+    private static final String OUTPUT_PATH = "licenses.zip";
+    private static final String LICENSE_NAME = "FKL-1.0";
+    private static final String EXTENSION = ".txt";
+    private static final String LICENSE_CONTENT = "Fake License 1.0";
+
+    @TempDir
+    private Path workspacePath;
+
+    @Test
+    void shouldCacheSavedLicenseAndStreamItIntoLaterArchive() throws Exception {
+        FilePath workspace = new FilePath(workspacePath.toFile());
+        try (var sut = new CachingZipLicenseFileHandler(workspace, OUTPUT_PATH, CacheLimits.DEFAULT)) {
+            assertThat(sut.isCached(LICENSE_NAME)).isFalse();
+            sut.save(LICENSE_NAME, EXTENSION, LICENSE_CONTENT.getBytes(StandardCharsets.UTF_8));
+        }
+        assertThat(readEntry(LICENSE_NAME + EXTENSION)).isEqualTo(LICENSE_CONTENT);
+        workspace.child(OUTPUT_PATH).delete();
+
+        try (var sut = new CachingZipLicenseFileHandler(workspace, OUTPUT_PATH, CacheLimits.DEFAULT)) {
+            assertThat(sut.findCached(List.of(LICENSE_NAME))).containsExactly(LICENSE_NAME);
+            sut.copyFromCache(List.of(LICENSE_NAME));
+        }
+
+        assertThat(readEntry(LICENSE_NAME + EXTENSION)).isEqualTo(LICENSE_CONTENT);
+        assertThat(workspacePath.resolve(JenkinsLicenseFileHandler.CACHE_PATH).resolve(LICENSE_NAME + EXTENSION)).hasContent(LICENSE_CONTENT);
+    }
+
+    private String readEntry(String name) throws IOException {
+        try (ZipFile archive = new ZipFile(workspacePath.resolve(OUTPUT_PATH).toFile())) {
+            return new String(archive.getInputStream(archive.getEntry(name)).readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
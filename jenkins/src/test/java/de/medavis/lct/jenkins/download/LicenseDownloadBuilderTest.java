@@ -107,6 +107,10 @@ class LicenseDownloadBuilderTest {
         final LicenseDownloadBuilder builder = new LicenseDownloadBuilder(INPUT_PATH, OUTPUT_PATH);
         builder.setFailOnDynamicLicense(true);
         builder.setConfigurationProfile(CONFIGURATION_PROFILE);
+        builder.setThreads(2);
+        builder.setLicenseMirror("licenses.zip");
+        builder.setTimeBudget(600);
+        builder.setArchive(true);
         project.getBuildersList().add(builder);
         project = jenkins.configRoundtrip(project);
 
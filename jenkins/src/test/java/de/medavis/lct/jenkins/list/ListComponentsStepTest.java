@@ -0,0 +1,77 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.list;
+
+import com.google.common.io.Resources;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Set;
+import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+import org.mockito.Mock;
+import org.mockito.Mock.Strictness;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.medavis.lct.core.license.License;
+import de.medavis.lct.core.list.ComponentData;
+import de.medavis.lct.core.list.ComponentLister;
+
+@ExtendWith(MockitoExtension.class)
+@WithJenkins
+class ListComponentsStepTest {
+
+    private static final List<ComponentData> COMPONENT_LIST = List.of(
+            new ComponentData("first", "1.0", "https://first.org", Set.of(License.dynamic("Custom", null)), Set.of()),
+            new ComponentData("second", "2.0", "https://second.org", Set.of(License.fromConfig("MIT", null, null)), Set.of()));
+
+    @Mock(strictness = Strictness.LENIENT)
+    private ComponentLister componentListerMock;
+
+    @BeforeEach
+    void setUp() {
+        ListComponentsStepFactory.setComponentListerFactory((configuration, ignoreUnavailableUrl, executionContext, httpTransport, bomCache) -> componentListerMock);
+        when(componentListerMock.listComponents(any(), any())).thenReturn(COMPONENT_LIST);
+    }
+
+    @Test
+    void shouldReturnComponentsAndReuseThemWithinBuild(JenkinsRule jenkins) throws Exception {
+        WorkflowJob job = jenkins.createProject(WorkflowJob.class, "test-scripted-pipeline");
+        String pipelineScript = Resources.toString(getClass().getResource("scriptedPipeline.groovy"), Charset.defaultCharset());
+        job.setDefinition(new CpsFlowDefinition(pipelineScript, true));
+
+        WorkflowRun run = jenkins.buildAndAssertSuccess(job);
+
+        jenkins.assertLogContains("total=2 truncated=true first=first:1.0 dynamic=true", run);
+        jenkins.assertLogContains("licenses=[Custom, MIT] dynamicLicenses=[Custom] components=null", run);
+        verify(componentListerMock, times(1)).listComponents(any(), any());
+    }
+
+}
@@ -0,0 +1,49 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.urlcache;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@WithJenkins
+class UrlHealthLinkTest {
+
+    @AfterEach
+    void clearCache() {
+        UrlHealthCache.get().clear();
+    }
+
+    @Test
+    void shouldShowHitRateAndSlowestHosts(JenkinsRule jenkins) throws Exception {
+        UrlHealthCache.get().put("https://slow.example.org/project", true, Duration.ofMillis(1500));
+        UrlHealthCache.get().get("https://slow.example.org/project");
+        UrlHealthCache.get().get("https://unknown.example.org");
+
+        String page = jenkins.createWebClient().goTo("manage/lct-url-health").getWebResponse().getContentAsString();
+
+        assertThat(page).contains("50 %").contains("slow.example.org").contains("1500 ms");
+    }
+
+}
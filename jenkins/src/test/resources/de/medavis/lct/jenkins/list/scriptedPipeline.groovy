@@ -0,0 +1,27 @@
+package de.medavis.lct.jenkins.list
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+node {
+    writeFile(file: 'input.bom', text: 'Normally, this would be a CycloneDX SBOM.')
+    def page = listComponents inputPath: 'input.bom', limit: 1
+    echo "total=${page.total} truncated=${page.truncated} first=${page.components[0].name}:${page.components[0].version} dynamic=${page.components[0].dynamic}"
+    def summary = listComponents inputPath: 'input.bom', summary: true
+    echo "licenses=${summary.licenses} dynamicLicenses=${summary.dynamicLicenses} components=${summary.components}"
+}